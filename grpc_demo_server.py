@@ -22,6 +22,10 @@ class AlwaysTowardsBallBot(game_data_pb2_grpc.BotServicer):
 
 		return game_data_pb2.ControllerState() # Return neutral input because we failed.
 
+	def StreamControllerStates(self, request_iterator, context):
+		for request in request_iterator:
+			yield self.GetControllerState(request, context)
+
 
 	def calculate_controller_state(self, request):
 		controller_state = game_data_pb2.ControllerState()
@@ -1,6 +1,7 @@
 from . import proto_converter
 from .protobuf import game_data_pb2_grpc
 import grpc
+import queue
 import time
 
 ####################################################################################################
@@ -13,6 +14,8 @@ class Agent:
         self.team = team  # use self.team to determine what team you are. I will set to "blue" or "orange"
         self.index = index
         self.stub = None
+        self.packet_queue = None
+        self.controller_states = None
         self.myPort = '34865'
 
         try:
@@ -26,14 +29,24 @@ class Agent:
         channel = grpc.insecure_channel('localhost:' + self.myPort)
         self.stub = game_data_pb2_grpc.BotStub(channel)
         grpc.channel_ready_future(channel).result()
+        self.open_stream()
         print("Connection to server successful!")
 
+    def open_stream(self):
+        # One stream stays open for the whole match. grpc pulls packets off the queue on its own thread,
+        # and the server sends back exactly one controller state per packet, in order.
+        if self.packet_queue is not None:
+            self.packet_queue.put(None)  # Ends the old stream, if there was one.
+        self.packet_queue = queue.Queue()
+        self.controller_states = self.stub.StreamControllerStates(iter(self.packet_queue.get, None))
+
     def get_output_vector(self, game_tick_packet):
 
         proto = proto_converter.convert_game_tick(game_tick_packet, self.index)
 
         try:
-            controller_state = self.stub.GetControllerState(proto)
+            self.packet_queue.put(proto)
+            controller_state = next(self.controller_states)
             return [
                 controller_state.throttle,
                 controller_state.steer,
@@ -19,7 +19,7 @@ DESCRIPTOR = _descriptor.FileDescriptor(
   name='grpcsupport/protobuf/game_data.proto',
   package='rlbot.api',
   syntax='proto3',
-  serialized_pb=_b('\n$grpcsupport/protobuf/game_data.proto\x12\trlbot.api\"\x8c\x01\n\x0f\x43ontrollerState\x12\x10\n\x08throttle\x18\x01 \x01(\x02\x12\r\n\x05steer\x18\x02 \x01(\x02\x12\r\n\x05pitch\x18\x03 \x01(\x02\x12\x0b\n\x03yaw\x18\x04 \x01(\x02\x12\x0c\n\x04roll\x18\x05 \x01(\x02\x12\x0c\n\x04jump\x18\x06 \x01(\x08\x12\r\n\x05\x62oost\x18\x07 \x01(\x08\x12\x11\n\thandbrake\x18\x08 \x01(\x08\"*\n\x07Vector3\x12\t\n\x01x\x18\x01 \x01(\x02\x12\t\n\x01y\x18\x02 \x01(\x02\x12\t\n\x01z\x18\x03 \x01(\x02\"3\n\x07Rotator\x12\r\n\x05pitch\x18\x01 \x01(\x02\x12\x0b\n\x03yaw\x18\x02 \x01(\x02\x12\x0c\n\x04roll\x18\x03 \x01(\x02\"\x80\x01\n\tScoreInfo\x12\r\n\x05score\x18\x01 \x01(\x05\x12\r\n\x05goals\x18\x02 \x01(\x05\x12\x11\n\town_goals\x18\x03 \x01(\x05\x12\x0f\n\x07\x61ssists\x18\x04 \x01(\x05\x12\r\n\x05saves\x18\x05 \x01(\x05\x12\r\n\x05shots\x18\x06 \x01(\x05\x12\x13\n\x0b\x64\x65molitions\x18\x07 \x01(\x05\"\xf9\x02\n\nPlayerInfo\x12$\n\x08location\x18\x01 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12$\n\x08rotation\x18\x02 \x01(\x0b\x32\x12.rlbot.api.Rotator\x12$\n\x08velocity\x18\x03 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12,\n\x10\x61ngular_velocity\x18\x04 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12(\n\nscore_info\x18\x05 \x01(\x0b\x32\x14.rlbot.api.ScoreInfo\x12\x15\n\ris_demolished\x18\x06 \x01(\x08\x12\x11\n\tis_midair\x18\x07 \x01(\x08\x12\x15\n\ris_supersonic\x18\x08 \x01(\x08\x12\x0e\n\x06is_bot\x18\t \x01(\x08\x12\x0e\n\x06jumped\x18\n \x01(\x08\x12\x15\n\rdouble_jumped\x18\x0b \x01(\x08\x12\x0c\n\x04name\x18\x0c \x01(\t\x12\x0c\n\x04team\x18\r \x01(\x05\x12\r\n\x05\x62oost\x18\x0e \x01(\x05\"\xd4\x01\n\x08\x42\x61llInfo\x12$\n\x08location\x18\x01 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12$\n\x08rotation\x18\x02 \x01(\x0b\x32\x12.rlbot.api.Rotator\x12$\n\x08velocity\x18\x03 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12,\n\x10\x61ngular_velocity\x18\x04 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12(\n\x0c\x61\x63\x63\x65leration\x18\x05 \x01(\x0b\x32\x12.rlbot.api.Vector3\"S\n\tBoostInfo\x12$\n\x08location\x18\x01 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12\x11\n\tis_active\x18\x02 \x01(\x08\x12\r\n\x05timer\x18\x03 \x01(\x05\"\xbb\x01\n\x08GameInfo\x12\x17\n\x0fseconds_elapsed\x18\x01 \x01(\x02\x12\x1b\n\x13game_time_remaining\x18\x02 \x01(\x02\x12\x13\n\x0bis_overtime\x18\x03 \x01(\x08\x12\x19\n\x11is_unlimited_time\x18\x04 \x01(\x08\x12\x17\n\x0fis_round_active\x18\x05 \x01(\x08\x12\x18\n\x10is_kickoff_pause\x18\x06 \x01(\x08\x12\x16\n\x0eis_match_ended\x18\x07 \x01(\x08\"\xc3\x01\n\x0eGameTickPacket\x12&\n\x07players\x18\x01 \x03(\x0b\x32\x15.rlbot.api.PlayerInfo\x12\x14\n\x0cplayer_index\x18\x02 \x01(\x05\x12(\n\nboost_pads\x18\x03 \x03(\x0b\x32\x14.rlbot.api.BoostInfo\x12!\n\x04\x62\x61ll\x18\x04 \x01(\x0b\x32\x13.rlbot.api.BallInfo\x12&\n\tgame_info\x18\x05 \x01(\x0b\x32\x13.rlbot.api.GameInfo2T\n\x03\x42ot\x12M\n\x12GetControllerState\x12\x19.rlbot.api.GameTickPacket\x1a\x1a.rlbot.api.ControllerState\"\x00\x62\x06proto3')
+  serialized_pb=_b('\n$grpcsupport/protobuf/game_data.proto\x12\trlbot.api\"\x8c\x01\n\x0f\x43ontrollerState\x12\x10\n\x08throttle\x18\x01 \x01(\x02\x12\r\n\x05steer\x18\x02 \x01(\x02\x12\r\n\x05pitch\x18\x03 \x01(\x02\x12\x0b\n\x03yaw\x18\x04 \x01(\x02\x12\x0c\n\x04roll\x18\x05 \x01(\x02\x12\x0c\n\x04jump\x18\x06 \x01(\x08\x12\r\n\x05\x62oost\x18\x07 \x01(\x08\x12\x11\n\thandbrake\x18\x08 \x01(\x08\"*\n\x07Vector3\x12\t\n\x01x\x18\x01 \x01(\x02\x12\t\n\x01y\x18\x02 \x01(\x02\x12\t\n\x01z\x18\x03 \x01(\x02\"3\n\x07Rotator\x12\r\n\x05pitch\x18\x01 \x01(\x02\x12\x0b\n\x03yaw\x18\x02 \x01(\x02\x12\x0c\n\x04roll\x18\x03 \x01(\x02\"\x80\x01\n\tScoreInfo\x12\r\n\x05score\x18\x01 \x01(\x05\x12\r\n\x05goals\x18\x02 \x01(\x05\x12\x11\n\town_goals\x18\x03 \x01(\x05\x12\x0f\n\x07\x61ssists\x18\x04 \x01(\x05\x12\r\n\x05saves\x18\x05 \x01(\x05\x12\r\n\x05shots\x18\x06 \x01(\x05\x12\x13\n\x0b\x64\x65molitions\x18\x07 \x01(\x05\"\xf9\x02\n\nPlayerInfo\x12$\n\x08location\x18\x01 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12$\n\x08rotation\x18\x02 \x01(\x0b\x32\x12.rlbot.api.Rotator\x12$\n\x08velocity\x18\x03 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12,\n\x10\x61ngular_velocity\x18\x04 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12(\n\nscore_info\x18\x05 \x01(\x0b\x32\x14.rlbot.api.ScoreInfo\x12\x15\n\ris_demolished\x18\x06 \x01(\x08\x12\x11\n\tis_midair\x18\x07 \x01(\x08\x12\x15\n\ris_supersonic\x18\x08 \x01(\x08\x12\x0e\n\x06is_bot\x18\t \x01(\x08\x12\x0e\n\x06jumped\x18\n \x01(\x08\x12\x15\n\rdouble_jumped\x18\x0b \x01(\x08\x12\x0c\n\x04name\x18\x0c \x01(\t\x12\x0c\n\x04team\x18\r \x01(\x05\x12\r\n\x05\x62oost\x18\x0e \x01(\x05\"\xd4\x01\n\x08\x42\x61llInfo\x12$\n\x08location\x18\x01 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12$\n\x08rotation\x18\x02 \x01(\x0b\x32\x12.rlbot.api.Rotator\x12$\n\x08velocity\x18\x03 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12,\n\x10\x61ngular_velocity\x18\x04 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12(\n\x0c\x61\x63\x63\x65leration\x18\x05 \x01(\x0b\x32\x12.rlbot.api.Vector3\"S\n\tBoostInfo\x12$\n\x08location\x18\x01 \x01(\x0b\x32\x12.rlbot.api.Vector3\x12\x11\n\tis_active\x18\x02 \x01(\x08\x12\r\n\x05timer\x18\x03 \x01(\x05\"\xbb\x01\n\x08GameInfo\x12\x17\n\x0fseconds_elapsed\x18\x01 \x01(\x02\x12\x1b\n\x13game_time_remaining\x18\x02 \x01(\x02\x12\x13\n\x0bis_overtime\x18\x03 \x01(\x08\x12\x19\n\x11is_unlimited_time\x18\x04 \x01(\x08\x12\x17\n\x0fis_round_active\x18\x05 \x01(\x08\x12\x18\n\x10is_kickoff_pause\x18\x06 \x01(\x08\x12\x16\n\x0eis_match_ended\x18\x07 \x01(\x08\"\xc3\x01\n\x0eGameTickPacket\x12&\n\x07players\x18\x01 \x03(\x0b\x32\x15.rlbot.api.PlayerInfo\x12\x14\n\x0cplayer_index\x18\x02 \x01(\x05\x12(\n\nboost_pads\x18\x03 \x03(\x0b\x32\x14.rlbot.api.BoostInfo\x12!\n\x04\x62\x61ll\x18\x04 \x01(\x0b\x32\x13.rlbot.api.BallInfo\x12&\n\tgame_info\x18\x05 \x01(\x0b\x32\x13.rlbot.api.GameInfo2\xab\x01\n\x03\x42ot\x12M\n\x12GetControllerState\x12\x19.rlbot.api.GameTickPacket\x1a\x1a.rlbot.api.ControllerState\"\x00\x12U\n\x16StreamControllerStates\x12\x19.rlbot.api.GameTickPacket\x1a\x1a.rlbot.api.ControllerState\"\x00(\x01\x30\x01\x62\x06proto3')
 )
 
 
@@ -722,8 +722,8 @@ _BOT = _descriptor.ServiceDescriptor(
   file=DESCRIPTOR,
   index=0,
   options=None,
-  serialized_start=1490,
-  serialized_end=1574,
+  serialized_start=1491,
+  serialized_end=1662,
   methods=[
   _descriptor.MethodDescriptor(
     name='GetControllerState',
@@ -734,6 +734,15 @@ _BOT = _descriptor.ServiceDescriptor(
     output_type=_CONTROLLERSTATE,
     options=None,
   ),
+  _descriptor.MethodDescriptor(
+    name='StreamControllerStates',
+    full_name='rlbot.api.Bot.StreamControllerStates',
+    index=1,
+    containing_service=None,
+    input_type=_GAMETICKPACKET,
+    output_type=_CONTROLLERSTATE,
+    options=None,
+  ),
 ])
 _sym_db.RegisterServiceDescriptor(_BOT)
 
@@ -0,0 +1,103 @@
+package tarehart.rlbot;
+
+import com.google.gson.Gson;
+import rlbot.api.GameData;
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.input.CarOrientation;
+import tarehart.rlbot.input.CarSpin;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.planning.AirTouchPlanner;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * The ball recordings from the tuning tests, in the shapes the benchmarks need.
+ */
+public class Recordings {
+
+    public static final String[] NAMES = {
+            "back-wall.json", "corner-center.json", "corner-clear.json", "corner-diagonal.json", "side-wall.json"};
+
+    private static final double PACKET_DISTANCE_TO_CLASSIC = 50;
+
+    public static BallPath load(String name) {
+        InputStream in = Recordings.class.getResourceAsStream("/tarehart/rlbot/tuning/ballrecordings/" + name);
+        Scanner s = new Scanner(in).useDelimiter("\\A");
+        String content = s.hasNext() ? s.next() : "";
+        return new Gson().fromJson(content, BallPath.class);
+    }
+
+    public static List<BallPath> loadAll() {
+        List<BallPath> recordings = new ArrayList<>();
+        for (String name : NAMES) {
+            recordings.add(load(name));
+        }
+        return recordings;
+    }
+
+    /**
+     * Where the ball was at the start of each recording.
+     */
+    public static List<SpaceTimeVelocity> startingPoints() {
+        List<SpaceTimeVelocity> starts = new ArrayList<>();
+        for (BallPath recording : loadAll()) {
+            starts.add(recording.getStartPoint());
+        }
+        return starts;
+    }
+
+    /**
+     * A blue car sitting in front of its own goal, facing upfield.
+     */
+    public static CarData blueCar(double speed, double boost) {
+        Vector3 nose = new Vector3(0, 1, 0);
+        return new CarData(new Vector3(0, -60, AirTouchPlanner.CAR_BASE_HEIGHT), nose.scaled(speed),
+                new CarOrientation(nose, new Vector3(0, 0, 1)), new CarSpin(0, 0, 0), boost, false,
+                Bot.Team.BLUE, 0, GameTime.ZERO, 0);
+    }
+
+    /**
+     * What the game would send if the ball were at this point in a recording. The blue car (player 0)
+     * and the orange car (player 1) sit in front of their own goals.
+     */
+    public static GameData.GameTickPacket toPacket(SpaceTimeVelocity ball, double secondsElapsed) {
+        return GameData.GameTickPacket.newBuilder()
+                .addPlayers(player(new Vector3(0, -60, AirTouchPlanner.CAR_BASE_HEIGHT), Math.PI / 2, 0))
+                .addPlayers(player(new Vector3(0, 60, AirTouchPlanner.CAR_BASE_HEIGHT), -Math.PI / 2, 1))
+                .setBall(GameData.BallInfo.newBuilder()
+                        .setLocation(toPacketVector(ball.getSpace()))
+                        .setVelocity(toPacketVector(ball.getVelocity())))
+                .setGameInfo(GameData.GameInfo.newBuilder()
+                        .setSecondsElapsed((float) secondsElapsed)
+                        .setGameTimeRemaining((float) (300 - secondsElapsed))
+                        .setIsRoundActive(true))
+                .setPlayerIndex(0)
+                .build();
+    }
+
+    private static GameData.PlayerInfo.Builder player(Vector3 position, double yaw, int team) {
+        return GameData.PlayerInfo.newBuilder()
+                .setLocation(toPacketVector(position))
+                .setVelocity(toPacketVector(new Vector3()))
+                .setRotation(GameData.Rotator.newBuilder().setYaw((float) yaw))
+                .setTeam(team)
+                .setBoost(50);
+    }
+
+    /**
+     * Undoes the conversion in AgentInput.
+     */
+    private static GameData.Vector3 toPacketVector(Vector3 v) {
+        return GameData.Vector3.newBuilder()
+                .setX((float) (-v.x * PACKET_DISTANCE_TO_CLASSIC))
+                .setY((float) (v.y * PACKET_DISTANCE_TO_CLASSIC))
+                .setZ((float) (v.z * PACKET_DISTANCE_TO_CLASSIC))
+                .build();
+    }
+}
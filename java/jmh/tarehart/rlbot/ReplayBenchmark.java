@@ -0,0 +1,66 @@
+package tarehart.rlbot;
+
+import org.openjdk.jmh.annotations.*;
+import rlbot.api.GameData;
+import tarehart.rlbot.input.AccelerationTracker;
+import tarehart.rlbot.input.Chronometer;
+import tarehart.rlbot.input.SpinTracker;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.TimeUtil;
+import tarehart.rlbot.physics.BallPath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole tick, from packet to controller state, while the ball follows the recordings one after another.
+ * The tick deadline is turned off so that every tick does the full amount of work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Drlbot.tickBudgetMillis=0", "-Djava.awt.headless=true"})
+public class ReplayBenchmark {
+
+    private final List<SpaceTimeVelocity> ballStates = new ArrayList<>();
+    private final List<Double> offsets = new ArrayList<>();
+    private double loopSeconds;
+
+    private ReliefBot bot;
+    private Chronometer chronometer;
+    private SpinTracker spinTracker;
+    private AccelerationTracker accelerationTracker;
+    private long frameCount;
+
+    @Setup
+    public void setup() {
+        double elapsed = 0;
+        for (BallPath recording : Recordings.loadAll()) {
+            List<SpaceTimeVelocity> slices = recording.getSlices();
+            for (SpaceTimeVelocity slice : slices) {
+                ballStates.add(slice);
+                offsets.add(elapsed + TimeUtil.secondsBetween(recording.getStartPoint().getTime(), slice.getTime()));
+            }
+            elapsed += TimeUtil.secondsBetween(recording.getStartPoint().getTime(), recording.getEndpoint().getTime()) + 1;
+        }
+        loopSeconds = elapsed;
+
+        bot = new ReliefBot(Bot.Team.BLUE, 0);
+        chronometer = new Chronometer();
+        spinTracker = new SpinTracker();
+        accelerationTracker = new AccelerationTracker();
+    }
+
+    @Benchmark
+    public GameData.ControllerState processInput() {
+        int index = (int) (frameCount % ballStates.size());
+        // Keep the clock moving forward when the replay wraps around.
+        double secondsElapsed = (frameCount / ballStates.size()) * loopSeconds + offsets.get(index);
+        GameData.GameTickPacket packet = Recordings.toPacket(ballStates.get(index), secondsElapsed);
+        AgentInput input = new AgentInput(packet, 0, chronometer, spinTracker, accelerationTracker, frameCount++);
+        return bot.processInput(input).toControllerState();
+    }
+}
@@ -0,0 +1,46 @@
+package tarehart.rlbot.physics;
+
+import org.openjdk.jmh.annotations.*;
+import tarehart.rlbot.Recordings;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run with -prof gc and compare gc.alloc.rate.norm between the two. emptyPath only makes a path the same size
+ * as a prediction would, so whatever simulateBall allocates beyond that comes from stepping the simulation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BallAllocationBenchmark {
+
+    private static final Duration PREDICTION = Duration.ofSeconds(7);
+
+    private ArenaModel arenaModel;
+    private SpaceTimeVelocity start;
+    private int sliceCount;
+
+    @Setup
+    public void setup() {
+        arenaModel = new ArenaModel();
+        List<SpaceTimeVelocity> starts = Recordings.startingPoints();
+        start = starts.get(0);
+        sliceCount = arenaModel.simulateBall(start, PREDICTION).getSlices().size();
+    }
+
+    @Benchmark
+    public BallPath simulateBall() {
+        return arenaModel.simulateBall(start, PREDICTION);
+    }
+
+    @Benchmark
+    public BallPath emptyPath() {
+        return new BallPath(start, sliceCount);
+    }
+}
@@ -0,0 +1,63 @@
+package tarehart.rlbot.physics;
+
+import org.openjdk.jmh.annotations.*;
+import tarehart.rlbot.Bot;
+import tarehart.rlbot.Recordings;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.Plane;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.planning.GoalUtil;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BallPathBenchmark {
+
+    private static final int QUERY_COUNT = 256;
+
+    private BallPath ballPath;
+    private GameTime[] queryTimes;
+    private Plane scorePlane;
+    private Plane volleyPlane;
+    private int next;
+
+    @Setup
+    public void setup() {
+        // A full length prediction, like the one the bot makes every tick.
+        SpaceTimeVelocity start = Recordings.load("corner-diagonal.json").getStartPoint();
+        ballPath = new ArenaModel().simulateBall(start, Duration.ofSeconds(7));
+
+        Random random = new Random(7);
+        queryTimes = new GameTime[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queryTimes[i] = start.getTime().plusSeconds(random.nextDouble() * 7);
+        }
+
+        scorePlane = GoalUtil.getEnemyGoal(Bot.Team.BLUE).getScorePlane();
+        volleyPlane = new Plane(new Vector3(0, 0, 5), new Vector3(0, 0, 1));
+    }
+
+    @Benchmark
+    public Optional<SpaceTimeVelocity> getMotionAt() {
+        return ballPath.getMotionAt(queryTimes[next++ % QUERY_COUNT]);
+    }
+
+    @Benchmark
+    public Optional<SpaceTimeVelocity> getPlaneBreakScore() {
+        return ballPath.getPlaneBreak(ballPath.getStartPoint().getTime(), scorePlane, true);
+    }
+
+    @Benchmark
+    public Optional<SpaceTimeVelocity> getPlaneBreakVolley() {
+        return ballPath.getPlaneBreak(queryTimes[next++ % QUERY_COUNT], volleyPlane, true);
+    }
+}
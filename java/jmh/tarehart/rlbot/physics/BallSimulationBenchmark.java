@@ -0,0 +1,64 @@
+package tarehart.rlbot.physics;
+
+import org.openjdk.jmh.annotations.*;
+import tarehart.rlbot.Recordings;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BallSimulationBenchmark {
+
+    @Param({"1", "5", "7"})
+    private int seconds;
+
+    @Param({"FIXED", "ADAPTIVE"})
+    private ArenaModel.Stepping stepping;
+
+    private ArenaModel arenaModel;
+    private List<SpaceTimeVelocity> starts;
+    private int next;
+
+    /**
+     * Reported next to the timings so the two ways of stepping can be compared on how much work they do.
+     * JMH adds these up over the measurement iterations; steps divided by predictions is the steps per prediction.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Steps {
+        public long predictions;
+        public long steps;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            predictions = 0;
+            steps = 0;
+        }
+
+        void record(BallPath ballPath) {
+            predictions++;
+            steps += ballPath.getSlices().size() - 1;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        arenaModel = new ArenaModel(stepping);
+        starts = Recordings.startingPoints();
+    }
+
+    @Benchmark
+    public BallPath simulateBall(Steps counter) {
+        SpaceTimeVelocity start = starts.get(next++ % starts.size());
+        BallPath ballPath = arenaModel.simulateBall(start, Duration.ofSeconds(seconds));
+        counter.record(ballPath);
+        return ballPath;
+    }
+}
@@ -0,0 +1,53 @@
+package tarehart.rlbot.planning;
+
+import org.openjdk.jmh.annotations.*;
+import tarehart.rlbot.Recordings;
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.physics.DistancePlot;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AccelerationBenchmark {
+
+    // false uses the precomputed tables, true runs the simulation every time.
+    @Param({"false", "true"})
+    private boolean liveSimulation;
+
+    private CarData[] cars;
+    private int next;
+
+    @Setup
+    public void setup() {
+        AccelerationModel.setLiveSimulation(liveSimulation);
+        cars = new CarData[] {
+                Recordings.blueCar(0, 100),
+                Recordings.blueCar(12, 30),
+                Recordings.blueCar(25, 0),
+                Recordings.blueCar(40, 60)
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        AccelerationModel.setLiveSimulation(false);
+    }
+
+    @Benchmark
+    public DistancePlot simulateAcceleration() {
+        CarData car = cars[next++ % cars.length];
+        return AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), car.boost);
+    }
+
+    @Benchmark
+    public DistancePlot simulateAccelerationNoFlips() {
+        CarData car = cars[next++ % cars.length];
+        return AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), car.boost, 0);
+    }
+}
@@ -0,0 +1,57 @@
+package tarehart.rlbot.planning;
+
+import org.openjdk.jmh.annotations.*;
+import tarehart.rlbot.Recordings;
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.math.SpaceTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.physics.DistancePlot;
+import tarehart.rlbot.steps.strikes.InterceptStep;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InterceptBenchmark {
+
+    private final List<BallPath> ballPaths = new ArrayList<>();
+    private CarData car;
+    private DistancePlot acceleration;
+    private int next;
+
+    @Setup
+    public void setup() {
+        car = Recordings.blueCar(20, 50);
+        acceleration = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(5), car.boost);
+
+        ArenaModel arenaModel = new ArenaModel();
+        for (SpaceTimeVelocity start : Recordings.startingPoints()) {
+            // The car's clock starts at zero, so line the paths up with it.
+            SpaceTimeVelocity fromZero = new SpaceTimeVelocity(start.getSpace(), car.time, start.getVelocity());
+            ballPaths.add(arenaModel.simulateBall(fromZero, Duration.ofSeconds(5)));
+        }
+    }
+
+    @Benchmark
+    public Optional<SpaceTime> getFilteredInterceptOpportunity() {
+        BallPath ballPath = ballPaths.get(next++ % ballPaths.size());
+        return SteerUtil.getFilteredInterceptOpportunity(car, ballPath, acceleration, new Vector3(), AirTouchPlanner::isJumpHitAccessible);
+    }
+
+    @Benchmark
+    public Optional<Intercept> getSoonestIntercept() {
+        BallPath ballPath = ballPaths.get(next++ % ballPaths.size());
+        return InterceptStep.getSoonestIntercept(car, ballPath, acceleration, new Vector3());
+    }
+}
@@ -2,19 +2,25 @@ package tarehart.rlbot;
 
 import rlbot.api.GameData;
 import tarehart.rlbot.input.*;
-import tarehart.rlbot.math.TimeUtil;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.math.vector.Vector3;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 public class AgentInput {
 
-    public final Optional<CarData> blueCar;
-    public final Optional<CarData> orangeCar;
+    /**
+     * Every car in the game, indexed by player index.
+     */
+    private final CarData[] cars;
+    private final List<CarData> allCars;
+    private final List<CarData> blueCars;
+    private final List<CarData> orangeCars;
 
     public final int blueScore;
     public final int orangeScore;
@@ -26,7 +32,7 @@ public class AgentInput {
     public final long frameCount;
     public final Vector3 ballSpin;
     public final int playerIndex;
-    public LocalDateTime time;
+    public GameTime time;
     public List<FullBoost> fullBoosts = new ArrayList<>(6);
     public final GameData.GameInfo matchInfo;
 
@@ -34,14 +40,8 @@ public class AgentInput {
     public static final double RADIANS_PER_UROT = Math.PI / UROT_IN_SEMICIRCLE;
     private static final double PACKET_DISTANCE_TO_CLASSIC = 50;
 
-    /**
-     * This is strictly for backwards compatibility. It only works in a 1v1 game.
-     */
-    public static int teamToPlayerIndex(Bot.Team team) {
-        return team == Bot.Team.BLUE ? 0 : 1;
-    }
-
-    public AgentInput(GameData.GameTickPacket request, int playerIndex, Chronometer chronometer, SpinTracker spinTracker, long frameCount) {
+    public AgentInput(GameData.GameTickPacket request, int playerIndex, Chronometer chronometer, SpinTracker spinTracker,
+                      AccelerationTracker accelerationTracker, long frameCount) {
         this.playerIndex = playerIndex;
         this.matchInfo = request.getGameInfo();
         this.frameCount = frameCount;
@@ -64,44 +64,66 @@ public class AgentInput {
         this.team = self.getTeam() == 0 ? Bot.Team.BLUE : Bot.Team.ORANGE;
         time = chronometer.getGameTime();
 
-        Optional<GameData.PlayerInfo> blueCarInput = this.team == Bot.Team.BLUE ? Optional.of(self) : getSomeCar(request.getPlayersList(), Bot.Team.BLUE);
-        Optional<GameData.PlayerInfo> orangeCarInput = this.team == Bot.Team.ORANGE ? Optional.of(self) : getSomeCar(request.getPlayersList(), Bot.Team.ORANGE);
-
-        blueScore = blueCarInput.map(c -> c.getScoreInfo().getGoals()).orElse(0) + orangeCarInput.map(c -> c.getScoreInfo().getOwnGoals()).orElse(0);
-        orangeScore = orangeCarInput.map(c -> c.getScoreInfo().getGoals()).orElse(0) + blueCarInput.map(c -> c.getScoreInfo().getGoals()).orElse(0);
-        blueDemo = blueCarInput.map(c -> c.getScoreInfo().getDemolitions()).orElse(0);
-        orangeDemo = orangeCarInput.map(c -> c.getScoreInfo().getDemolitions()).orElse(0);
-
-        double elapsedSeconds = TimeUtil.toSeconds(chronometer.getTimeDiff());
+        double elapsedSeconds = chronometer.getTimeDiff();
+
+        // A team's score is its own goals plus the other team's own goals.
+        int blueGoals = 0;
+        int orangeGoals = 0;
+        int blueDemolitions = 0;
+        int orangeDemolitions = 0;
+
+        int playerCount = request.getPlayersCount();
+        cars = new CarData[playerCount];
+        List<CarData> blue = new ArrayList<>(playerCount);
+        List<CarData> orange = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            GameData.PlayerInfo playerInfo = request.getPlayers(i);
+            Bot.Team playerTeam = playerInfo.getTeam() == 0 ? Bot.Team.BLUE : Bot.Team.ORANGE;
+            GameData.ScoreInfo scoreInfo = playerInfo.getScoreInfo();
+            if (playerTeam == Bot.Team.BLUE) {
+                blueGoals += scoreInfo.getGoals();
+                orangeGoals += scoreInfo.getOwnGoals();
+                blueDemolitions += scoreInfo.getDemolitions();
+            } else {
+                orangeGoals += scoreInfo.getGoals();
+                blueGoals += scoreInfo.getOwnGoals();
+                orangeDemolitions += scoreInfo.getDemolitions();
+            }
+            cars[i] = convert(playerInfo, playerTeam, i, spinTracker, accelerationTracker, elapsedSeconds, frameCount);
+            (playerTeam == Bot.Team.BLUE ? blue : orange).add(cars[i]);
+        }
+        allCars = Collections.unmodifiableList(Arrays.asList(cars));
+        blueCars = Collections.unmodifiableList(blue);
+        orangeCars = Collections.unmodifiableList(orange);
 
-        blueCar = blueCarInput.map(c -> convert(c, Bot.Team.BLUE, spinTracker, elapsedSeconds, frameCount));
-        orangeCar = orangeCarInput.map(c -> convert(c, Bot.Team.ORANGE, spinTracker, elapsedSeconds, frameCount));
+        blueScore = blueGoals;
+        orangeScore = orangeGoals;
+        blueDemo = blueDemolitions;
+        orangeDemo = orangeDemolitions;
 
         for (GameData.BoostInfo boostInfo: request.getBoostPadsList()) {
             Vector3 location = convert(boostInfo.getLocation());
             Optional<Vector3> confirmedLocation = FullBoost.getFullBoostLocation(location);
             confirmedLocation.ifPresent(loc -> fullBoosts.add(new FullBoost(loc, boostInfo.getIsActive(),
-                    boostInfo.getIsActive() ? LocalDateTime.from(time) : time.plus(Duration.ofMillis(boostInfo.getTimer())))));
+                    boostInfo.getIsActive() ? time : time.plus(Duration.ofMillis(boostInfo.getTimer())))));
         }
     }
 
-    private Optional<GameData.PlayerInfo> getSomeCar(List<GameData.PlayerInfo> playersList, Bot.Team team) {
-        int wantedTeam = teamToPlayerIndex(team);
-        return playersList.stream().filter(pi -> pi.getTeam() == wantedTeam).findFirst();
-    }
-
-    private CarData convert(GameData.PlayerInfo playerInfo, Bot.Team team, SpinTracker spinTracker, double elapsedSeconds, long frameCount) {
+    private CarData convert(GameData.PlayerInfo playerInfo, Bot.Team team, int playerIndex, SpinTracker spinTracker,
+                            AccelerationTracker accelerationTracker, double elapsedSeconds, long frameCount) {
         Vector3 position = convert(playerInfo.getLocation());
         Vector3 velocity = convert(playerInfo.getVelocity());
         CarOrientation orientation = convert(playerInfo.getRotation().getPitch(), playerInfo.getRotation().getYaw(), playerInfo.getRotation().getRoll());
         double boost = playerInfo.getBoost();
 
-        spinTracker.readInput(orientation, team, elapsedSeconds);
+        spinTracker.readInput(orientation, playerIndex, elapsedSeconds);
+
+        final CarSpin spin = spinTracker.getSpin(playerIndex);
 
-        final CarSpin spin = spinTracker.getSpin(team);
+        accelerationTracker.readInput(velocity, playerIndex, elapsedSeconds);
 
-        return new CarData(position, velocity, orientation, spin, boost,
-                playerInfo.getIsSupersonic(), team, time, frameCount);
+        return new CarData(position, velocity, orientation, spin, accelerationTracker.getAcceleration(playerIndex), boost,
+                playerInfo.getIsSupersonic(), team, playerIndex, time, frameCount);
     }
 
     /**
@@ -126,16 +148,56 @@ public class AgentInput {
     }
 
     public CarData getMyCarData() {
-        // We can do an unprotected get here because the car corresponding to our own color
-        // will always be present because it's us.
-        return getCarData(team).get();
+        return cars[playerIndex];
+    }
+
+    /**
+     * @return empty if there's nobody at that index in this game.
+     */
+    public Optional<CarData> getCarData(int playerIndex) {
+        return playerIndex >= 0 && playerIndex < cars.length ? Optional.of(cars[playerIndex]) : Optional.empty();
     }
 
+    /**
+     * The enemy with the lowest player index, or empty if we have no enemies. It's the same car every tick,
+     * so steps that follow one enemy around don't jump between them.
+     */
     public Optional<CarData> getEnemyCarData() {
-        return team == Bot.Team.BLUE ? orangeCar : blueCar;
+        return getEnemyCars().stream().findFirst();
+    }
+
+    /**
+     * The enemy nearest the ball right now, or empty if we have no enemies. This can change from one tick to the
+     * next, so use it for judging the moment rather than for following a car.
+     */
+    public Optional<CarData> getEnemyNearestBall() {
+        CarData nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (CarData car : getEnemyCars()) {
+            double distance = car.position.distance(ballPosition);
+            if (distance < nearestDistance) {
+                nearest = car;
+                nearestDistance = distance;
+            }
+        }
+        return Optional.ofNullable(nearest);
+    }
+
+    /**
+     * Every car in the game, ours included, in player index order.
+     */
+    public List<CarData> getAllCars() {
+        return allCars;
+    }
+
+    /**
+     * The cars on the given team in player index order. The list can't be changed.
+     */
+    public List<CarData> getTeamCars(Bot.Team team) {
+        return team == Bot.Team.BLUE ? blueCars : orangeCars;
     }
 
-    public Optional<CarData> getCarData(Bot.Team team) {
-        return team == Bot.Team.BLUE ? blueCar : orangeCar;
+    public List<CarData> getEnemyCars() {
+        return getTeamCars(team == Bot.Team.BLUE ? Bot.Team.ORANGE : Bot.Team.BLUE);
     }
 }
@@ -1,12 +1,20 @@
 package tarehart.rlbot;
 
+import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.physics.BallDivergenceDetector;
 import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.physics.BallPathCache;
+import tarehart.rlbot.physics.BallSimulator;
 import tarehart.rlbot.planning.Plan;
+import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.tuning.BallTelemetry;
 import tarehart.rlbot.tuning.BotLog;
+import tarehart.rlbot.tuning.Instrumentation;
 import tarehart.rlbot.ui.Readout;
+import tarehart.rlbot.ui.TimingsPanel;
 
 import javax.swing.*;
 import java.time.Duration;
@@ -14,13 +22,21 @@ import java.util.Objects;
 
 public abstract class Bot {
 
+    // Leaves a few ms of the ~16 ms frame for the trip over gRPC. Set to 0 to always wait for the full answer.
+    private static final Duration TICK_BUDGET = Duration.ofMillis(Long.getLong("rlbot.tickBudgetMillis", 12));
+
     private final Team team;
     private final int playerIndex;
     Plan currentPlan = null;
     private Readout readout;
     private String previousSituation = null;
 
-    private ArenaModel arenaModel;
+    private BallDivergenceDetector divergenceDetector;
+    private BallPathCache ballPathCache;
+
+    private TickScheduler tickScheduler;
+    private volatile SpaceTime fallbackTarget;
+    private long reportedOverruns;
 
     public enum Team {
         BLUE,
@@ -28,38 +44,94 @@ public abstract class Bot {
     }
 
     public Bot(Team team, int playerIndex) {
+        this(team, playerIndex, new ArenaModel());
+    }
+
+    public Bot(Team team, int playerIndex, BallSimulator ballSimulator) {
         this.team = team;
         this.playerIndex = playerIndex;
         readout = new Readout();
-        arenaModel = new ArenaModel();
+        divergenceDetector = new BallDivergenceDetector(playerIndex);
+        divergenceDetector.addListener(ArenaModel::ballDiverged);
+        divergenceDetector.addListener(readout.getPredictionWarehouse()::ballDiverged);
+        divergenceDetector.addListener(event -> BotLog.println(String.format("%s (%s per minute)",
+                event, divergenceDetector.getDivergencesPerMinute(event.time)), event.playerIndex));
+        ballPathCache = new BallPathCache(ballSimulator, divergenceDetector);
+        ArenaModel.useSimulator(playerIndex, ballSimulator);
+        if (!TICK_BUDGET.isZero()) {
+            tickScheduler = new TickScheduler(TICK_BUDGET, playerIndex, "tick-" + playerIndex);
+        }
     }
 
 
     public AgentOutput processInput(AgentInput input) {
+        long timerStart = System.nanoTime();
+        AgentOutput output = processInputOnTime(input);
+        Instrumentation.record(Instrumentation.PROCESS_INPUT, timerStart);
+        return output;
+    }
+
+    private AgentOutput processInputOnTime(AgentInput input) {
+
+        if (tickScheduler == null) {
+            return processInputNow(input);
+        }
+
+        AgentOutput output = tickScheduler.run(() -> processInputNow(input), () -> getFallbackOutput(input));
+
+        // Skipped ticks follow from an overrun, so only speak up when there's a new one.
+        if (tickScheduler.getOverrunCount() > reportedOverruns) {
+            reportedOverruns = tickScheduler.getOverrunCount();
+            BotLog.println(String.format("Tick over its %s ms budget, using fallback. Overruns: %s Skipped: %s Ticks: %s",
+                    TICK_BUDGET.toMillis(), tickScheduler.getOverrunCount(), tickScheduler.getSkippedCount(),
+                    tickScheduler.getTickCount()), input.playerIndex);
+        }
+
+        return output;
+    }
+
+    /**
+     * Cheap enough to always make the deadline. Heads for wherever we last planned to meet the ball.
+     */
+    private AgentOutput getFallbackOutput(AgentInput input) {
+        SpaceTime target = fallbackTarget;
+        if (target != null && target.time.isAfter(input.time)) {
+            return SteerUtil.steerTowardGroundPosition(input.getMyCarData(), target.space);
+        }
+        return SteerUtil.steerTowardGroundPosition(input.getMyCarData(), input.ballPosition);
+    }
+
+    private AgentOutput processInputNow(AgentInput input) {
 
         // Just for now, always calculate ballpath so we can learn some stuff.
-        BallPath ballPath = arenaModel.simulateBall(new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity), Duration.ofSeconds(5));
-        BallTelemetry.setPath(ballPath, input.team);
+        // The cache hands back last tick's path, extended, unless the ball has strayed from it.
+        BallPath ballPath = ballPathCache.predict(new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity, input.ballSpin), Duration.ofSeconds(5));
+        BallTelemetry.setPath(ballPath, input.playerIndex);
 
-        //BallRecorder.recordPosition(new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity));
+        //BallRecorder.recordPosition(new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity, input.ballSpin));
         //Optional<SpaceTimeVelocity> afterBounce = ballPath.getMotionAfterWallBounce(1);
         // Just for data gathering / debugging.
-        //afterBounce.ifPresent(stv -> BallRecorder.startRecording(new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity), stv.getTime().plusSeconds(1)));
+        //afterBounce.ifPresent(stv -> BallRecorder.startRecording(new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity, input.ballSpin), stv.getTime().plusSeconds(1)));
 
 
-        AgentOutput output = getOutput(input);
+        TickContext context = new TickContext(input);
+        AgentOutput output = getOutput(input, context);
+        context.getLatestIntercept().ifPresent(intercept -> fallbackTarget = intercept);
         Plan.Posture posture = currentPlan != null ? currentPlan.getPosture() : Plan.Posture.NEUTRAL;
         String situation = currentPlan != null ? currentPlan.getSituation() : "";
         if (!Objects.equals(situation, previousSituation)) {
-            BotLog.println("[Sitch] " + situation, input.team);
+            BotLog.println("[Sitch] " + situation, input.playerIndex);
         }
         previousSituation = situation;
-        readout.update(input, posture, situation, BotLog.collect(input.team), BallTelemetry.getPath(input.team).get());
-        BallTelemetry.reset(input.team);
+        readout.update(input, posture, situation, BotLog.collect(input.playerIndex), BallTelemetry.getPath(input.playerIndex).get());
+        BallTelemetry.reset(input.playerIndex);
         return output;
     }
 
-    protected abstract AgentOutput getOutput(AgentInput input);
+    /**
+     * @param context answers the expensive questions about this tick, each at most once. Pass it along to plans and steps.
+     */
+    protected abstract AgentOutput getOutput(AgentInput input, TickContext context);
 
     protected boolean canInterruptPlanFor(Plan.Posture posture) {
         return currentPlan == null || currentPlan.getPosture().lessUrgentThan(posture) && currentPlan.canInterrupt();
@@ -71,7 +143,10 @@ public abstract class Bot {
 
     public JFrame getDebugWindow() {
         JFrame frame = new JFrame("Debug - " + team.name());
-        frame.setContentPane(readout.getRootPanel());
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Readout", readout.getRootPanel());
+        tabs.addTab("Timings", new TimingsPanel().getRootPanel());
+        frame.setContentPane(tabs);
         frame.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
         frame.pack();
         return frame;
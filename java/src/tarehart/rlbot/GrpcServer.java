@@ -3,24 +3,29 @@ package tarehart.rlbot;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
 import py4j.GatewayServer;
+import tarehart.rlbot.tuning.Instrumentation;
 import tarehart.rlbot.ui.StatusSummary;
 
 import javax.swing.*;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 public class GrpcServer {
 
     static final int DEFAULT_PORT = 25368;
+    private static final String TIMINGS_FILE = "timings.txt";
     private static int port;
     private final Server server;
+    private final GrpcService service;
     private static StatusSummary statusSummary = new StatusSummary();
 
     private GrpcServer() throws IOException {
-        server = ServerBuilder.forPort(port).addService(new GrpcService(statusSummary)).build();
+        service = new GrpcService(statusSummary);
+        server = ServerBuilder.forPort(port).addService(service).build();
     }
 
     /** Start serving requests. */
@@ -39,6 +44,7 @@ public class GrpcServer {
         if (server != null) {
             server.shutdown();
         }
+        service.close();
     }
 
     /**
@@ -69,6 +75,7 @@ public class GrpcServer {
 
         GrpcServer server = new GrpcServer();
         server.start();
+        Instrumentation.dumpPeriodically(Paths.get(TIMINGS_FILE), Duration.ofSeconds(10));
 
         System.out.println(String.format("Grpc server started on port %s. Listening for Rocket League data!", port));
 
@@ -1,25 +1,21 @@
 package tarehart.rlbot;
 
-import com.google.gson.Gson;
 import io.grpc.stub.StreamObserver;
 import rlbot.api.BotGrpc;
 import rlbot.api.GameData;
-import tarehart.rlbot.input.Chronometer;
-import tarehart.rlbot.input.SpinTracker;
+import tarehart.rlbot.tuning.BotLog;
+import tarehart.rlbot.tuning.PacketRecorder;
 import tarehart.rlbot.ui.StatusSummary;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GrpcService extends BotGrpc.BotImplBase {
 
     private final StatusSummary statusSummary;
-    private Map<Integer, Bot> bots = new HashMap<>();
-    private Gson gson = new Gson();
-    private Chronometer chronometer = new Chronometer();
-    private SpinTracker spinTracker = new SpinTracker();
-
-    private long frameCount = 0;
+    private final Map<Integer, PlayerSession> sessions = new ConcurrentHashMap<>();
+    private final PacketRecorder recorder = PacketRecorder.fromSystemProperties();
 
     public GrpcService(StatusSummary statusSummary) {
         this.statusSummary = statusSummary;
@@ -27,39 +23,84 @@ public class GrpcService extends BotGrpc.BotImplBase {
 
     @Override
     public void getControllerState(GameData.GameTickPacket request, StreamObserver<GameData.ControllerState> responseObserver) {
-        responseObserver.onNext(doGetControllerState(request));
-        responseObserver.onCompleted();
+        record(request);
+        getSession(request).submit(request, controllerState -> {
+            responseObserver.onNext(controllerState);
+            responseObserver.onCompleted();
+        });
     }
 
-    private GameData.ControllerState doGetControllerState(GameData.GameTickPacket request) {
-
+    /**
+     * Same as getControllerState, except the client keeps one stream open and sends a packet every tick.
+     * The player's session answers the packets one at a time, so the answers go back in the same order.
+     *
+     * If the stream fails, nothing more is sent on it. Packets still waiting in the session are skipped, and the
+     * answer to one that's already being handled is thrown away.
+     */
+    @Override
+    public StreamObserver<GameData.GameTickPacket> streamControllerStates(StreamObserver<GameData.ControllerState> responseObserver) {
+        return new StreamObserver<GameData.GameTickPacket>() {
 
-        try {
-            int playerIndex = request.getPlayerIndex();
+            private volatile PlayerSession session;
+            private volatile boolean failed;
 
-            // Do nothing if we know nothing about our car
-            if (request.getPlayersCount() <= playerIndex) {
-                return new AgentOutput().toControllerState();
+            @Override
+            public void onNext(GameData.GameTickPacket request) {
+                if (failed) {
+                    return;
+                }
+                record(request);
+                session = getSession(request);
+                session.submit(request, responseObserver::onNext, () -> !failed);
             }
 
-            AgentInput translatedInput = new AgentInput(request, playerIndex, chronometer, spinTracker, frameCount++);
+            @Override
+            public void onError(Throwable t) {
+                failed = true;
+                String message = "Controller state stream closed with an error: " + t.getMessage();
+                if (session != null) {
+                    BotLog.println(message, session.getPlayerIndex());
+                } else {
+                    // No packets ever came, so there's no player to log it for.
+                    System.err.println(message);
+                }
+            }
 
-            // Setup bot from this packet if necessary
-            synchronized (this) {
-                if (!bots.containsKey(playerIndex)) {
-                    ReliefBot bot = new ReliefBot(translatedInput.team, playerIndex);
-                    bots.put(playerIndex, bot);
-                    statusSummary.markTeamRunning(translatedInput.team, playerIndex, bot.getDebugWindow());
+            @Override
+            public void onCompleted() {
+                if (failed) {
+                    return;
+                }
+                // Let any packets still in the queue get their answers first.
+                if (session != null) {
+                    session.execute(responseObserver::onCompleted);
+                } else {
+                    responseObserver.onCompleted();
                 }
             }
+        };
+    }
 
-            Bot bot = bots.get(playerIndex);
+    /**
+     * Finishes writing any recorded packets.
+     */
+    public void close() {
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
 
-            return bot.processInput(translatedInput).toControllerState();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new AgentOutput().toControllerState();
+    private void record(GameData.GameTickPacket request) {
+        if (recorder != null) {
+            recorder.record(request);
         }
+    }
 
+    private PlayerSession getSession(GameData.GameTickPacket request) {
+        return sessions.computeIfAbsent(request.getPlayerIndex(), playerIndex -> new PlayerSession(playerIndex, statusSummary));
     }
 }
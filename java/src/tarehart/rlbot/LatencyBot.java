@@ -4,6 +4,7 @@ import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.VectorUtil;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 
 public class LatencyBot extends Bot {
 
@@ -12,7 +13,7 @@ public class LatencyBot extends Bot {
     }
 
     @Override
-    protected AgentOutput getOutput(AgentInput input) {
+    protected AgentOutput getOutput(AgentInput input, TickContext context) {
 
         if (VectorUtil.flatDistance(input.ballPosition, new Vector3()) > 0) {
             return new AgentOutput().withJump();
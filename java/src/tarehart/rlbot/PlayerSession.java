@@ -0,0 +1,140 @@
+package tarehart.rlbot;
+
+import rlbot.api.GameData;
+import tarehart.rlbot.input.AccelerationTracker;
+import tarehart.rlbot.input.Chronometer;
+import tarehart.rlbot.input.SpinTracker;
+import tarehart.rlbot.physics.AnalyticBallSimulator;
+import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.physics.BallSimulator;
+import tarehart.rlbot.tuning.BotLog;
+import tarehart.rlbot.ui.StatusSummary;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Everything that belongs to one player: the bot itself, its clock, its spin and acceleration tracking, and a
+ * thread of its own.
+ *
+ * Every packet for this player is handled on that one thread, in the order it arrived, so none of this needs
+ * locking. Different players run on different threads and never touch each other's state.
+ *
+ * Each player can have its own ball simulator, e.g. -Drlbot.ballSimulator.1=analytic gives player 1
+ * AnalyticBallSimulator while everybody else keeps ArenaModel.
+ */
+class PlayerSession {
+
+    private static final String BALL_SIMULATOR_PROPERTY = "rlbot.ballSimulator.";
+
+    private final int playerIndex;
+    private final StatusSummary statusSummary;
+    private final Chronometer chronometer = new Chronometer();
+    private final SpinTracker spinTracker = new SpinTracker();
+    private final AccelerationTracker accelerationTracker = new AccelerationTracker();
+    private final ExecutorService executor;
+
+    private Bot bot;
+    private long frameCount = 0;
+
+    /**
+     * @param statusSummary where to show the bot once it starts, or null to run without any windows.
+     */
+    PlayerSession(int playerIndex, StatusSummary statusSummary) {
+        this.playerIndex = playerIndex;
+        this.statusSummary = statusSummary;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "player-" + playerIndex);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the packet up on this player's thread. The reply is also called from that thread,
+     * so replies come out in the same order the packets went in.
+     */
+    void submit(GameData.GameTickPacket request, Consumer<GameData.ControllerState> reply) {
+        execute(() -> reply.accept(getControllerState(request)));
+    }
+
+    /**
+     * Same as submit, except the packet is dropped if the answer is no longer wanted by the time its turn comes,
+     * e.g. because the stream it came in on has failed. If that happens while the packet is being handled, the
+     * answer is dropped instead.
+     */
+    void submit(GameData.GameTickPacket request, Consumer<GameData.ControllerState> reply, BooleanSupplier wanted) {
+        execute(() -> {
+            if (!wanted.getAsBoolean()) {
+                return;
+            }
+            GameData.ControllerState controllerState = getControllerState(request);
+            if (wanted.getAsBoolean()) {
+                reply.accept(controllerState);
+            }
+        });
+    }
+
+    /**
+     * Runs after everything that has already been submitted.
+     */
+    void execute(Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                BotLog.println("Player task failed: " + e, playerIndex);
+                e.printStackTrace();
+            }
+        });
+    }
+
+    int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    /**
+     * Handles the packet right here on the calling thread. Everything else should go through submit.
+     */
+    GameData.ControllerState getControllerState(GameData.GameTickPacket request) {
+
+        try {
+            // Do nothing if we know nothing about our car
+            if (request.getPlayersCount() <= playerIndex) {
+                return new AgentOutput().toControllerState();
+            }
+
+            AgentInput translatedInput = new AgentInput(request, playerIndex, chronometer, spinTracker, accelerationTracker, frameCount++);
+
+            // Setup bot from this packet if necessary
+            if (bot == null) {
+                bot = new ReliefBot(translatedInput.team, playerIndex, chooseBallSimulator(playerIndex));
+                if (statusSummary != null) {
+                    statusSummary.markTeamRunning(translatedInput.team, playerIndex, bot.getDebugWindow());
+                }
+            }
+
+            return bot.processInput(translatedInput).toControllerState();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new AgentOutput().toControllerState();
+        }
+    }
+
+    /**
+     * Reads rlbot.ballSimulator.[playerIndex], which can be "analytic" or "arena". Unset means arena.
+     */
+    static Supplier<BallSimulator> chooseBallSimulator(int playerIndex) {
+        String choice = System.getProperty(BALL_SIMULATOR_PROPERTY + playerIndex, "arena");
+        if ("analytic".equalsIgnoreCase(choice)) {
+            return AnalyticBallSimulator::new;
+        }
+        if (!"arena".equalsIgnoreCase(choice)) {
+            BotLog.println("Unknown ball simulator '" + choice + "', using ArenaModel.", playerIndex);
+        }
+        return ArenaModel::new;
+    }
+}
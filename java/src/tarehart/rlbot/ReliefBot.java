@@ -3,25 +3,53 @@ package tarehart.rlbot;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.physics.BallSimulator;
 import tarehart.rlbot.planning.*;
 import tarehart.rlbot.steps.GoForKickoffStep;
 import tarehart.rlbot.steps.landing.LandGracefullyStep;
 import tarehart.rlbot.tuning.BotLog;
+import tarehart.rlbot.tuning.PlanningStats;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public class ReliefBot extends Bot {
 
+    // Decide on the next plan on another thread while this tick acts on the current one.
+    private static final boolean PIPELINED = Boolean.getBoolean("rlbot.pipelinedPlanning");
+    private static final int STATS_INTERVAL = 1000;
+
     private TacticsAdvisor tacticsAdvisor;
+    private PlanningPipeline pipeline;
+    private PlanningStats synchronousStats = new PlanningStats("synchronous");
+    private long reportedPlanningCount;
 
     public ReliefBot(Team team, int playerIndex) {
-        super(team, playerIndex);
+        this(team, playerIndex, PIPELINED);
+    }
+
+    public ReliefBot(Team team, int playerIndex, boolean pipelined) {
+        this(team, playerIndex, ArenaModel::new, pipelined);
+    }
+
+    public ReliefBot(Team team, int playerIndex, Supplier<BallSimulator> simulators) {
+        this(team, playerIndex, simulators, PIPELINED);
+    }
+
+    /**
+     * @param simulators makes the ball simulator for the ticks, and another for the planning thread if pipelined.
+     */
+    public ReliefBot(Team team, int playerIndex, Supplier<BallSimulator> simulators, boolean pipelined) {
+        super(team, playerIndex, simulators.get());
         tacticsAdvisor = new TacticsAdvisor();
+        if (pipelined) {
+            pipeline = new PlanningPipeline(playerIndex, simulators.get());
+        }
     }
 
     @Override
-    protected AgentOutput getOutput(AgentInput input) {
+    protected AgentOutput getOutput(AgentInput input, TickContext context) {
 
         final CarData car = input.getMyCarData();
 
@@ -44,30 +72,104 @@ public class ReliefBot extends Bot {
             currentPlan.begin();
         }
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(7));
-        TacticalSituation situation = tacticsAdvisor.assessSituation(input, ballPath);
+        if (pipeline != null) {
+            return getPipelinedOutput(input, context);
+        }
+
+        long planningStart = System.nanoTime();
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(7));
+        TacticalSituation situation = tacticsAdvisor.assessSituation(input, context, ballPath);
 
         if (situation.scoredOnThreat.isPresent() && canInterruptPlanFor(Plan.Posture.SAVE)) {
-            BotLog.println("Need to go for save! Canceling current plan.", input.team);
+            BotLog.println("Need to go for save! Canceling current plan.", input.playerIndex);
             currentPlan = null;
         } else if (situation.needsDefensiveClear && canInterruptPlanFor(Plan.Posture.CLEAR)) {
-            BotLog.println("Going for clear! Canceling current plan.", input.team);
+            BotLog.println("Going for clear! Canceling current plan.", input.playerIndex);
             currentPlan = null;
         } else if (situation.shotOnGoalAvailable && canInterruptPlanFor(Plan.Posture.OFFENSIVE)) {
-            BotLog.println("Shot opportunity! Canceling current plan.", input.team);
+            BotLog.println("Shot opportunity! Canceling current plan.", input.playerIndex);
             currentPlan = null;
         }
 
         if (currentPlan == null || currentPlan.isComplete()) {
-            currentPlan = tacticsAdvisor.makePlan(input, situation);
+            currentPlan = tacticsAdvisor.makePlan(input, context, situation);
             currentPlan.begin();
+            synchronousStats.recordSwap(0);
         }
+        synchronousStats.recordPlanning(System.nanoTime() - planningStart);
+        reportStats(synchronousStats, input);
+
+        return getPlanOutput(input, context);
+    }
+
+    private AgentOutput getPipelinedOutput(AgentInput input, TickContext context) {
+
+        // Tick boundary. Take over whatever the planner came up with since last time.
+        pipeline.takeProposal(input.time).ifPresent(proposal -> {
+            if (currentPlan == null || currentPlan.isComplete() || canInterruptPlanFor(proposal.plan.getPosture())) {
+                if (proposal.reason != null) {
+                    BotLog.println(proposal.reason, input.playerIndex);
+                }
+                currentPlan = proposal.plan;
+                currentPlan.begin();
+                pipeline.recordSwap(proposal, input.time);
+            }
+        });
+
+        // The planner can't look at the current plan while we're using it, so tell it what it needs up front.
+        boolean needsPlan = currentPlan == null || currentPlan.isComplete();
+        Plan.Posture currentPosture = needsPlan ? null : currentPlan.getPosture();
+        boolean canInterrupt = needsPlan || currentPlan.canInterrupt();
+        pipeline.submit(input, plannerContext -> proposePlan(input, plannerContext, needsPlan, currentPosture, canInterrupt));
+        reportStats(pipeline.getStats(), input);
+
+        return getPlanOutput(input, context);
+    }
+
+    /**
+     * Same decisions as the synchronous path, made on the planning thread.
+     */
+    private Optional<PlanningPipeline.Proposal> proposePlan(AgentInput input, TickContext context, boolean needsPlan,
+                                                            Plan.Posture currentPosture, boolean canInterrupt) {
+
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(7));
+        TacticalSituation situation = tacticsAdvisor.assessSituation(input, context, ballPath);
+
+        String reason = null;
+        if (situation.scoredOnThreat.isPresent() && canInterrupt(currentPosture, canInterrupt, Plan.Posture.SAVE)) {
+            reason = "Need to go for save! Canceling current plan.";
+        } else if (situation.needsDefensiveClear && canInterrupt(currentPosture, canInterrupt, Plan.Posture.CLEAR)) {
+            reason = "Going for clear! Canceling current plan.";
+        } else if (situation.shotOnGoalAvailable && canInterrupt(currentPosture, canInterrupt, Plan.Posture.OFFENSIVE)) {
+            reason = "Shot opportunity! Canceling current plan.";
+        } else if (!needsPlan) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new PlanningPipeline.Proposal(tacticsAdvisor.makePlan(input, context, situation), reason, input.time));
+    }
+
+    private static boolean canInterrupt(Plan.Posture currentPosture, boolean canInterrupt, Plan.Posture posture) {
+        return currentPosture == null || currentPosture.lessUrgentThan(posture) && canInterrupt;
+    }
+
+    private void reportStats(PlanningStats stats, AgentInput input) {
+        long planningCount = stats.getPlanningCount();
+        if (planningCount >= reportedPlanningCount + STATS_INTERVAL) {
+            reportedPlanningCount = planningCount;
+            BotLog.println(stats.summary(), input.playerIndex);
+        }
+    }
+
+    private AgentOutput getPlanOutput(AgentInput input, TickContext context) {
+
+        final CarData car = input.getMyCarData();
 
         if (currentPlan != null) {
             if (currentPlan.isComplete()) {
                 currentPlan = null;
             } else {
-                Optional<AgentOutput> output = currentPlan.getOutput(input);
+                Optional<AgentOutput> output = currentPlan.getOutput(input, context);
                 if (output.isPresent()) {
                     return output.get();
                 }
@@ -0,0 +1,102 @@
+package tarehart.rlbot;
+
+import rlbot.api.GameData;
+import tarehart.rlbot.tuning.Instrumentation;
+import tarehart.rlbot.tuning.PacketRecorder;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Plays a file from PacketRecorder back through the bot as fast as it will go, with no game and no windows.
+ *
+ * Reports how long each tick took and a checksum of every controller state the bot produced. If a change
+ * was only supposed to make things faster, the checksum should stay the same.
+ *
+ * Usage: ReplayRunner packets/1234.packets [repeats]
+ */
+public class ReplayRunner {
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length < 1) {
+            System.out.println("Usage: ReplayRunner <packet file> [repeats]");
+            return;
+        }
+
+        // These have to be set before any bot or Swing class loads.
+        System.setProperty("java.awt.headless", "true");
+        // Every tick should do its full work, or the checksum would depend on how fast the machine is.
+        if (System.getProperty("rlbot.tickBudgetMillis") == null) {
+            System.setProperty("rlbot.tickBudgetMillis", "0");
+        }
+        if (System.getProperty("rlbot.interceptDeadlineMillis") == null) {
+            System.setProperty("rlbot.interceptDeadlineMillis", "1000");
+        }
+        if (System.getProperty("rlbot.ensembleBudgetMillis") == null) {
+            System.setProperty("rlbot.ensembleBudgetMillis", "1000");
+        }
+        if (System.getProperty("rlbot.shotSearchMillis") == null) {
+            System.setProperty("rlbot.shotSearchMillis", "1000");
+        }
+
+        List<GameData.GameTickPacket> packets = PacketRecorder.read(Paths.get(args[0]));
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        System.out.println(String.format("Replaying %s packets from %s", packets.size(), args[0]));
+
+        for (int i = 0; i < repeats; i++) {
+            System.out.println(replay(packets).summary());
+        }
+        System.out.println(Instrumentation.report());
+    }
+
+    public static ReplayResult replay(List<GameData.GameTickPacket> packets) {
+
+        // A fresh set of bots each time, same as a new match.
+        Map<Integer, PlayerSession> sessions = new HashMap<>();
+        long[] tickNanos = new long[packets.size()];
+        CRC32 checksum = new CRC32();
+
+        for (int i = 0; i < packets.size(); i++) {
+            GameData.GameTickPacket packet = packets.get(i);
+            PlayerSession session = sessions.computeIfAbsent(packet.getPlayerIndex(), playerIndex -> new PlayerSession(playerIndex, null));
+
+            long start = System.nanoTime();
+            GameData.ControllerState controllerState = session.getControllerState(packet);
+            tickNanos[i] = System.nanoTime() - start;
+
+            checksum.update(controllerState.toByteArray());
+        }
+
+        return new ReplayResult(tickNanos, checksum.getValue());
+    }
+
+    public static class ReplayResult {
+        private final long[] sortedTickNanos;
+        public final long checksum;
+
+        ReplayResult(long[] tickNanos, long checksum) {
+            this.sortedTickNanos = tickNanos.clone();
+            Arrays.sort(sortedTickNanos);
+            this.checksum = checksum;
+        }
+
+        public double getPercentileMillis(double percentile) {
+            if (sortedTickNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedTickNanos.length) - 1;
+            return sortedTickNanos[Math.max(0, Math.min(index, sortedTickNanos.length - 1))] / 1e6;
+        }
+
+        public String summary() {
+            return String.format("%s ticks. p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms. Checksum %08x",
+                    sortedTickNanos.length, getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99),
+                    getPercentileMillis(99.9), getPercentileMillis(100), checksum);
+        }
+    }
+}
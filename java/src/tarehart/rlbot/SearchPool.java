@@ -0,0 +1,110 @@
+package tarehart.rlbot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The threads that every search with a deadline shares (ball ensembles, shot searches, intercept races), so that
+ * however many of them run at once, and for however many players, they never add up to more than a few threads.
+ *
+ * If the pool is backed up, a search just does the work on its own thread instead of waiting in line.
+ */
+public class SearchPool {
+
+    /**
+     * On a single core machine there's nothing to gain from handing work to another thread.
+     */
+    public static final boolean PARALLEL = Runtime.getRuntime().availableProcessors() > 1;
+
+    public static final int SIZE = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(
+            SIZE, SIZE, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(SIZE * 16),
+            runnable -> {
+                Thread thread = new Thread(runnable, "search-pool");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    /**
+     * Runs the first task on the calling thread and hands the rest to the pool, then waits until they're all done
+     * or the deadline passes, whichever is first. Anything that hasn't started by then is cancelled. Anything that
+     * has keeps going, so tasks should check for themselves whether it's still worth finishing.
+     *
+     * Without a spare core, the tasks just run one after another on the calling thread until the deadline.
+     *
+     * @return the results of the tasks that finished in time, in the order the tasks were given rather than the
+     * order they finished, so the caller doesn't depend on timing. The first task always makes it.
+     */
+    public static <T> List<T> runUntil(List<Callable<T>> tasks, long deadlineNanos) {
+        return runUntil(tasks, deadlineNanos, PARALLEL);
+    }
+
+    /**
+     * For callers that decide for themselves whether the pool is worth it, e.g. tests on a single core machine.
+     */
+    public static <T> List<T> runUntil(List<Callable<T>> tasks, long deadlineNanos, boolean parallel) {
+
+        List<T> results = new ArrayList<>(tasks.size());
+
+        if (!parallel) {
+            for (int i = 0; i < tasks.size() && (i == 0 || System.nanoTime() < deadlineNanos); i++) {
+                results.add(call(tasks.get(i)));
+            }
+            return results;
+        }
+
+        ExecutorCompletionService<T> completionService = new ExecutorCompletionService<>(POOL);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 1; i < tasks.size(); i++) {
+            futures.add(completionService.submit(tasks.get(i)));
+        }
+
+        try {
+            if (!tasks.isEmpty()) {
+                results.add(call(tasks.get(0)));
+            }
+            for (int done = 0; done < futures.size(); done++) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (completionService.poll(Math.max(0, remaining), TimeUnit.NANOSECONDS) == null) {
+                    // Out of time. Settle for what we've got.
+                    break;
+                }
+            }
+            for (Future<T> future : futures) {
+                if (future.isDone() && !future.isCancelled()) {
+                    results.add(future.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Search task failed", e.getCause());
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(false);
+            }
+        }
+
+        return results;
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Search task failed", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package tarehart.rlbot;
+
+import tarehart.rlbot.tuning.BotLog;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Makes sure a tick gets an answer within its budget, even if the real work takes longer.
+ *
+ * The work runs on a thread of its own while the caller waits. If it isn't done by the deadline, the caller
+ * gets the fallback instead and the work keeps going in the background, so whatever it decides (e.g. a new plan)
+ * is ready for the next tick. Its late answer is thrown away, since by then the car has moved on. If it fails
+ * instead, nobody is waiting to hear about it, so the next tick logs the failure before starting anything new.
+ *
+ * While late work is still running, new ticks don't pile more work on top of it. They get the fallback right away.
+ */
+public class TickScheduler {
+
+    private final Duration budget;
+    private final int playerIndex;
+    private final ExecutorService executor;
+
+    private Future<?> pending;
+    private boolean pendingAbandoned;
+
+    private final AtomicLong tickCount = new AtomicLong();
+    private final AtomicLong overrunCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong lateFailureCount = new AtomicLong();
+
+    public TickScheduler(Duration budget, int playerIndex, String threadName) {
+        this.budget = budget;
+        this.playerIndex = playerIndex;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Must always be called from the same thread.
+     */
+    public <T> T run(Supplier<T> work, Supplier<T> fallback) {
+
+        tickCount.incrementAndGet();
+
+        if (pending != null && !pending.isDone()) {
+            skippedCount.incrementAndGet();
+            return fallback.get();
+        }
+
+        if (pendingAbandoned) {
+            reportLateFailure(pending);
+            pendingAbandoned = false;
+        }
+
+        Future<T> future = executor.submit(work::get);
+        pending = future;
+
+        try {
+            return future.get(budget.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            overrunCount.incrementAndGet();
+            pendingAbandoned = true;
+            return fallback.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingAbandoned = true;
+            return fallback.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Tick failed", e.getCause());
+        }
+    }
+
+    private void reportLateFailure(Future<?> abandoned) {
+        try {
+            abandoned.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            lateFailureCount.incrementAndGet();
+            BotLog.println("Tick failed after overrunning its budget: " + e.getCause(), playerIndex);
+            e.getCause().printStackTrace();
+        }
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    public long getTickCount() {
+        return tickCount.get();
+    }
+
+    /**
+     * Ticks where the work was started but didn't finish in time.
+     */
+    public long getOverrunCount() {
+        return overrunCount.get();
+    }
+
+    /**
+     * Ticks where the work didn't even start, because an earlier tick's work was still going.
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * Ticks whose work overran and then threw, which were only noticed on a later tick.
+     */
+    public long getLateFailureCount() {
+        return lateFailureCount.get();
+    }
+}
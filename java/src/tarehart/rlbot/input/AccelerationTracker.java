@@ -0,0 +1,52 @@
+package tarehart.rlbot.input;
+
+import tarehart.rlbot.math.vector.Vector3;
+
+import java.util.Arrays;
+
+/**
+ * Works out how each car's velocity has been changing lately. Single ticks are noisy, so each new reading only
+ * moves the answer part of the way, and readings from long ago fade out after about SMOOTHING_SECONDS.
+ * Like SpinTracker, cars are kept in arrays indexed by player index.
+ */
+public class AccelerationTracker {
+
+    private static final double SMOOTHING_SECONDS = .1;
+
+    // Faster than any car can speed up or slow down without a crash, a demolition or a respawn.
+    private static final double MAX_BELIEVABLE_ACCELERATION = 200;
+
+    private static final Vector3 NO_ACCELERATION = new Vector3();
+
+    private Vector3[] previousVelocities = new Vector3[8];
+    private Vector3[] accelerations = new Vector3[8];
+
+    public void readInput(Vector3 velocity, int playerIndex, double secondsElapsed) {
+        if (secondsElapsed > 0) {
+            if (playerIndex >= accelerations.length) {
+                int length = Math.max(playerIndex + 1, accelerations.length * 2);
+                previousVelocities = Arrays.copyOf(previousVelocities, length);
+                accelerations = Arrays.copyOf(accelerations, length);
+            }
+            Vector3 previousVelocity = previousVelocities[playerIndex];
+            if (previousVelocity != null) {
+                Vector3 latest = velocity.minus(previousVelocity).scaled(1 / secondsElapsed);
+                if (latest.magnitude() > MAX_BELIEVABLE_ACCELERATION) {
+                    accelerations[playerIndex] = null;
+                } else {
+                    Vector3 smoothed = accelerations[playerIndex] != null ? accelerations[playerIndex] : latest;
+                    double weight = Math.min(1, secondsElapsed / SMOOTHING_SECONDS);
+                    accelerations[playerIndex] = smoothed.plus(latest.minus(smoothed).scaled(weight));
+                }
+            }
+            previousVelocities[playerIndex] = velocity;
+        }
+    }
+
+    public Vector3 getAcceleration(int playerIndex) {
+        if (playerIndex < accelerations.length && accelerations[playerIndex] != null) {
+            return accelerations[playerIndex];
+        }
+        return NO_ACCELERATION;
+    }
+}
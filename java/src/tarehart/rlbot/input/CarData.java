@@ -2,30 +2,41 @@ package tarehart.rlbot.input;
 
 import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.Bot;
-
-import java.time.LocalDateTime;
+import tarehart.rlbot.math.GameTime;
 
 public class CarData {
     public final Vector3 position;
     public final Vector3 velocity;
     public final CarOrientation orientation;
     public final CarSpin spin;
+    /**
+     * How the velocity has been changing over the last few ticks, in units per second per second.
+     */
+    public final Vector3 acceleration;
     public final double boost;
     public boolean isSupersonic;
     public final Bot.Team team;
-    public final LocalDateTime time;
+    public final int playerIndex;
+    public final GameTime time;
     public final long frameCount;
 
 
     public CarData(Vector3 position, Vector3 velocity, CarOrientation orientation, CarSpin spin, double boost,
-                   boolean isSupersonic, Bot.Team team, LocalDateTime time, long frameCount) {
+                   boolean isSupersonic, Bot.Team team, int playerIndex, GameTime time, long frameCount) {
+        this(position, velocity, orientation, spin, new Vector3(), boost, isSupersonic, team, playerIndex, time, frameCount);
+    }
+
+    public CarData(Vector3 position, Vector3 velocity, CarOrientation orientation, CarSpin spin, Vector3 acceleration, double boost,
+                   boolean isSupersonic, Bot.Team team, int playerIndex, GameTime time, long frameCount) {
         this.position = position;
         this.velocity = velocity;
         this.orientation = orientation;
         this.spin = spin;
+        this.acceleration = acceleration;
         this.boost = boost;
         this.isSupersonic = isSupersonic;
         this.team = team;
+        this.playerIndex = playerIndex;
         this.time = time;
         this.frameCount = frameCount;
     }
@@ -1,21 +1,19 @@
 package tarehart.rlbot.input;
 
 import rlbot.api.GameData;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.math.TimeUtil;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-
 public class Chronometer {
 
-    private LocalDateTime gameTime;
-    private LocalDateTime previousGameTime;
+    private GameTime gameTime;
+    private GameTime previousGameTime;
 
     private Double previousGameTimeRemaining = null;
     private Double previousTimeSeconds = null;
 
     public Chronometer() {
-        gameTime = LocalDateTime.now();
+        gameTime = GameTime.ZERO;
         previousGameTime = null;
     }
 
@@ -34,21 +32,21 @@ public class Chronometer {
             }
 
             previousGameTime = gameTime;
-            gameTime = gameTime.plus(TimeUtil.toDuration(deltaSeconds));
+            gameTime = gameTime.plusSeconds(deltaSeconds);
         }
 
         previousGameTimeRemaining = gameTimeRemaining;
         previousTimeSeconds = secondsElapsed;
     }
 
-    public LocalDateTime getGameTime() {
+    public GameTime getGameTime() {
         return gameTime;
     }
 
-    public Duration getTimeDiff() {
+    public double getTimeDiff() {
         if (previousGameTime != null) {
-            return Duration.between(previousGameTime, gameTime);
+            return TimeUtil.secondsBetween(previousGameTime, gameTime);
         }
-        return Duration.ofMillis(100); // This should be extremely rare.
+        return 0.1; // This should be extremely rare.
     }
 }
@@ -1,25 +1,30 @@
 package tarehart.rlbot.input;
 
 import tarehart.rlbot.math.vector.Vector3;
-import tarehart.rlbot.Bot;
 import tarehart.rlbot.math.VectorUtil;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.function.Function;
+import java.util.Arrays;
 
+/**
+ * Works out how each car is spinning by comparing its orientation to the one from the last tick.
+ * Cars are kept in arrays indexed by player index, which grow if a bigger game shows up.
+ */
 public class SpinTracker {
 
-    private Map<Bot.Team, CarOrientation> previousOrientations = new HashMap<>();
-    private Map<Bot.Team, CarSpin> spins = new HashMap<>();
+    private CarOrientation[] previousOrientations = new CarOrientation[8];
+    private CarSpin[] spins = new CarSpin[8];
 
-    public void readInput(CarOrientation orientation, Bot.Team team, double secondsElapsed) {
+    public void readInput(CarOrientation orientation, int playerIndex, double secondsElapsed) {
         if (secondsElapsed > 0) {
-            if (previousOrientations.containsKey(team)) {
-                spins.put(team, getCarSpin(previousOrientations.get(team), orientation, secondsElapsed));
+            if (playerIndex >= spins.length) {
+                int length = Math.max(playerIndex + 1, spins.length * 2);
+                previousOrientations = Arrays.copyOf(previousOrientations, length);
+                spins = Arrays.copyOf(spins, length);
             }
-            previousOrientations.put(team, orientation);
+            if (previousOrientations[playerIndex] != null) {
+                spins[playerIndex] = getCarSpin(previousOrientations[playerIndex], orientation, secondsElapsed);
+            }
+            previousOrientations[playerIndex] = orientation;
         }
     }
 
@@ -39,7 +44,10 @@ public class SpinTracker {
         return Math.asin(projection.magnitude() * Math.signum(projection.dotProduct(previousOrthogonal)));
     }
 
-    public CarSpin getSpin(Bot.Team team) {
-        return Optional.ofNullable(spins.get(team)).orElse(new CarSpin(0, 0, 0));
+    public CarSpin getSpin(int playerIndex) {
+        if (playerIndex < spins.length && spins[playerIndex] != null) {
+            return spins[playerIndex];
+        }
+        return new CarSpin(0, 0, 0);
     }
 }
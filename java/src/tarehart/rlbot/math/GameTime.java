@@ -0,0 +1,85 @@
+package tarehart.rlbot.math;
+
+import java.time.Duration;
+
+/**
+ * A moment on the game clock, counted in nanoseconds from whenever the Chronometer started.
+ *
+ * This is a thin wrapper around a long so that time math in the hot paths doesn't need to go
+ * through LocalDateTime and Duration normalization.
+ */
+public final class GameTime implements Comparable<GameTime> {
+
+    public static final GameTime ZERO = new GameTime(0);
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long nanos;
+
+    private GameTime(long nanos) {
+        this.nanos = nanos;
+    }
+
+    public static GameTime ofNanos(long nanos) {
+        return new GameTime(nanos);
+    }
+
+    public static GameTime ofSeconds(double seconds) {
+        return new GameTime(Math.round(seconds * NANOS_PER_SECOND));
+    }
+
+    public long toNanos() {
+        return nanos;
+    }
+
+    public double toSeconds() {
+        return nanos / NANOS_PER_SECOND;
+    }
+
+    public GameTime plusSeconds(double seconds) {
+        return new GameTime(nanos + Math.round(seconds * NANOS_PER_SECOND));
+    }
+
+    public GameTime plus(Duration duration) {
+        return new GameTime(nanos + duration.toNanos());
+    }
+
+    public GameTime minus(Duration duration) {
+        return new GameTime(nanos - duration.toNanos());
+    }
+
+    /**
+     * @return the number of seconds from the other time until this one. Negative if this one comes first.
+     */
+    public double secondsSince(GameTime other) {
+        return (nanos - other.nanos) / NANOS_PER_SECOND;
+    }
+
+    public boolean isBefore(GameTime other) {
+        return nanos < other.nanos;
+    }
+
+    public boolean isAfter(GameTime other) {
+        return nanos > other.nanos;
+    }
+
+    @Override
+    public int compareTo(GameTime other) {
+        return Long.compare(nanos, other.nanos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GameTime && ((GameTime) o).nanos == nanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.3fs", toSeconds());
+    }
+}
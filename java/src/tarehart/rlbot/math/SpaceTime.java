@@ -2,14 +2,12 @@ package tarehart.rlbot.math;
 
 import tarehart.rlbot.math.vector.Vector3;
 
-import java.time.LocalDateTime;
-
 public class SpaceTime {
 
     public Vector3 space;
-    public LocalDateTime time;
+    public GameTime time;
 
-    public SpaceTime(Vector3 space, LocalDateTime time) {
+    public SpaceTime(Vector3 space, GameTime time) {
         this.space = space;
         this.time = time;
     }
@@ -2,17 +2,28 @@ package tarehart.rlbot.math;
 
 import tarehart.rlbot.math.vector.Vector3;
 
-import java.time.LocalDateTime;
-
 public class SpaceTimeVelocity {
+
+    private static final Vector3 NO_SPIN = new Vector3();
+
     public Vector3 space;
-    public LocalDateTime time;
+    public GameTime time;
     public Vector3 velocity;
 
-    public SpaceTimeVelocity(Vector3 space, LocalDateTime time, Vector3 velocity) {
+    /**
+     * Angular velocity in radians per second, in the same coordinates as space.
+     */
+    public Vector3 spin;
+
+    public SpaceTimeVelocity(Vector3 space, GameTime time, Vector3 velocity) {
+        this(space, time, velocity, NO_SPIN);
+    }
+
+    public SpaceTimeVelocity(Vector3 space, GameTime time, Vector3 velocity, Vector3 spin) {
         this.space = space;
         this.time = time;
         this.velocity = velocity;
+        this.spin = spin;
     }
 
     public SpaceTimeVelocity(SpaceTime spaceTime, Vector3 velocity) {
@@ -27,12 +38,16 @@ public class SpaceTimeVelocity {
         return velocity;
     }
 
-    public LocalDateTime getTime() {
+    public Vector3 getSpin() {
+        return spin;
+    }
+
+    public GameTime getTime() {
         return time;
     }
 
     public SpaceTimeVelocity copy() {
-        return new SpaceTimeVelocity(this.getSpace(), this.getTime(), this.getVelocity());
+        return new SpaceTimeVelocity(this.getSpace(), this.getTime(), this.getVelocity(), this.getSpin());
     }
 
     public SpaceTime toSpaceTime() {
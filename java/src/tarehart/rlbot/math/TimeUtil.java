@@ -2,11 +2,12 @@ package tarehart.rlbot.math;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 public class TimeUtil {
 
-    public static double secondsBetween(LocalDateTime a, LocalDateTime b) {
-        return toSeconds(Duration.between(a, b));
+    public static double secondsBetween(GameTime a, GameTime b) {
+        return b.secondsSince(a);
     }
 
     public static Duration toDuration(double seconds) {
@@ -16,4 +17,16 @@ public class TimeUtil {
     public static double toSeconds(Duration duration) {
         return duration.toMillis() / 1000.0;
     }
+
+    /**
+     * For places that still want wall clock types, e.g. the ball recordings. Game time zero maps to the epoch.
+     */
+    public static LocalDateTime toLocalDateTime(GameTime time) {
+        long nanos = time.toNanos();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    public static GameTime toGameTime(LocalDateTime dateTime) {
+        return GameTime.ofNanos(dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano());
+    }
 }
@@ -1,5 +1,7 @@
 package tarehart.rlbot.math;
 
+import tarehart.rlbot.math.vector.MutableVector2;
+import tarehart.rlbot.math.vector.MutableVector3;
 import tarehart.rlbot.math.vector.Vector2;
 import tarehart.rlbot.math.vector.Vector3;
 
@@ -18,12 +20,45 @@ public class VectorUtil {
         return onto.scaled(scale);
     }
 
+    /**
+     * Writes the projection into the given vector instead of making a new one, and returns it.
+     */
+    public static MutableVector3 project(Vector3 vector, Vector3 onto, MutableVector3 into) {
+        double scale = vector.dotProduct(onto) / onto.magnitudeSquared();
+        return into.set(onto).scale(scale);
+    }
+
+    /**
+     * Writes the projection into the given vector instead of making a new one, and returns it.
+     */
+    public static MutableVector2 project(Vector2 vector, Vector2 onto, MutableVector2 into) {
+        double scale = vector.dotProduct(onto) / onto.magnitudeSquared();
+        return into.set(onto).scale(scale);
+    }
+
     public static double flatDistance(Vector3 a, Vector3 b) {
         return a.flatten().distance(b.flatten());
     }
 
     public static double flatDistance(Vector3 a, Vector3 b, Vector3 planeNormal) {
-        return a.projectToPlane(planeNormal).distance(b.projectToPlane(planeNormal));
+        return flatDistance(a, b.x, b.y, b.z, planeNormal);
+    }
+
+    public static double flatDistance(Vector3 a, MutableVector3 b, Vector3 planeNormal) {
+        return flatDistance(a, b.x, b.y, b.z, planeNormal);
+    }
+
+    /**
+     * Projects both points onto the plane the same way Vector3.projectToPlane does, but without making
+     * any new vectors along the way.
+     */
+    private static double flatDistance(Vector3 a, double bx, double by, double bz, Vector3 planeNormal) {
+        double aDot = a.dotProduct(planeNormal);
+        double bDot = bx * planeNormal.x + by * planeNormal.y + bz * planeNormal.z;
+        double xDiff = (a.x + planeNormal.x * -aDot) - (bx + planeNormal.x * -bDot);
+        double yDiff = (a.y + planeNormal.y * -aDot) - (by + planeNormal.y * -bDot);
+        double zDiff = (a.z + planeNormal.z * -aDot) - (bz + planeNormal.z * -bDot);
+        return Math.sqrt(xDiff * xDiff + yDiff * yDiff + zDiff * zDiff);
     }
 
     public static Optional<Vector3> getPlaneIntersection(Plane plane, Vector3 segmentPosition, Vector3 segmentVector) {
@@ -71,14 +106,37 @@ public class VectorUtil {
     }
 
     public static double getCorrectionAngle(Vector3 current, Vector3 ideal, Vector3 up) {
+        return getCorrectionAngle(current, ideal.x, ideal.y, ideal.z, up);
+    }
+
+    public static double getCorrectionAngle(Vector3 current, MutableVector3 ideal, Vector3 up) {
+        return getCorrectionAngle(current, ideal.x, ideal.y, ideal.z, up);
+    }
+
+    /**
+     * Projects both vectors onto the plane, takes the angle between them, and uses the cross product to decide
+     * which way to turn. Works on the parts directly because this gets called for every slice of an intercept search.
+     */
+    public static double getCorrectionAngle(Vector3 current, double idealX, double idealY, double idealZ, Vector3 up) {
+
+        double currentDot = current.dotProduct(up);
+        double cx = current.x + up.x * -currentDot;
+        double cy = current.y + up.y * -currentDot;
+        double cz = current.z + up.z * -currentDot;
+
+        double idealDot = idealX * up.x + idealY * up.y + idealZ * up.z;
+        double ix = idealX + up.x * -idealDot;
+        double iy = idealY + up.y * -idealDot;
+        double iz = idealZ + up.z * -idealDot;
 
-        Vector3 currentProj = current.projectToPlane(up);
-        Vector3 idealProj = ideal.projectToPlane(up);
-        double angle = currentProj.angle(idealProj);
+        double dot = cx * ix + cy * iy + cz * iz;
+        double angle = Math.acos(dot / Math.sqrt((cx * cx + cy * cy + cz * cz) * (ix * ix + iy * iy + iz * iz)));
 
-        Vector3 cross = currentProj.crossProduct(idealProj);
+        double crossX = cy * iz - cz * iy;
+        double crossY = cz * ix - cx * iz;
+        double crossZ = cx * iy - cy * ix;
 
-        if (cross.dotProduct(up) < 0) {
+        if (crossX * up.x + crossY * up.y + crossZ * up.z < 0) {
             angle *= -1;
         }
         return angle;
@@ -0,0 +1,72 @@
+package tarehart.rlbot.math.vector;
+
+/**
+ * A Vector2 that can be changed in place. See MutableVector3.
+ */
+public class MutableVector2 {
+
+    public double x;
+    public double y;
+
+    public MutableVector2() {
+    }
+
+    public MutableVector2(double x, double y) {
+        set(x, y);
+    }
+
+    public MutableVector2 set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public MutableVector2 set(Vector2 other) {
+        return set(other.x, other.y);
+    }
+
+    public MutableVector2 add(Vector2 other) {
+        return set(x + other.x, y + other.y);
+    }
+
+    public MutableVector2 sub(Vector2 other) {
+        return set(x - other.x, y - other.y);
+    }
+
+    public MutableVector2 scale(double scale) {
+        return set(x * scale, y * scale);
+    }
+
+    public double dotProduct(Vector2 other) {
+        return x * other.x + y * other.y;
+    }
+
+    public double magnitude() {
+        return Math.sqrt(magnitudeSquared());
+    }
+
+    public double magnitudeSquared() {
+        return x * x + y * y;
+    }
+
+    public double distance(Vector2 other) {
+        double xDiff = x - other.x;
+        double yDiff = y - other.y;
+        return Math.sqrt(xDiff * xDiff + yDiff * yDiff);
+    }
+
+    public boolean isZero() {
+        return x == 0 && y == 0;
+    }
+
+    /**
+     * Same as Vector2.correctionAngle.
+     */
+    public double correctionAngle(Vector2 ideal) {
+        return Vector2.correctionAngle(x, y, ideal.x, ideal.y);
+    }
+
+    public Vector2 toVector2() {
+        return new Vector2(x, y);
+    }
+}
@@ -0,0 +1,87 @@
+package tarehart.rlbot.math.vector;
+
+/**
+ * A Vector3 that can be changed in place. Inner loops that would otherwise make a new Vector3 for every
+ * plus or minus can keep one of these around and overwrite it instead.
+ *
+ * Every operation changes this vector and returns it, so calls can be chained. Don't share one between threads,
+ * and don't hand it to anything that might hold on to it; use toVector3 for that.
+ */
+public class MutableVector3 {
+
+    public double x;
+    public double y;
+    public double z;
+
+    public MutableVector3() {
+    }
+
+    public MutableVector3(double x, double y, double z) {
+        set(x, y, z);
+    }
+
+    public MutableVector3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public MutableVector3 set(Vector3 other) {
+        return set(other.x, other.y, other.z);
+    }
+
+    public MutableVector3 add(Vector3 other) {
+        return set(x + other.x, y + other.y, z + other.z);
+    }
+
+    public MutableVector3 sub(Vector3 other) {
+        return set(x - other.x, y - other.y, z - other.z);
+    }
+
+    public MutableVector3 scale(double scale) {
+        return set(x * scale, y * scale, z * scale);
+    }
+
+    /**
+     * Same as Vector3.projectToPlane, so the normal should have length one.
+     */
+    public MutableVector3 projectToPlane(Vector3 planeNormal) {
+        double d = dotProduct(planeNormal);
+        return set(x + planeNormal.x * -d, y + planeNormal.y * -d, z + planeNormal.z * -d);
+    }
+
+    public double dotProduct(Vector3 other) {
+        return x * other.x + y * other.y + z * other.z;
+    }
+
+    public double magnitude() {
+        return Math.sqrt(magnitudeSquared());
+    }
+
+    public double magnitudeSquared() {
+        return x * x + y * y + z * z;
+    }
+
+    public double distance(Vector3 other) {
+        double xDiff = x - other.x;
+        double yDiff = y - other.y;
+        double zDiff = z - other.z;
+        return Math.sqrt(xDiff * xDiff + yDiff * yDiff + zDiff * zDiff);
+    }
+
+    public boolean isZero() {
+        return x == 0 && y == 0 && z == 0;
+    }
+
+    /**
+     * Writes the x and y parts into the given vector and returns it.
+     */
+    public MutableVector2 flatten(MutableVector2 into) {
+        return into.set(x, y);
+    }
+
+    public Vector3 toVector3() {
+        return new Vector3(x, y, z);
+    }
+}
@@ -64,8 +64,15 @@ public class Vector2 {
     }
 
     public double correctionAngle(Vector2 ideal) {
-        double currentRad = Math.atan2(y, x);
-        double idealRad = Math.atan2(ideal.y, ideal.x);
+        return correctionAngle(x, y, ideal.x, ideal.y);
+    }
+
+    /**
+     * The same as correctionAngle, for callers that have the parts but not a Vector2.
+     */
+    public static double correctionAngle(double currentX, double currentY, double idealX, double idealY) {
+        double currentRad = Math.atan2(currentY, currentX);
+        double idealRad = Math.atan2(idealY, idealX);
 
         if (Math.abs(currentRad - idealRad) > Math.PI) {
             if (currentRad < 0) {
@@ -0,0 +1,406 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.planning.Goal;
+
+import java.time.Duration;
+
+/**
+ * Predicts the ball without a physics engine. Between contacts the motion under gravity and drag has a closed form,
+ * so we jump straight from one slice to the next and only do real work when the ball meets one of the arena planes.
+ *
+ * The constants mirror the ones ArenaModel feeds to JBullet so that the two simulators agree with each other.
+ *
+ * Spin isn't simulated. The ball keeps whatever spin it started with, which is right in open air and wrong after
+ * a bounce, and bounces don't depend on it.
+ */
+public class AnalyticBallSimulator implements BallSimulator {
+
+    private static final double FRICTION = ArenaModel.BALL_FRICTION * ArenaModel.WALL_FRICTION;
+
+    // JBullet applies damping as v *= (1 - damping) ^ dt, which is exponential decay at this rate.
+    private static final double DRAG_RATE = -Math.log(1 - ArenaModel.BALL_DRAG);
+
+    // ArenaModel turns off drag and friction below this speed.
+    private static final double SLOW_BALL_SPEED = 10;
+
+    // Bounces with less normal speed than this turn into rolling.
+    private static final double RESTING_SPEED = 1;
+
+    // Friction can take away at most this much of the sliding speed, because the rest goes into spinning the ball.
+    private static final double MAX_FRICTION_FRACTION = 2.0 / 7;
+
+    private static final int MAX_CONTACTS_PER_STEP = 8;
+    private static final int ROOT_ITERATIONS = 40;
+    private static final double PENETRATION_TOLERANCE = 1;
+
+    private static final Surface[] SURFACES = buildSurfaces();
+
+    private final double restitution;
+
+    private double px, py, pz;
+    private double vx, vy, vz;
+    private Surface support;
+
+    public AnalyticBallSimulator() {
+        this(ArenaModel.BALL_RESTITUTION);
+    }
+
+    /**
+     * Same as ArenaModel.setBallRestitution; bounces multiply it by WALL_RESTITUTION.
+     */
+    public AnalyticBallSimulator(double ballRestitution) {
+        this.restitution = ballRestitution * ArenaModel.WALL_RESTITUTION;
+    }
+
+    @Override
+    public BallPath simulateBall(SpaceTimeVelocity start, Duration duration) {
+        BallPath ballPath = new BallPath(start);
+        simulateBall(ballPath, start.getTime().plus(duration));
+        return ballPath;
+    }
+
+    @Override
+    public BallPath simulateBall(SpaceTimeVelocity start, GameTime endTime) {
+        BallPath ballPath = new BallPath(start);
+        simulateBall(ballPath, endTime);
+        return ballPath;
+    }
+
+    @Override
+    public void extendSimulation(BallPath ballPath, GameTime endTime) {
+        simulateBall(ballPath, endTime);
+    }
+
+    private void simulateBall(BallPath ballPath, GameTime endTime) {
+        SpaceTimeVelocity start = ballPath.getEndpoint();
+        GameTime simulationTime = start.getTime();
+        if (simulationTime.isAfter(endTime)) {
+            return;
+        }
+
+        setState(start.getSpace(), start.getVelocity());
+        Vector3 spin = start.getSpin();
+        GameTime highResEnd = ballPath.getStartPoint().getTime().plusSeconds(1);
+
+        // Same step schedule as ArenaModel's fixed stepping so the slices line up.
+        while (simulationTime.isBefore(endTime)) {
+            float stepsPerSecond = ArenaModel.STEPS_PER_SECOND;
+            if (simulationTime.isBefore(highResEnd)) {
+                stepsPerSecond = ArenaModel.STEPS_PER_SECOND_HIGH_RES;
+            }
+
+            step(1.0 / stepsPerSecond);
+            simulationTime = simulationTime.plusSeconds(1.0 / stepsPerSecond);
+            ballPath.addSlice(px, py, pz, vx, vy, vz, spin.x, spin.y, spin.z, simulationTime);
+        }
+    }
+
+    private void setState(Vector3 position, Vector3 velocity) {
+        px = position.x;
+        py = position.y;
+        pz = position.z;
+        vx = velocity.x;
+        vy = velocity.y;
+        vz = velocity.z;
+        support = null;
+
+        for (Surface surface : SURFACES) {
+            double gap = surface.gap(px, py, pz);
+            if (gap < 0 && gap > -PENETRATION_TOLERANCE && surface.isSolidAt(px, py, pz)) {
+                // Starting slightly inside a wall, which the game allows. Push back out.
+                px -= surface.nx * gap;
+                py -= surface.ny * gap;
+                pz -= surface.nz * gap;
+                gap = 0;
+            }
+            if (surface.canSupport() && gap < .1 && Math.abs(surface.normalSpeed(vx, vy, vz)) < RESTING_SPEED) {
+                support = surface;
+            }
+        }
+
+        if (support != null) {
+            settleOnSupport();
+        }
+    }
+
+    private void step(double seconds) {
+
+        double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+        boolean fast = speed >= SLOW_BALL_SPEED;
+        double drag = fast ? DRAG_RATE : 0;
+
+        if (support != null && support.normalSpeed(vx, vy, vz) > RESTING_SPEED) {
+            support = null;
+        }
+
+        double remaining = seconds;
+        int contacts = 0;
+        while (remaining > 0) {
+
+            // Gravity, minus whatever the supporting surface holds up, minus friction from rolling on it.
+            double ax = 0;
+            double ay = 0;
+            double az = -ArenaModel.GRAVITY;
+            if (support != null) {
+                double pressing = support.normalSpeed(ax, ay, az);
+                ax -= support.nx * pressing;
+                ay -= support.ny * pressing;
+                az -= support.nz * pressing;
+
+                double slideX = vx, slideY = vy, slideZ = vz;
+                double slideSpeed = Math.sqrt(slideX * slideX + slideY * slideY + slideZ * slideZ);
+                if (fast && slideSpeed > 0) {
+                    double frictionAccel = FRICTION * -pressing / slideSpeed;
+                    ax -= slideX * frictionAccel;
+                    ay -= slideY * frictionAccel;
+                    az -= slideZ * frictionAccel;
+                }
+            }
+
+            Surface hitSurface = null;
+            double hitTime = remaining;
+            if (contacts < MAX_CONTACTS_PER_STEP) {
+                for (Surface surface : SURFACES) {
+                    if (surface == support) {
+                        continue;
+                    }
+                    double time = findContactTime(surface, ax, ay, az, drag, hitTime);
+                    if (time >= 0 && time < hitTime && isSolidAfter(surface, ax, ay, az, drag, time)) {
+                        hitTime = time;
+                        hitSurface = surface;
+                    }
+                }
+            }
+
+            advance(ax, ay, az, drag, hitTime);
+            remaining -= hitTime;
+
+            if (hitSurface == null) {
+                break;
+            }
+
+            bounce(hitSurface, fast);
+            contacts++;
+        }
+    }
+
+    private boolean isSolidAfter(Surface surface, double ax, double ay, double az, double drag, double time) {
+        return surface.isSolidAt(
+                px + displacement(vx, ax, drag, time),
+                py + displacement(vy, ay, drag, time),
+                pz + displacement(vz, az, drag, time));
+    }
+
+    /**
+     * @return the soonest time within the window when the ball touches the surface while moving into it, or -1.
+     */
+    private double findContactTime(Surface surface, double ax, double ay, double az, double drag, double window) {
+        double gap = surface.gap(px, py, pz);
+        if (gap < -PENETRATION_TOLERANCE) {
+            return -1; // Behind the surface, e.g. inside the goal. It can't stop us from here.
+        }
+
+        double normalSpeed = surface.normalSpeed(vx, vy, vz);
+        double normalAccel = surface.normalSpeed(ax, ay, az);
+
+        if (gap <= 0) {
+            return normalSpeed < 0 ? 0 : -1;
+        }
+
+        // The normal speed changes monotonically, so the gap has at most one turning point.
+        double turningPoint = timeUntilStopped(normalSpeed, normalAccel, drag);
+        double firstEnd = turningPoint > 0 && turningPoint < window ? turningPoint : window;
+
+        if (gap + displacement(normalSpeed, normalAccel, drag, firstEnd) <= 0) {
+            return findRoot(gap, normalSpeed, normalAccel, drag, 0, firstEnd);
+        }
+        if (firstEnd < window && gap + displacement(normalSpeed, normalAccel, drag, window) <= 0) {
+            return findRoot(gap, normalSpeed, normalAccel, drag, firstEnd, window);
+        }
+        return -1;
+    }
+
+    private static double findRoot(double gap, double normalSpeed, double normalAccel, double drag, double low, double high) {
+        // The gap is positive at low and non-positive at high.
+        for (int i = 0; i < ROOT_ITERATIONS; i++) {
+            double mid = (low + high) / 2;
+            if (gap + displacement(normalSpeed, normalAccel, drag, mid) > 0) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    private void advance(double ax, double ay, double az, double drag, double seconds) {
+        px += displacement(vx, ax, drag, seconds);
+        py += displacement(vy, ay, drag, seconds);
+        pz += displacement(vz, az, drag, seconds);
+        vx = velocity(vx, ax, drag, seconds);
+        vy = velocity(vy, ay, drag, seconds);
+        vz = velocity(vz, az, drag, seconds);
+        if (support != null) {
+            settleOnSupport();
+        }
+    }
+
+    private void bounce(Surface surface, boolean withFriction) {
+        double normalSpeed = surface.normalSpeed(vx, vy, vz);
+        if (normalSpeed >= 0) {
+            return;
+        }
+
+        double slideX = vx - surface.nx * normalSpeed;
+        double slideY = vy - surface.ny * normalSpeed;
+        double slideZ = vz - surface.nz * normalSpeed;
+        double slideSpeed = Math.sqrt(slideX * slideX + slideY * slideY + slideZ * slideZ);
+
+        double slideScale = 1;
+        if (withFriction && slideSpeed > 0) {
+            double frictionLoss = Math.min(MAX_FRICTION_FRACTION * slideSpeed, FRICTION * (1 + restitution) * -normalSpeed);
+            slideScale = (slideSpeed - frictionLoss) / slideSpeed;
+        }
+
+        double reboundSpeed = -normalSpeed * restitution;
+        if (reboundSpeed < RESTING_SPEED && surface.canSupport()) {
+            reboundSpeed = 0;
+            support = surface;
+        }
+
+        vx = slideX * slideScale + surface.nx * reboundSpeed;
+        vy = slideY * slideScale + surface.ny * reboundSpeed;
+        vz = slideZ * slideScale + surface.nz * reboundSpeed;
+
+        if (support == surface) {
+            settleOnSupport();
+        } else if (support != null && support.normalSpeed(vx, vy, vz) > RESTING_SPEED) {
+            support = null;
+        }
+    }
+
+    private void settleOnSupport() {
+        double gap = support.gap(px, py, pz);
+        px -= support.nx * gap;
+        py -= support.ny * gap;
+        pz -= support.nz * gap;
+        double normalSpeed = support.normalSpeed(vx, vy, vz);
+        if (normalSpeed < 0) {
+            vx -= support.nx * normalSpeed;
+            vy -= support.ny * normalSpeed;
+            vz -= support.nz * normalSpeed;
+        }
+    }
+
+    /**
+     * Closed form for one axis of dv/dt = accel - drag * v.
+     */
+    private static double velocity(double initialSpeed, double accel, double drag, double seconds) {
+        if (drag == 0) {
+            return initialSpeed + accel * seconds;
+        }
+        double terminal = accel / drag;
+        return terminal + (initialSpeed - terminal) * Math.exp(-drag * seconds);
+    }
+
+    /**
+     * The integral of velocity() from 0 to seconds.
+     */
+    private static double displacement(double initialSpeed, double accel, double drag, double seconds) {
+        if (drag == 0) {
+            return initialSpeed * seconds + accel * seconds * seconds / 2;
+        }
+        double terminal = accel / drag;
+        return terminal * seconds + (initialSpeed - terminal) * (1 - Math.exp(-drag * seconds)) / drag;
+    }
+
+    /**
+     * @return the time at which velocity() crosses zero, or -1 if it never does.
+     */
+    private static double timeUntilStopped(double initialSpeed, double accel, double drag) {
+        if (drag == 0) {
+            if (accel == 0 || initialSpeed * accel >= 0) {
+                return -1;
+            }
+            return -initialSpeed / accel;
+        }
+        double terminal = accel / drag;
+        double ratio = -terminal / (initialSpeed - terminal);
+        if (ratio <= 0 || ratio >= 1) {
+            return -1;
+        }
+        return -Math.log(ratio) / drag;
+    }
+
+    private static Surface[] buildSurfaces() {
+
+        double sqrtHalf = Math.sqrt(.5);
+        double cornerX = ArenaModel.CORNER_ANGLE_CENTER.x;
+        double cornerY = ArenaModel.CORNER_ANGLE_CENTER.y;
+
+        return new Surface[] {
+                // Floor and ceiling
+                new Surface(0, 0, 1, 0, 0, 0, false),
+                new Surface(0, 0, -1, 0, 0, ArenaModel.CEILING, false),
+
+                // Side walls
+                new Surface(1, 0, 0, -ArenaModel.SIDE_WALL, 0, 0, false),
+                new Surface(-1, 0, 0, ArenaModel.SIDE_WALL, 0, 0, false),
+
+                // Back walls, with a hole for the goal
+                new Surface(0, 1, 0, 0, -ArenaModel.BACK_WALL, 0, true),
+                new Surface(0, -1, 0, 0, ArenaModel.BACK_WALL, 0, true),
+
+                // 45 angle corners
+                new Surface(sqrtHalf, sqrtHalf, 0, -cornerX, -cornerY, 0, false),
+                new Surface(-sqrtHalf, sqrtHalf, 0, cornerX, -cornerY, 0, false),
+                new Surface(sqrtHalf, -sqrtHalf, 0, -cornerX, cornerY, 0, false),
+                new Surface(-sqrtHalf, -sqrtHalf, 0, cornerX, cornerY, 0, false),
+
+                // 45 degree angle rails at floor
+                new Surface(sqrtHalf, 0, sqrtHalf, -ArenaModel.SIDE_WALL, 0, ArenaModel.RAIL_HEIGHT, false),
+                new Surface(-sqrtHalf, 0, sqrtHalf, ArenaModel.SIDE_WALL, 0, ArenaModel.RAIL_HEIGHT, false),
+                new Surface(0, sqrtHalf, sqrtHalf, 0, -ArenaModel.BACK_WALL, ArenaModel.RAIL_HEIGHT, true),
+                new Surface(0, -sqrtHalf, sqrtHalf, 0, ArenaModel.BACK_WALL, ArenaModel.RAIL_HEIGHT, true)
+        };
+    }
+
+    /**
+     * An infinite plane, with the normal pointing into the arena.
+     */
+    private static class Surface {
+        final double nx, ny, nz;
+        final double offset;
+        final boolean hasGoal;
+
+        Surface(double nx, double ny, double nz, double x, double y, double z, boolean hasGoal) {
+            this.nx = nx;
+            this.ny = ny;
+            this.nz = nz;
+            this.offset = nx * x + ny * y + nz * z;
+            this.hasGoal = hasGoal;
+        }
+
+        /**
+         * Distance between the surface and the edge of the ball. Negative means overlapping.
+         */
+        double gap(double x, double y, double z) {
+            return nx * x + ny * y + nz * z - offset - ArenaModel.BALL_RADIUS;
+        }
+
+        double normalSpeed(double x, double y, double z) {
+            return nx * x + ny * y + nz * z;
+        }
+
+        boolean canSupport() {
+            return nz > 0;
+        }
+
+        boolean isSolidAt(double x, double y, double z) {
+            return !hasGoal || Math.abs(x) > Goal.EXTENT || nz == 0 && z > Goal.GOAL_HEIGHT;
+        }
+    }
+}
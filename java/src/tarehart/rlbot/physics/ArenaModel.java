@@ -17,30 +17,36 @@ import com.bulletphysics.linearmath.Transform;
 import tarehart.rlbot.math.vector.Vector2;
 import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.AgentInput;
-import tarehart.rlbot.Bot;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.math.TimeUtil;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.planning.Goal;
 import tarehart.rlbot.planning.GoalUtil;
 import tarehart.rlbot.tuning.BallTelemetry;
+import tarehart.rlbot.tuning.Instrumentation;
 
 import javax.vecmath.Quat4f;
 import javax.vecmath.Vector2f;
 import javax.vecmath.Vector3f;
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 
-public class ArenaModel {
+public class ArenaModel implements BallSimulator {
 
     public static final float SIDE_WALL = 81.92f;
     public static final float BACK_WALL = 102.4f;
     public static final float CEILING = 40.88f;
-    public static final float BALL_ANGULAR_DAMPING = 1f;
+
+    // Spin only changes when the ball touches something. Bounce friction works on the surface of the ball,
+    // so a spinning ball gets kicked sideways and loses some spin each time it hits the floor or a wall.
+    public static final float BALL_ANGULAR_DAMPING = 0;
+
+    // Radians per second. The game won't let the ball spin any faster than this.
+    public static final float MAX_BALL_SPIN = 6f;
 
     private static final int WALL_THICKNESS = 10;
     private static final int WALL_LENGTH = 400;
@@ -59,15 +65,68 @@ public class ArenaModel {
     public static final float WALL_FRICTION = .5f;
     public static final float BALL_FRICTION = .6f;
     public static final int STEPS_PER_SECOND = 10;
-    private static final int STEPS_PER_SECOND_HIGH_RES = 50;
+    static final int STEPS_PER_SECOND_HIGH_RES = 50;
+
+    // How far the clock moves with each step. These have to match the time jbullet actually simulates; going through
+    // a float and truncating to the millisecond used to make a high res step 19ms instead of 20.
+    private static final long STEP_NANOS = Math.round(1e9 / STEPS_PER_SECOND);
+    private static final long STEP_NANOS_HIGH_RES = Math.round(1e9 / STEPS_PER_SECOND_HIGH_RES);
+    private static final long HIGH_RES_NANOS = Duration.ofSeconds(1).toNanos();
+
+    // With adaptive steps, switch to high res once the ball could touch something within this long.
+    // It's a little more than one low res step, so a bounce can't hide inside a coarse step.
+    private static final double CONTACT_LOOKAHEAD_SECONDS = 1.5 / STEPS_PER_SECOND;
+
+    // A ball this close to the floor and barely moving up or down is rolling, not about to bounce.
+    // Rolling still gets low res steps, which keeps long ground paths cheap but isn't free: jbullet takes a little
+    // speed off a ball settling onto the floor in a coarse step. On the corner-diagonal recording that leaves the
+    // prediction about half a unit behind after a second, and it diverges at 1.8s instead of 1.9s with FIXED.
+    // Stepping rolling balls at high res fixes that, but more than doubles the steps in a 7 second path.
+    private static final double ROLLING_GAP = .3;
+    private static final double ROLLING_VERTICAL_SPEED = 2;
+
+    /**
+     * How ArenaModel picks the length of each step.
+     */
+    public enum Stepping {
+        /**
+         * High res for the first second of a path and low res after that, wherever the ball is.
+         */
+        FIXED,
+        /**
+         * High res whenever the ball might touch a surface soon, and low res in open air, however far along the path.
+         */
+        ADAPTIVE
+    }
+
+    // Shapes only describe geometry and are never changed after this, so every model's walls and ball share them.
+    // The walls are each a large, flattish box laying on the ground.
+    private static final CollisionShape WALL_SHAPE = new BoxShape(new Vector3f(WALL_LENGTH / 2, WALL_LENGTH / 2, WALL_THICKNESS / 2));
+    private static final SphereShape BALL_SHAPE = new SphereShape(BALL_RADIUS);
 
     private DynamicsWorld world;
     private RigidBody ball;
 
-    private static Map<Bot.Team, ArenaModel> modelMap = new HashMap<>();
+    // Reused on every step of the simulation so converting to and from jbullet doesn't make new objects.
+    // An ArenaModel is only ever stepped by one thread, so these are never shared.
+    private final Transform ballTransform = new Transform();
+    private final Vector3f ballVector = new Vector3f();
+    private final Vector3f ballSpin = new Vector3f();
+
+    private final Stepping stepping;
+
+    private static Map<Integer, BallSimulator> modelMap = new ConcurrentHashMap<>();
+
+    // When each player last saw the ball leave its predicted path.
+    private static Map<Integer, GameTime> divergenceTimes = new ConcurrentHashMap<>();
 
 
     public ArenaModel() {
+        this(Stepping.ADAPTIVE);
+    }
+
+    public ArenaModel(Stepping stepping) {
+        this.stepping = stepping;
         world = initPhysics();
         setupWalls();
         ball = initBallPhysics();
@@ -82,29 +141,53 @@ public class ArenaModel {
         return Math.abs(position.y) > BACK_WALL;
     }
 
+    /**
+     * Chooses how ball paths will be predicted for the given player. If this is never called, a fresh ArenaModel is used.
+     * Each player gets their own simulator because a physics world can only be stepped by one thread at a time.
+     */
+    public static void useSimulator(int playerIndex, BallSimulator simulator) {
+        modelMap.put(playerIndex, simulator);
+    }
+
+    /**
+     * The simulator predictBallPath uses for the given player.
+     */
+    public static BallSimulator getSimulator(int playerIndex) {
+        return modelMap.computeIfAbsent(playerIndex, i -> new ArenaModel());
+    }
+
+    /**
+     * Any held path that started before this was predicted for a ball that's since gone somewhere else, so
+     * predictBallPath won't build on it.
+     */
+    public static void ballDiverged(DivergenceEvent event) {
+        divergenceTimes.put(event.playerIndex, event.time);
+    }
+
     public static BallPath predictBallPath(AgentInput input, double seconds) {
         return predictBallPath(input, input.time, TimeUtil.toDuration(seconds));
     }
 
-    public static BallPath predictBallPath(AgentInput input, LocalDateTime startingAt, Duration duration) {
-
-        if (!modelMap.containsKey(input.team)) {
-            modelMap.put(input.team, new ArenaModel());
-        }
+    public static BallPath predictBallPath(AgentInput input, GameTime startingAt, Duration duration) {
 
-        ArenaModel arenaModel = modelMap.get(input.team);
+        long timerStart = System.nanoTime();
+        BallSimulator arenaModel = getSimulator(input.playerIndex);
 
-        Optional<BallPath> pathOption = BallTelemetry.getPath(input.team);
+        GameTime divergenceTime = divergenceTimes.get(input.playerIndex);
+        Optional<BallPath> pathOption = BallTelemetry.getPath(input.playerIndex)
+                .filter(path -> divergenceTime == null || !path.getStartTime().isBefore(divergenceTime));
 
         if (pathOption.isPresent()) {
             BallPath ballPath = pathOption.get();
             if (ballPath.getEndpoint().getTime().isBefore(startingAt.plus(duration))) {
                 arenaModel.extendSimulation(ballPath, startingAt.plus(duration));
             }
+            Instrumentation.record(Instrumentation.PREDICT_BALL_PATH, timerStart);
             return ballPath;
         } else {
-            BallPath ballPath = arenaModel.simulateBall(new SpaceTimeVelocity(input.ballPosition, startingAt, input.ballVelocity), duration);
-            BallTelemetry.setPath(ballPath, input.team);
+            BallPath ballPath = arenaModel.simulateBall(new SpaceTimeVelocity(input.ballPosition, startingAt, input.ballVelocity, input.ballSpin), duration);
+            BallTelemetry.setPath(ballPath, input.playerIndex);
+            Instrumentation.record(Instrumentation.PREDICT_BALL_PATH, timerStart);
             return ballPath;
         }
     }
@@ -155,9 +238,6 @@ public class ArenaModel {
 
         normal.normalize();
 
-        // A large, flattish box laying on the ground.
-        CollisionShape boxGround = new BoxShape(new Vector3f(WALL_LENGTH / 2, WALL_LENGTH / 2, WALL_THICKNESS /2));
-
         Transform wallTransform = new Transform();
         wallTransform.setIdentity();
 
@@ -174,7 +254,7 @@ public class ArenaModel {
         wallTransform.setRotation(quat);
 
         RigidBodyConstructionInfo rbInfo = new RigidBodyConstructionInfo(
-                0, null, boxGround, new Vector3f());
+                0, null, WALL_SHAPE, new Vector3f());
         RigidBody wall = new RigidBody(rbInfo);
         wall.setRestitution(WALL_RESTITUTION);
         wall.setFriction(WALL_FRICTION);
@@ -199,55 +279,95 @@ public class ArenaModel {
         return rot;
     }
 
-    private Vector3 getBallPosition() {
-        Transform trans = new Transform();
-        ball.getWorldTransform(trans);
-        return new Vector3(trans.origin.x, trans.origin.y, trans.origin.z);
+    /**
+     * How bouncy the ball is in this model from now on. Bounces multiply it by WALL_RESTITUTION.
+     */
+    public void setBallRestitution(float restitution) {
+        ball.setRestitution(restitution);
     }
 
+    @Override
     public BallPath simulateBall(SpaceTimeVelocity start, Duration duration) {
-        BallPath ballPath = new BallPath(start);
-        simulateBall(ballPath, start.getTime().plus(duration));
-        return ballPath;
+        return simulateBall(start, start.getTime().plus(duration));
     }
 
-    public BallPath simulateBall(SpaceTimeVelocity start, LocalDateTime endTime) {
-        BallPath ballPath = new BallPath(start);
+    @Override
+    public BallPath simulateBall(SpaceTimeVelocity start, GameTime endTime) {
+        BallPath ballPath = new BallPath(start, expectedSlices(start.getTime(), endTime));
         simulateBall(ballPath, endTime);
         return ballPath;
     }
 
-    public void extendSimulation(BallPath ballPath, LocalDateTime endTime) {
+    /**
+     * How many slices a fresh simulation up to the end time will make, so the path can be sized right from the start.
+     */
+    private static int expectedSlices(GameTime startTime, GameTime endTime) {
+        long nanos = Math.max(0, endTime.toNanos() - startTime.toNanos());
+        long highResNanos = Math.min(nanos, HIGH_RES_NANOS);
+        long highResSlices = (highResNanos + STEP_NANOS_HIGH_RES - 1) / STEP_NANOS_HIGH_RES;
+        long lowResSlices = (nanos - highResNanos + STEP_NANOS - 1) / STEP_NANOS;
+        return (int) Math.min(Integer.MAX_VALUE, 2 + highResSlices + lowResSlices);
+    }
+
+    @Override
+    public void extendSimulation(BallPath ballPath, GameTime endTime) {
         simulateBall(ballPath, endTime);
     }
 
-    private void simulateBall(BallPath ballPath, LocalDateTime endTime) {
+    /**
+     * Nothing in the stepping loop makes new objects. The ball is read into the reused transform and vector and
+     * written straight into the path's arrays, and the clock is kept as a plain count of nanoseconds.
+     *
+     * With adaptive steps the slices are no longer evenly spaced, which BallPath is fine with.
+     */
+    private void simulateBall(BallPath ballPath, GameTime endTime) {
         SpaceTimeVelocity start = ballPath.getEndpoint();
-        LocalDateTime simulationTime = LocalDateTime.from(start.getTime());
-        if (simulationTime.isAfter(endTime)) {
+        long simulationNanos = start.getTime().toNanos();
+        long endNanos = endTime.toNanos();
+        if (simulationNanos > endNanos) {
             return;
         }
 
+        long timerStart = System.nanoTime();
         ball.clearForces();
-        ball.setLinearVelocity(toV3f(start.getVelocity()));
-        Transform ballTransform = new Transform();
+        ball.setLinearVelocity(toV3f(start.getVelocity(), ballVector));
+        ball.setAngularVelocity(toV3f(start.getSpin(), ballSpin));
         ballTransform.setIdentity();
-        ballTransform.origin.set(toV3f(start.getSpace()));
+        toV3f(start.getSpace(), ballTransform.origin);
         ball.setWorldTransform(ballTransform);
 
 
+        // High res only for the first second of the whole path, so extending a path doesn't pay for it again.
+        long highResEndNanos = ballPath.getStartPoint().getTime().toNanos() + HIGH_RES_NANOS;
+
+        Vector3 startSpace = start.getSpace();
+        Vector3 startVelocity = start.getVelocity();
+        boolean highRes = isHighRes(simulationNanos, highResEndNanos,
+                startSpace.x, startSpace.y, startSpace.z, startVelocity.x, startVelocity.y, startVelocity.z);
+
         // Do some simulation
-        while (simulationTime.isBefore(endTime)) {
+        while (simulationNanos < endNanos) {
             float stepsPerSecond = STEPS_PER_SECOND;
-            if (simulationTime.isBefore(start.getTime().plusSeconds(1))) {
+            long stepNanos = STEP_NANOS;
+            if (highRes) {
                 stepsPerSecond = STEPS_PER_SECOND_HIGH_RES;
+                stepNanos = STEP_NANOS_HIGH_RES;
             }
 
             world.stepSimulation(1.0f / stepsPerSecond, 2, 0.5f / stepsPerSecond);
-            simulationTime = simulationTime.plus(TimeUtil.toDuration(1 / stepsPerSecond));
-            Vector3 ballVelocity = getBallVelocity();
-            ballPath.addSlice(new SpaceTimeVelocity(getBallPosition(), simulationTime, ballVelocity));
-            double speed = ballVelocity.magnitude();
+            simulationNanos += stepNanos;
+
+            ball.getWorldTransform(ballTransform);
+            ball.getLinearVelocity(ballVector);
+            readSpin();
+            Vector3f position = ballTransform.origin;
+            ballPath.addSlice(position.x, position.y, position.z, ballVector.x, ballVector.y, ballVector.z,
+                    ballSpin.x, ballSpin.y, ballSpin.z, GameTime.ofNanos(simulationNanos));
+
+            highRes = isHighRes(simulationNanos, highResEndNanos,
+                    position.x, position.y, position.z, ballVector.x, ballVector.y, ballVector.z);
+
+            double speed = Math.sqrt((double) ballVector.x * ballVector.x + (double) ballVector.y * ballVector.y + (double) ballVector.z * ballVector.z);
             if (speed < 10) {
                 ball.setFriction(0);
                 ball.setDamping(0, BALL_ANGULAR_DAMPING);
@@ -256,20 +376,27 @@ public class ArenaModel {
                 ball.setDamping(BALL_DRAG, BALL_ANGULAR_DAMPING);
             }
         }
+        Instrumentation.record(Instrumentation.SIMULATE_BALL, timerStart);
     }
 
-    private Vector3 getBallVelocity() {
-        Vector3f ballVel = new Vector3f();
-        ball.getLinearVelocity(ballVel);
-        return toV3(ballVel);
-    }
-
-    private static Vector3f toV3f(Vector3 v) {
-        return new Vector3f((float) v.x, (float) v.y, (float) v.z);
+    /**
+     * Reads the ball's spin into ballSpin, holding it to the most the game allows.
+     */
+    private void readSpin() {
+        ball.getAngularVelocity(ballSpin);
+        float spinSquared = ballSpin.lengthSquared();
+        if (spinSquared > MAX_BALL_SPIN * MAX_BALL_SPIN) {
+            ballSpin.scale(MAX_BALL_SPIN / (float) Math.sqrt(spinSquared));
+            ball.setAngularVelocity(ballSpin);
+        }
     }
 
-    private static Vector3 toV3(Vector3f v) {
-        return new Vector3(v.x, v.y, v.z);
+    /**
+     * Writes the vector into the given jbullet vector and returns it.
+     */
+    private static Vector3f toV3f(Vector3 v, Vector3f into) {
+        into.set((float) v.x, (float) v.y, (float) v.z);
+        return into;
     }
 
     private DynamicsWorld initPhysics() {
@@ -304,7 +431,7 @@ public class ArenaModel {
     }
 
     private RigidBody initBallPhysics() {
-        SphereShape collisionShape = new SphereShape(BALL_RADIUS);
+        SphereShape collisionShape = BALL_SHAPE;
 
         // Create Dynamic Objects
         Transform startTransform = new Transform();
@@ -328,14 +455,57 @@ public class ArenaModel {
         return body;
     }
 
+    private boolean isHighRes(long simulationNanos, long highResEndNanos, double x, double y, double z, double vx, double vy, double vz) {
+        if (stepping == Stepping.FIXED) {
+            return simulationNanos < highResEndNanos;
+        }
+        return getSecondsUntilContact(x, y, z, vx, vy, vz) < CONTACT_LOOKAHEAD_SECONDS;
+    }
+
+    /**
+     * A rough, cautious guess at how long until the ball could touch the floor, the ceiling or a wall. Sideways it
+     * assumes the ball heads straight for the nearest wall at full horizontal speed; up and down it follows gravity.
+     * A ball rolling along the floor doesn't count as touching it.
+     */
+    static double getSecondsUntilContact(double x, double y, double z, double vx, double vy, double vz) {
+
+        double wallGap = getDistanceFromWall(x, y) - BALL_RADIUS;
+        double horizontalSpeed = Math.sqrt(vx * vx + vy * vy);
+        double seconds = wallGap <= 0 ? 0 : wallGap / horizontalSpeed;
+
+        double floorGap = z - BALL_RADIUS;
+        boolean rolling = floorGap < ROLLING_GAP && Math.abs(vz) < ROLLING_VERTICAL_SPEED;
+        if (!rolling) {
+            // Solve floorGap + vz * t - g * t^2 / 2 = 0 for the positive root.
+            double floorSeconds = floorGap <= 0 ? 0 : (vz + Math.sqrt(vz * vz + 2 * GRAVITY * floorGap)) / GRAVITY;
+            seconds = Math.min(seconds, floorSeconds);
+        }
+
+        double ceilingGap = CEILING - BALL_RADIUS - z;
+        if (ceilingGap <= 0) {
+            return 0;
+        }
+        double discriminant = vz * vz - 2 * GRAVITY * ceilingGap;
+        if (vz > 0 && discriminant >= 0) {
+            // Fast enough upward to make it to the ceiling before gravity turns it around.
+            seconds = Math.min(seconds, (vz - Math.sqrt(discriminant)) / GRAVITY);
+        }
+
+        return seconds;
+    }
+
     public static boolean isCarNearWall(CarData car) {
         return getDistanceFromWall(car.position) < 2;
     }
 
     public static double getDistanceFromWall(Vector3 position) {
-        double sideWall = SIDE_WALL - Math.abs(position.x);
-        double backWall = BACK_WALL - Math.abs(position.y);
-        double diagonal = CORNER_ANGLE_CENTER.x + CORNER_ANGLE_CENTER.y - Math.abs(position.x) - Math.abs(position.y);
+        return getDistanceFromWall(position.x, position.y);
+    }
+
+    public static double getDistanceFromWall(double x, double y) {
+        double sideWall = SIDE_WALL - Math.abs(x);
+        double backWall = BACK_WALL - Math.abs(y);
+        double diagonal = CORNER_ANGLE_CENTER.x + CORNER_ANGLE_CENTER.y - Math.abs(x) - Math.abs(y);
         return Math.min(Math.min(sideWall, backWall), diagonal);
     }
 
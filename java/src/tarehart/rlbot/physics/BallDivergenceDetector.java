@@ -0,0 +1,89 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Watches the real ball and compares it to what we predicted for the same moment. When they disagree,
+ * anything holding on to a prediction gets told so it can throw it away.
+ */
+public class BallDivergenceDetector {
+
+    private static final double POSITION_TOLERANCE = .5;
+    private static final double VELOCITY_TOLERANCE = 2;
+    private static final double SPIN_TOLERANCE = 1.5;
+
+    private static final double METRIC_WINDOW_SECONDS = 60;
+
+    private final int playerIndex;
+    private final List<DivergenceListener> listeners = new ArrayList<>();
+    private final Deque<GameTime> recentDivergences = new ArrayDeque<>();
+
+    public BallDivergenceDetector(int playerIndex) {
+        this.playerIndex = playerIndex;
+    }
+
+    public void addListener(DivergenceListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Listeners are only notified for a real divergence, not when the prediction simply doesn't cover this moment.
+     *
+     * @return true if the prediction can no longer be trusted.
+     */
+    public boolean hasDiverged(BallPath prediction, SpaceTimeVelocity ballNow) {
+
+        Optional<SpaceTimeVelocity> predicted = prediction.getMotionAt(ballNow.getTime());
+        if (!predicted.isPresent()) {
+            return true;
+        }
+
+        double positionError = predicted.get().getSpace().distance(ballNow.getSpace());
+        double velocityError = predicted.get().getVelocity().distance(ballNow.getVelocity());
+        double spinError = predicted.get().getSpin().distance(ballNow.getSpin());
+
+        if (isWithinTolerance(positionError, velocityError, spinError)) {
+            return false;
+        }
+
+        recentDivergences.addLast(ballNow.getTime());
+        DivergenceEvent event = new DivergenceEvent(playerIndex, ballNow.getTime(), positionError, velocityError, spinError);
+        for (DivergenceListener listener : listeners) {
+            listener.ballDiverged(event);
+        }
+        return true;
+    }
+
+    /**
+     * The same test as hasDiverged, for anything that keeps its own prediction around and just wants to know whether
+     * it still holds. Nobody gets notified.
+     */
+    public static boolean stillAgrees(BallPath prediction, SpaceTimeVelocity ballNow) {
+        Optional<SpaceTimeVelocity> predicted = prediction.getMotionAt(ballNow.getTime());
+        return predicted.isPresent() && isWithinTolerance(
+                predicted.get().getSpace().distance(ballNow.getSpace()),
+                predicted.get().getVelocity().distance(ballNow.getVelocity()),
+                predicted.get().getSpin().distance(ballNow.getSpin()));
+    }
+
+    private static boolean isWithinTolerance(double positionError, double velocityError, double spinError) {
+        return positionError < POSITION_TOLERANCE && velocityError < VELOCITY_TOLERANCE && spinError < SPIN_TOLERANCE;
+    }
+
+    /**
+     * How many times the ball diverged during the last minute of game time.
+     */
+    public int getDivergencesPerMinute(GameTime now) {
+        while (!recentDivergences.isEmpty() && now.secondsSince(recentDivergences.peekFirst()) > METRIC_WINDOW_SECONDS) {
+            recentDivergences.removeFirst();
+        }
+        return recentDivergences.size();
+    }
+}
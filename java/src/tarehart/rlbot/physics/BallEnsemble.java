@@ -0,0 +1,134 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Several predictions of the same ball, each started from a slightly different guess at how it's moving.
+ * Where they agree, the prediction can be trusted; where they fan out, it can't.
+ *
+ * The first member is always the unperturbed prediction.
+ */
+public class BallEnsemble {
+
+    public static final double SPREAD_STEP_SECONDS = .1;
+
+    private final List<BallPath> members;
+    private final List<PositionSpread> spreads;
+
+    public BallEnsemble(List<BallPath> members) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("An ensemble needs at least one member.");
+        }
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+        this.spreads = Collections.unmodifiableList(measureSpreads(members));
+    }
+
+    public List<BallPath> getMembers() {
+        return members;
+    }
+
+    public int getMemberCount() {
+        return members.size();
+    }
+
+    public BallPath getNominalPath() {
+        return members.get(0);
+    }
+
+    /**
+     * One spread every SPREAD_STEP_SECONDS, from the start of the ensemble until the first member runs out.
+     */
+    public List<PositionSpread> getSpreads() {
+        return spreads;
+    }
+
+    /**
+     * @return the spread at the last step at or before the given time, or empty if the time isn't covered.
+     */
+    public Optional<PositionSpread> getSpreadAt(GameTime time) {
+        double seconds = time.secondsSince(spreads.get(0).time);
+        if (seconds < 0) {
+            return Optional.empty();
+        }
+        int index = (int) (seconds / SPREAD_STEP_SECONDS + 1e-9);
+        if (index >= spreads.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(spreads.get(index));
+    }
+
+    /**
+     * The fraction of members for which the test finds something. Useful for questions like how likely a goal is.
+     */
+    public double getProbability(Predicate<BallPath> test) {
+        int count = 0;
+        for (BallPath member : members) {
+            if (test.test(member)) {
+                count++;
+            }
+        }
+        return count / (double) members.size();
+    }
+
+    private static List<PositionSpread> measureSpreads(List<BallPath> members) {
+        GameTime start = members.get(0).getStartPoint().getTime();
+        GameTime end = members.get(0).getEndpoint().getTime();
+        for (BallPath member : members) {
+            if (member.getEndpoint().getTime().isBefore(end)) {
+                end = member.getEndpoint().getTime();
+            }
+        }
+
+        int count = members.size();
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double[] z = new double[count];
+
+        List<PositionSpread> spreads = new ArrayList<>();
+        double duration = end.secondsSince(start);
+        for (int step = 0; step * SPREAD_STEP_SECONDS <= duration + 1e-9; step++) {
+            GameTime time = start.plusSeconds(Math.min(step * SPREAD_STEP_SECONDS, duration));
+
+            double meanX = 0;
+            double meanY = 0;
+            double meanZ = 0;
+            for (int i = 0; i < count; i++) {
+                Vector3 space = members.get(i).getMotionAt(time).map(SpaceTimeVelocity::getSpace).orElse(members.get(i).getEndpoint().getSpace());
+                x[i] = space.x;
+                y[i] = space.y;
+                z[i] = space.z;
+                meanX += space.x;
+                meanY += space.y;
+                meanZ += space.z;
+            }
+            meanX /= count;
+            meanY /= count;
+            meanZ /= count;
+
+            double xx = 0, xy = 0, xz = 0, yy = 0, yz = 0, zz = 0;
+            for (int i = 0; i < count; i++) {
+                double dx = x[i] - meanX;
+                double dy = y[i] - meanY;
+                double dz = z[i] - meanZ;
+                xx += dx * dx;
+                xy += dx * dy;
+                xz += dx * dz;
+                yy += dy * dy;
+                yz += dy * dz;
+                zz += dz * dz;
+            }
+
+            spreads.add(new PositionSpread(time, new Vector3(meanX, meanY, meanZ),
+                    xx / count, xy / count, xz / count, yy / count, yz / count, zz / count));
+        }
+        return spreads;
+    }
+}
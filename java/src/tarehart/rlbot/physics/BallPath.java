@@ -1,57 +1,285 @@
 package tarehart.rlbot.physics;
 
+import com.google.gson.annotations.JsonAdapter;
+import tarehart.rlbot.math.vector.MutableVector3;
 import tarehart.rlbot.math.vector.Vector2;
 import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.math.*;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.function.Predicate;
 
+/**
+ * Slices are kept in parallel primitive arrays rather than as SpaceTimeVelocity objects, because paths get long
+ * and are searched many times per frame. Times are stored as seconds since the first slice.
+ *
+ * Spin rides along with every slice. Paths that were made without it, like old recordings, just have zero spin.
+ */
+@JsonAdapter(BallPathJsonAdapter.class)
 public class BallPath {
 
-    ArrayList<SpaceTimeVelocity> path = new ArrayList<>();
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Steps closer together than this are considered equal when building the uniform step index.
+    private static final double STEP_TOLERANCE = 1e-6;
+
+    private final GameTime startTime;
+    private int size;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private double[] vx;
+    private double[] vy;
+    private double[] vz;
+    private double[] sx;
+    private double[] sy;
+    private double[] sz;
+    private double[] t;
+
+    // Runs of evenly spaced slices, e.g. the high res first second of a simulation and the coarser remainder.
+    // Run r starts at slice index runStart[r] and every step until the next run is runStep[r] seconds long.
+    private int runCount;
+    private int[] runStart = new int[4];
+    private double[] runStep = new double[4];
 
     public BallPath(SpaceTimeVelocity start) {
-        path.add(start);
+        this(start, INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedSlices how many slices the path will probably end up with, counting the start. The path
+     *                       can still grow past this; it just won't have to copy its arrays on the way there.
+     */
+    public BallPath(SpaceTimeVelocity start, int expectedSlices) {
+        int capacity = Math.max(1, expectedSlices);
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        vz = new double[capacity];
+        sx = new double[capacity];
+        sy = new double[capacity];
+        sz = new double[capacity];
+        t = new double[capacity];
+        startTime = start.getTime();
+        addSlice(start);
     }
 
     public void addSlice(SpaceTimeVelocity spaceTime) {
-        path.add(spaceTime);
+        Vector3 space = spaceTime.getSpace();
+        Vector3 velocity = spaceTime.getVelocity();
+        Vector3 spin = spaceTime.getSpin();
+        addSlice(space.x, space.y, space.z, velocity.x, velocity.y, velocity.z, spin.x, spin.y, spin.z, spaceTime.getTime());
+    }
+
+    /**
+     * Adds a slice with no spin.
+     */
+    public void addSlice(double x, double y, double z, double vx, double vy, double vz, GameTime time) {
+        addSliceAtOffset(x, y, z, vx, vy, vz, 0, 0, 0, toOffset(time));
+    }
+
+    public void addSlice(double x, double y, double z, double vx, double vy, double vz, double sx, double sy, double sz, GameTime time) {
+        addSliceAtOffset(x, y, z, vx, vy, vz, sx, sy, sz, toOffset(time));
     }
 
+    private void addSliceAtOffset(double x, double y, double z, double vx, double vy, double vz, double sx, double sy, double sz, double seconds) {
+        if (size == t.length) {
+            grow();
+        }
+
+        this.x[size] = x;
+        this.y[size] = y;
+        this.z[size] = z;
+        this.vx[size] = vx;
+        this.vy[size] = vy;
+        this.vz[size] = vz;
+        this.sx[size] = sx;
+        this.sy[size] = sy;
+        this.sz[size] = sz;
+        this.t[size] = seconds;
+
+        if (size > 0) {
+            double step = seconds - t[size - 1];
+            if (runCount == 0 || Math.abs(step - runStep[runCount - 1]) > STEP_TOLERANCE) {
+                if (runCount == runStart.length) {
+                    runStart = Arrays.copyOf(runStart, runCount * 2);
+                    runStep = Arrays.copyOf(runStep, runCount * 2);
+                }
+                runStart[runCount] = size - 1;
+                runStep[runCount] = step;
+                runCount++;
+            }
+        }
+
+        size++;
+    }
+
+    private void grow() {
+        int capacity = t.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        vz = Arrays.copyOf(vz, capacity);
+        sx = Arrays.copyOf(sx, capacity);
+        sy = Arrays.copyOf(sy, capacity);
+        sz = Arrays.copyOf(sz, capacity);
+        t = Arrays.copyOf(t, capacity);
+    }
+
+    /**
+     * @return a new path which begins with the given slice and then follows whatever this path predicted
+     * after that moment. Useful when the ball is still on the path we already simulated.
+     */
+    public BallPath startingFrom(SpaceTimeVelocity start) {
+        BallPath trimmed = new BallPath(start);
+        double shift = toOffset(start.getTime());
+        for (int i = indexAtOrAfter(start.getTime()); i < size; i++) {
+            if (t[i] > shift) {
+                trimmed.addSliceAtOffset(x[i], y[i], z[i], vx[i], vy[i], vz[i], sx[i], sy[i], sz[i], t[i] - shift);
+            }
+        }
+        return trimmed;
+    }
+
+    /**
+     * @return a copy of this path that ends at the first slice at or after the given time. The copy is never added
+     * to, so it's safe to hand to other threads while this path keeps growing.
+     */
+    public BallPath copyUntil(GameTime endTime) {
+        int last = Math.min(indexAtOrAfter(endTime), size - 1);
+        BallPath copy = new BallPath(getSlice(0), last + 1);
+        for (int i = 1; i <= last; i++) {
+            copy.addSliceAtOffset(x[i], y[i], z[i], vx[i], vy[i], vz[i], sx[i], sy[i], sz[i], t[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * A read-only view of the path. Each slice is built on demand, so prefer the search methods when possible.
+     */
     public List<SpaceTimeVelocity> getSlices() {
-        return path;
+        return new SliceList();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public GameTime getStartTime() {
+        return startTime;
     }
 
-    public Optional<SpaceTimeVelocity> getMotionAt(LocalDateTime time) {
-        if (time.isBefore(path.get(0).getTime()) || time.isAfter(path.get(path.size() - 1).getTime())) {
+    /**
+     * Copies the position of slice i into the given vector and returns it. Like the other index getters, this
+     * doesn't make any objects, so searches that probe slice after slice can use it instead of getSlices.
+     */
+    public MutableVector3 getPosition(int i, MutableVector3 into) {
+        checkIndex(i);
+        return into.set(x[i], y[i], z[i]);
+    }
+
+    public MutableVector3 getVelocity(int i, MutableVector3 into) {
+        checkIndex(i);
+        return into.set(vx[i], vy[i], vz[i]);
+    }
+
+    /**
+     * @return how many seconds slice i comes after the start of the path.
+     */
+    public double getSecondsAfterStart(int i) {
+        checkIndex(i);
+        return t[i];
+    }
+
+    public GameTime getTime(int i) {
+        checkIndex(i);
+        return startTime.plusSeconds(t[i]);
+    }
+
+    public Optional<SpaceTimeVelocity> getMotionAt(GameTime time) {
+        double seconds = toOffset(time);
+        if (seconds < 0 || seconds > t[size - 1]) {
             return Optional.empty();
         }
 
-        for (int i = 0; i < path.size() - 1; i++) {
-            SpaceTimeVelocity current = path.get(i);
-            SpaceTimeVelocity next = path.get(i + 1);
-            if (next.getTime().isAfter(time)) {
+        int i = indexAtOrBefore(seconds);
+        if (i == size - 1) {
+            return Optional.of(getEndpoint());
+        }
+
+        int next = i + 1;
+        double tweenPoint = (seconds - t[i]) / (t[next] - t[i]);
+        Vector3 space = new Vector3(
+                x[i] + (x[next] - x[i]) * tweenPoint,
+                y[i] + (y[next] - y[i]) * tweenPoint,
+                z[i] + (z[next] - z[i]) * tweenPoint);
+        Vector3 velocity = new Vector3(
+                vx[i] + (vx[next] - vx[i]) * tweenPoint,
+                vy[i] + (vy[next] - vy[i]) * tweenPoint,
+                vz[i] + (vz[next] - vz[i]) * tweenPoint);
+        Vector3 spin = new Vector3(
+                sx[i] + (sx[next] - sx[i]) * tweenPoint,
+                sy[i] + (sy[next] - sy[i]) * tweenPoint,
+                sz[i] + (sz[next] - sz[i]) * tweenPoint);
+        return Optional.of(new SpaceTimeVelocity(space, time, velocity, spin));
+    }
+
+    /**
+     * @return the index of the last slice at or before the given offset, which must not be before the start.
+     */
+    private int indexAtOrBefore(double seconds) {
+        if (runCount == 0) {
+            return 0;
+        }
 
-                long simulationStepMillis = Duration.between(current.getTime(), next.getTime()).toMillis();
-                double tweenPoint = Duration.between(current.getTime(), time).toMillis() * 1.0 / simulationStepMillis;
-                Vector3 toNext = next.getSpace().minus(current.getSpace());
-                Vector3 toTween = toNext.scaled(tweenPoint);
-                Vector3 space = current.getSpace().plus(toTween);
-                Vector3 velocity = averageVectors(current.getVelocity(), next.getVelocity(), 1 - tweenPoint);
-                return Optional.of(new SpaceTimeVelocity(new SpaceTime(space, time), velocity));
+        // Find the run containing this time, then jump straight to the slice within it.
+        int low = 0;
+        int high = runCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (t[runStart[mid]] <= seconds) {
+                low = mid;
+            } else {
+                high = mid - 1;
             }
         }
 
-        return Optional.of(getEndpoint());
+        int first = runStart[low];
+        int last = low + 1 < runCount ? runStart[low + 1] : size - 1;
+        int i = first + (int) ((seconds - t[first]) / runStep[low]);
+        i = Math.max(first, Math.min(last, i));
+
+        // Guard against rounding in the division.
+        while (i < size - 1 && t[i + 1] <= seconds) {
+            i++;
+        }
+        while (i > 0 && t[i] > seconds) {
+            i--;
+        }
+        return i;
     }
 
-    private Vector3 averageVectors(Vector3 a, Vector3 b, double weightOfA) {
-        return a.scaled(weightOfA).plus(b.scaled(1 - weightOfA));
+    /**
+     * @return the index of the first slice at or after the given time, which may be size if there is none.
+     */
+    private int indexAtOrAfter(GameTime time) {
+        double seconds = toOffset(time);
+        if (seconds <= 0) {
+            return 0;
+        }
+        if (seconds > t[size - 1]) {
+            return size;
+        }
+        int i = indexAtOrBefore(seconds);
+        return t[i] < seconds ? i + 1 : i;
     }
 
     /**
@@ -63,77 +291,70 @@ public class BallPath {
 
         assert targetBounce > 0;
 
-        Vector3 previousVelocity = null;
         int numBounces = 0;
 
-        for (int i = 1; i < path.size(); i++) {
-            SpaceTimeVelocity spt = path.get(i);
-            SpaceTimeVelocity previous = path.get(i - 1);
-
-            if (isWallBounce(previous.getVelocity(), spt.getVelocity())) {
+        for (int i = 1; i < size; i++) {
+            if (isWallBounce(i - 1, i)) {
                 numBounces++;
             }
 
             if (numBounces == targetBounce) {
-                if (path.size() == i + 1) {
+                if (size == i + 1) {
                     return Optional.empty();
                 }
-                return Optional.of(spt.copy());
+                return Optional.of(getSlice(i));
             }
         }
 
         return Optional.empty();
     }
 
-    private boolean isWallBounce(Vector3 previousVelocity, Vector3 currentVelocity) {
-        if (currentVelocity.magnitudeSquared() < .01) {
+    private boolean isWallBounce(int previous, int current) {
+        if (vx[current] * vx[current] + vy[current] * vy[current] + vz[current] * vz[current] < .01) {
             return false;
         }
-        Vector2 prev = previousVelocity.flatten();
-        Vector2 curr = currentVelocity.flatten();
+        Vector2 prev = new Vector2(vx[previous], vy[previous]);
+        Vector2 curr = new Vector2(vx[current], vy[current]);
 
         return Vector2.angle(prev, curr) > Math.PI / 6;
     }
 
-    private boolean isFloorBounce(Vector3 previousVelocity, Vector3 currentVelocity) {
-        return previousVelocity.z < 0 && currentVelocity.z > 0;
+    private boolean isFloorBounce(int previous, int current) {
+        return vz[previous] < 0 && vz[current] > 0;
     }
 
     public SpaceTimeVelocity getStartPoint() {
-        return path.get(0).copy();
+        return getSlice(0);
     }
 
     public SpaceTimeVelocity getEndpoint() {
-        return path.get(path.size() - 1).copy();
+        return getSlice(size - 1);
     }
 
-    public Optional<SpaceTimeVelocity> getLanding(LocalDateTime startOfSearch) {
-
-        for (int i = 1; i < path.size(); i++) {
-            SpaceTimeVelocity spt = path.get(i);
-
-            if (spt.getTime().isBefore(startOfSearch)) {
-                continue;
-            }
+    public Optional<SpaceTimeVelocity> getLanding(GameTime startOfSearch) {
 
-            SpaceTimeVelocity previous = path.get(i - 1);
+        for (int i = Math.max(1, indexAtOrAfter(startOfSearch)); i < size; i++) {
 
+            int previous = i - 1;
 
-            if (isFloorBounce(previous.getVelocity(), spt.getVelocity())) {
-                if (path.size() == i + 1) {
+            if (isFloorBounce(previous, i)) {
+                if (size == i + 1) {
                     return Optional.empty();
                 }
 
-                double floorGapOfPrev = previous.getSpace().z - ArenaModel.BALL_RADIUS;
-                double floorGapOfCurrent = spt.getSpace().z - ArenaModel.BALL_RADIUS;
+                double floorGapOfPrev = z[previous] - ArenaModel.BALL_RADIUS;
+                double floorGapOfCurrent = z[i] - ArenaModel.BALL_RADIUS;
 
-                SpaceTimeVelocity bouncePosition = new SpaceTimeVelocity(new Vector3(spt.getSpace().x, spt.getSpace().y, ArenaModel.BALL_RADIUS), spt.getTime(), spt.getVelocity());
+                Vector3 velocity = new Vector3(vx[i], vy[i], vz[i]);
+                Vector3 spin = new Vector3(sx[i], sy[i], sz[i]);
+                SpaceTimeVelocity bouncePosition = new SpaceTimeVelocity(new Vector3(x[i], y[i], ArenaModel.BALL_RADIUS), getTime(i), velocity, spin);
                 if (floorGapOfPrev < floorGapOfCurrent) {
                     // TODO: consider interpolating instead of just picking the more accurate.
                     bouncePosition = new SpaceTimeVelocity(
-                            new Vector3(previous.getSpace().x, previous.getSpace().y, ArenaModel.BALL_RADIUS),
-                            previous.getTime(),
-                            spt.getVelocity());
+                            new Vector3(x[previous], y[previous], ArenaModel.BALL_RADIUS),
+                            getTime(previous),
+                            velocity,
+                            spin);
                 }
 
                 return Optional.of(bouncePosition);
@@ -143,61 +364,91 @@ public class BallPath {
         return Optional.empty();
     }
 
-    public Optional<SpaceTimeVelocity> getPlaneBreak(LocalDateTime searchStart, Plane plane, boolean directionSensitive) {
-        for (int i = 1; i < path.size(); i++) {
-            SpaceTimeVelocity spt = path.get(i);
-
-            if (spt.getTime().isBefore(searchStart)) {
-                continue;
-            }
+    public Optional<SpaceTimeVelocity> getPlaneBreak(GameTime searchStart, Plane plane, boolean directionSensitive) {
+        Vector3 normal = plane.normal;
+        for (int i = Math.max(1, indexAtOrAfter(searchStart)); i < size; i++) {
 
-            SpaceTimeVelocity previous = path.get(i - 1);
+            int previous = i - 1;
+            double dx = x[i] - x[previous];
+            double dy = y[i] - y[previous];
+            double dz = z[i] - z[previous];
 
-            if (directionSensitive && spt.getSpace().minus(previous.getSpace()).dotProduct(plane.normal) > 0) {
+            if (directionSensitive && dx * normal.x + dy * normal.y + dz * normal.z > 0) {
                 // Moving the same direction as the plane normal. If we're direction sensitive, then we don't care about plane breaks in this direction.
                 continue;
             }
 
-            Optional<Vector3> planeBreak = getPlaneBreak(previous.getSpace(), spt.getSpace(), plane);
+            Vector3 previousSpace = new Vector3(x[previous], y[previous], z[previous]);
+            Optional<Vector3> planeBreak = VectorUtil.getPlaneIntersection(plane, previousSpace, new Vector3(dx, dy, dz));
 
             if (planeBreak.isPresent()) {
 
                 Vector3 breakPosition = planeBreak.get();
 
-                double stepSeconds = TimeUtil.secondsBetween(previous.getTime(), spt.getTime());
-                double tweenPoint = previous.getSpace().distance(breakPosition) / previous.getSpace().distance(spt.getSpace());
-                LocalDateTime moment = previous.getTime().plus(TimeUtil.toDuration(stepSeconds * tweenPoint));
-                Vector3 velocity = averageVectors(previous.getVelocity(), spt.getVelocity(), 1 - tweenPoint);
-                return Optional.of(new SpaceTimeVelocity(breakPosition, moment, velocity));
+                double stepSeconds = t[i] - t[previous];
+                double tweenPoint = previousSpace.distance(breakPosition) / Math.sqrt(dx * dx + dy * dy + dz * dz);
+                GameTime moment = getTime(previous).plusSeconds(stepSeconds * tweenPoint);
+                Vector3 velocity = new Vector3(
+                        vx[previous] + (vx[i] - vx[previous]) * tweenPoint,
+                        vy[previous] + (vy[i] - vy[previous]) * tweenPoint,
+                        vz[previous] + (vz[i] - vz[previous]) * tweenPoint);
+                Vector3 spin = new Vector3(
+                        sx[previous] + (sx[i] - sx[previous]) * tweenPoint,
+                        sy[previous] + (sy[i] - sy[previous]) * tweenPoint,
+                        sz[previous] + (sz[i] - sz[previous]) * tweenPoint);
+                return Optional.of(new SpaceTimeVelocity(breakPosition, moment, velocity, spin));
             }
         }
 
         return Optional.empty();
     }
 
-    private Optional<Vector3> getPlaneBreak(Vector3 start, Vector3 end, Plane plane) {
-        return VectorUtil.getPlaneIntersection(plane, start, end.minus(start));
-    }
-
     public Optional<SpaceTimeVelocity> findSlice(Predicate<SpaceTimeVelocity> decider) {
-        for (int i = 1; i < path.size(); i++) {
-            if (decider.test(path.get(i))) {
-                return Optional.of(path.get(i));
+        for (int i = 1; i < size; i++) {
+            SpaceTimeVelocity slice = getSlice(i);
+            if (decider.test(slice)) {
+                return Optional.of(slice);
             }
         }
         return Optional.empty();
     }
 
-    public Optional<SpaceTimeVelocity> findSlice(Predicate<SpaceTimeVelocity> decider, LocalDateTime timeLimit) {
-        for (int i = 1; i < path.size(); i++) {
-            SpaceTimeVelocity slice = path.get(i);
-            if (slice.getTime().isAfter(timeLimit)) {
-                return Optional.empty();
-            }
+    public Optional<SpaceTimeVelocity> findSlice(Predicate<SpaceTimeVelocity> decider, GameTime timeLimit) {
+        double limit = toOffset(timeLimit);
+        for (int i = 1; i < size && t[i] <= limit; i++) {
+            SpaceTimeVelocity slice = getSlice(i);
             if (decider.test(slice)) {
                 return Optional.of(slice);
             }
         }
         return Optional.empty();
     }
+
+    private SpaceTimeVelocity getSlice(int i) {
+        return new SpaceTimeVelocity(new Vector3(x[i], y[i], z[i]), getTime(i), new Vector3(vx[i], vy[i], vz[i]), new Vector3(sx[i], sy[i], sz[i]));
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+    }
+
+    private double toOffset(GameTime time) {
+        return time.secondsSince(startTime);
+    }
+
+    private class SliceList extends AbstractList<SpaceTimeVelocity> implements RandomAccess {
+
+        @Override
+        public SpaceTimeVelocity get(int index) {
+            checkIndex(index);
+            return getSlice(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+
+import java.time.Duration;
+
+/**
+ * Holds on to the most recent ball prediction so that the next tick can pick up where it left off.
+ * If the ball is still where we said it would be, nobody touched it and the old path is still good,
+ * so we only need to simulate the part that extends past its end.
+ */
+public class BallPathCache {
+
+    private final BallSimulator simulator;
+    private final BallDivergenceDetector divergenceDetector;
+    private BallPath previousPath;
+
+    private long reuseCount;
+    private long rebuildCount;
+
+    public BallPathCache(BallSimulator simulator, BallDivergenceDetector divergenceDetector) {
+        this.simulator = simulator;
+        this.divergenceDetector = divergenceDetector;
+    }
+
+    public BallPath predict(SpaceTimeVelocity ballNow, Duration duration) {
+        GameTime endTime = ballNow.getTime().plus(duration);
+
+        BallPath ballPath;
+        if (previousPath != null && !divergenceDetector.hasDiverged(previousPath, ballNow)) {
+            ballPath = previousPath.startingFrom(ballNow);
+            if (ballPath.getEndpoint().getTime().isBefore(endTime)) {
+                simulator.extendSimulation(ballPath, endTime);
+            }
+            reuseCount++;
+        } else {
+            ballPath = simulator.simulateBall(ballNow, endTime);
+            rebuildCount++;
+        }
+
+        previousPath = ballPath;
+        return ballPath;
+    }
+
+    public void invalidate() {
+        previousPath = null;
+    }
+
+    public long getReuseCount() {
+        return reuseCount;
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+}
@@ -0,0 +1,66 @@
+package tarehart.rlbot.physics;
+
+import com.google.gson.*;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.TimeUtil;
+import tarehart.rlbot.math.vector.Vector3;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the json form of a BallPath as a list of slices, which is how the ball recordings are stored,
+ * regardless of how BallPath happens to hold them in memory. Times are written as LocalDateTime
+ * so that older recordings still load. Recordings from before spin was tracked have no spin key,
+ * and those slices are read with zero spin.
+ */
+class BallPathJsonAdapter implements JsonSerializer<BallPath>, JsonDeserializer<BallPath> {
+
+    private static final String PATH = "path";
+    private static final String SPACE = "space";
+    private static final String TIME = "time";
+    private static final String VELOCITY = "velocity";
+    private static final String SPIN = "spin";
+
+    @Override
+    public JsonElement serialize(BallPath ballPath, Type type, JsonSerializationContext context) {
+        JsonArray slices = new JsonArray();
+        for (SpaceTimeVelocity slice : ballPath.getSlices()) {
+            JsonObject json = new JsonObject();
+            json.add(SPACE, context.serialize(slice.getSpace()));
+            json.add(TIME, context.serialize(TimeUtil.toLocalDateTime(slice.getTime())));
+            json.add(VELOCITY, context.serialize(slice.getVelocity()));
+            json.add(SPIN, context.serialize(slice.getSpin()));
+            slices.add(json);
+        }
+        JsonObject json = new JsonObject();
+        json.add(PATH, slices);
+        return json;
+    }
+
+    @Override
+    public BallPath deserialize(JsonElement json, Type type, JsonDeserializationContext context) throws JsonParseException {
+        JsonArray slices = json.getAsJsonObject().getAsJsonArray(PATH);
+        if (slices == null || slices.size() == 0) {
+            throw new JsonParseException("A ball path needs at least one slice.");
+        }
+
+        BallPath ballPath = new BallPath(readSlice(slices.get(0), context));
+        for (int i = 1; i < slices.size(); i++) {
+            ballPath.addSlice(readSlice(slices.get(i), context));
+        }
+        return ballPath;
+    }
+
+    private SpaceTimeVelocity readSlice(JsonElement element, JsonDeserializationContext context) {
+        JsonObject json = element.getAsJsonObject();
+        Vector3 space = context.deserialize(json.get(SPACE), Vector3.class);
+        LocalDateTime time = context.deserialize(json.get(TIME), LocalDateTime.class);
+        Vector3 velocity = context.deserialize(json.get(VELOCITY), Vector3.class);
+        if (!json.has(SPIN)) {
+            return new SpaceTimeVelocity(space, TimeUtil.toGameTime(time), velocity);
+        }
+        Vector3 spin = context.deserialize(json.get(SPIN), Vector3.class);
+        return new SpaceTimeVelocity(space, TimeUtil.toGameTime(time), velocity, spin);
+    }
+}
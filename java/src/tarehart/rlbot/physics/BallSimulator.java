@@ -0,0 +1,22 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.GameTime;
+
+import java.time.Duration;
+
+/**
+ * Something that can predict where the ball will go. ArenaModel does this with a full JBullet world,
+ * AnalyticBallSimulator does it by solving for contacts with the arena planes directly.
+ */
+public interface BallSimulator {
+
+    BallPath simulateBall(SpaceTimeVelocity start, Duration duration);
+
+    BallPath simulateBall(SpaceTimeVelocity start, GameTime endTime);
+
+    /**
+     * Continues the simulation from the endpoint of the ball path, adding slices until endTime is reached.
+     */
+    void extendSimulation(BallPath ballPath, GameTime endTime);
+}
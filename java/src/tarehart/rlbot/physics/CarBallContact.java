@@ -0,0 +1,131 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.math.DistanceTimeSpeed;
+import tarehart.rlbot.math.SpaceTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector2;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.planning.StrikeProfile;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Works out how the ball leaves a car that hits it.
+ *
+ * A hit is two pushes added together. The first is the plain collision: the car is much heavier than the ball and
+ * doesn't bounce off it, so the ball just stops moving into the car and picks up the car's speed along the line
+ * between their centers. The second is the extra push the game adds to every touch, which is what makes the ball
+ * fly off much faster than the car. It points from the car to the ball, but flattened toward the ground and bent
+ * away from the car's nose, and it's a fraction of the speed difference that shrinks as the hit gets harder.
+ */
+public class CarBallContact {
+
+    private static final double CAR_MASS = 180;
+    private static final double BALL_MASS = 30;
+
+    // The game squashes the vertical part of the extra push by this much, and bends it this much away from the nose.
+    private static final double EXTRA_PUSH_VERTICAL_SCALE = .35;
+    private static final double EXTRA_PUSH_NOSE_SCALE = .35;
+
+    // How much of the speed difference the extra push is worth, as it varies with the speed difference.
+    private static final double[] EXTRA_PUSH_SPEEDS = {0, 10, 46, 92};
+    private static final double[] EXTRA_PUSH_FRACTIONS = {.65, .65, .55, .3};
+
+    // Distance from the middle of a car to the middle of the ball when they touch nose first.
+    private static final double CONTACT_DISTANCE = 3;
+
+    // Height of the middle of a car sitting on the ground.
+    private static final double CAR_CENTER_HEIGHT = .35;
+
+    /**
+     * @param carNose which way the car is facing. Only the direction matters.
+     * @return the ball just after the hit, at the same time and place.
+     */
+    public static SpaceTimeVelocity getBallAfterHit(Vector3 carPosition, Vector3 carVelocity, Vector3 carNose, SpaceTimeVelocity ball) {
+
+        Vector3 carToBall = ball.getSpace().minus(carPosition);
+        if (carToBall.isZero()) {
+            return ball;
+        }
+        Vector3 normal = carToBall.normaliseCopy();
+        Vector3 relativeVelocity = carVelocity.minus(ball.getVelocity());
+
+        Vector3 velocity = ball.getVelocity();
+
+        double closingSpeed = relativeVelocity.dotProduct(normal);
+        if (closingSpeed > 0) {
+            velocity = velocity.plus(normal.scaled(closingSpeed * CAR_MASS / (CAR_MASS + BALL_MASS)));
+        }
+
+        Vector3 pushDirection = new Vector3(carToBall.x, carToBall.y, carToBall.z * EXTRA_PUSH_VERTICAL_SCALE);
+        if (!carNose.isZero()) {
+            Vector3 nose = carNose.normaliseCopy();
+            pushDirection = pushDirection.minus(nose.scaled(EXTRA_PUSH_NOSE_SCALE * pushDirection.dotProduct(nose)));
+        }
+        double relativeSpeed = relativeVelocity.magnitude();
+        if (!pushDirection.isZero()) {
+            velocity = velocity.plus(pushDirection.scaledToMagnitude(relativeSpeed * getExtraPushFraction(relativeSpeed)));
+        }
+
+        return new SpaceTimeVelocity(ball.getSpace(), ball.getTime(), velocity, ball.getSpin());
+    }
+
+    /**
+     * The ball just after the car drives into it from the side the intercept modifier points to, going as fast as the
+     * distance plot and strike profile say it will be by then.
+     *
+     * @return empty if the car can't get there according to the distance plot.
+     */
+    public static Optional<SpaceTimeVelocity> getBallAfterStrike(
+            CarData car, DistancePlot distancePlot, StrikeProfile strikeProfile, SpaceTimeVelocity ballAtIntercept, Vector3 interceptModifier) {
+
+        Vector3 ballPosition = ballAtIntercept.getSpace();
+        Vector3 carAtIntercept = ballPosition.plus(interceptModifier);
+        Optional<DistanceTimeSpeed> motion = distancePlot.getMotionAfterStrike(car, new SpaceTime(carAtIntercept, ballAtIntercept.getTime()), strikeProfile);
+        if (!motion.isPresent()) {
+            return Optional.empty();
+        }
+
+        Vector2 approach = interceptModifier.flatten().scaled(-1);
+        if (approach.isZero()) {
+            approach = ballPosition.minus(car.position).flatten();
+        }
+        approach = approach.normaliseCopy();
+
+        Vector3 carPosition = new Vector3(
+                ballPosition.x - approach.x * CONTACT_DISTANCE,
+                ballPosition.y - approach.y * CONTACT_DISTANCE,
+                Math.min(ballPosition.z, CAR_CENTER_HEIGHT));
+        Vector3 nose = new Vector3(approach.x, approach.y, 0);
+        Vector3 carVelocity = nose.scaled(motion.get().speed);
+
+        return Optional.of(getBallAfterHit(carPosition, carVelocity, nose, ballAtIntercept));
+    }
+
+    /**
+     * Same as getBallAfterStrike, followed by where the ball goes from there.
+     */
+    public static Optional<BallPath> predictPathAfterStrike(
+            BallSimulator simulator, CarData car, DistancePlot distancePlot, StrikeProfile strikeProfile,
+            SpaceTimeVelocity ballAtIntercept, Vector3 interceptModifier, Duration duration) {
+
+        return getBallAfterStrike(car, distancePlot, strikeProfile, ballAtIntercept, interceptModifier)
+                .map(afterHit -> simulator.simulateBall(afterHit, duration));
+    }
+
+    private static double getExtraPushFraction(double relativeSpeed) {
+        int last = EXTRA_PUSH_SPEEDS.length - 1;
+        if (relativeSpeed >= EXTRA_PUSH_SPEEDS[last]) {
+            return EXTRA_PUSH_FRACTIONS[last];
+        }
+        for (int i = 1; i <= last; i++) {
+            if (relativeSpeed < EXTRA_PUSH_SPEEDS[i]) {
+                double tweenPoint = (relativeSpeed - EXTRA_PUSH_SPEEDS[i - 1]) / (EXTRA_PUSH_SPEEDS[i] - EXTRA_PUSH_SPEEDS[i - 1]);
+                return EXTRA_PUSH_FRACTIONS[i - 1] + (EXTRA_PUSH_FRACTIONS[i] - EXTRA_PUSH_FRACTIONS[i - 1]) * tweenPoint;
+            }
+        }
+        return EXTRA_PUSH_FRACTIONS[last];
+    }
+}
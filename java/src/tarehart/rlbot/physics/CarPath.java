@@ -0,0 +1,122 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+
+import java.util.Optional;
+
+/**
+ * Where a car is expected to go, one slice every STEP_SECONDS from the moment it was predicted.
+ * Made by CarPathPredictor. Like BallPath, the slices are kept in flat arrays and only turned into
+ * objects when somebody asks for one.
+ */
+public class CarPath {
+
+    public static final double STEP_SECONDS = 1.0 / 30;
+
+    private final int playerIndex;
+    private final GameTime startTime;
+
+    private int size;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] vz;
+
+    CarPath(int playerIndex, GameTime startTime, int capacity) {
+        this.playerIndex = playerIndex;
+        this.startTime = startTime;
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        vz = new double[capacity];
+    }
+
+    void addSlice(double x, double y, double z, double vx, double vy, double vz) {
+        this.x[size] = x;
+        this.y[size] = y;
+        this.z[size] = z;
+        this.vx[size] = vx;
+        this.vy[size] = vy;
+        this.vz[size] = vz;
+        size++;
+    }
+
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public SpaceTimeVelocity getStartPoint() {
+        return getSlice(0);
+    }
+
+    public SpaceTimeVelocity getEndpoint() {
+        return getSlice(size - 1);
+    }
+
+    public SpaceTimeVelocity getSlice(int i) {
+        return new SpaceTimeVelocity(new Vector3(x[i], y[i], z[i]), getTime(i), new Vector3(vx[i], vy[i], vz[i]));
+    }
+
+    /**
+     * @return the motion at the given time, blended from the slices on either side, or empty if the path doesn't
+     * cover that time.
+     */
+    public Optional<SpaceTimeVelocity> getMotionAt(GameTime time) {
+        double steps = time.secondsSince(startTime) / STEP_SECONDS;
+        if (steps < 0 || steps > size - 1) {
+            return Optional.empty();
+        }
+        int i = Math.min((int) steps, size - 2);
+        if (i < 0) {
+            return Optional.of(getSlice(0));
+        }
+        double tweenPoint = steps - i;
+        int j = i + 1;
+        return Optional.of(new SpaceTimeVelocity(
+                new Vector3(
+                        x[i] + (x[j] - x[i]) * tweenPoint,
+                        y[i] + (y[j] - y[i]) * tweenPoint,
+                        z[i] + (z[j] - z[i]) * tweenPoint),
+                time,
+                new Vector3(
+                        vx[i] + (vx[j] - vx[i]) * tweenPoint,
+                        vy[i] + (vy[j] - vy[i]) * tweenPoint,
+                        vz[i] + (vz[j] - vz[i]) * tweenPoint)));
+    }
+
+    /**
+     * @return the first slice where the car comes within reach of the ball, as the ball's position at that moment,
+     * or empty if it never does while both paths last.
+     */
+    public Optional<SpaceTime> getFirstContact(BallPath ballPath, double reach) {
+        for (int i = 0; i < size; i++) {
+            Optional<SpaceTimeVelocity> ball = ballPath.getMotionAt(getTime(i));
+            if (!ball.isPresent()) {
+                return Optional.empty();
+            }
+            Vector3 ballPosition = ball.get().getSpace();
+            double dx = ballPosition.x - x[i];
+            double dy = ballPosition.y - y[i];
+            double dz = ballPosition.z - z[i];
+            if (dx * dx + dy * dy + dz * dz <= reach * reach) {
+                return Optional.of(new SpaceTime(ballPosition, ball.get().getTime()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private GameTime getTime(int i) {
+        return startTime.plusSeconds(i * STEP_SECONDS);
+    }
+}
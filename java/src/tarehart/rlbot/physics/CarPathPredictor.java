@@ -0,0 +1,118 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.planning.AccelerationModel;
+import tarehart.rlbot.planning.AirTouchPlanner;
+import tarehart.rlbot.tuning.Instrumentation;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Guesses where cars are going by assuming they keep doing what they've been doing. A car on the ground keeps
+ * turning at the rate it's turning now and speeding up or slowing down the way it has been lately, but both fade
+ * out over the next second or so, because nobody holds a turn forever. A car in the air falls until it lands and
+ * then drives on in a straight line. Nobody drives through a wall.
+ *
+ * Every car gets its own path. A path is a few dozen steps of arithmetic, so they're all done right on the
+ * calling thread; handing them to other threads would cost more than it saves.
+ */
+public class CarPathPredictor {
+
+    // Turning and acceleration fade to about a third of what they are now after this long.
+    private static final double HABIT_SECONDS = .8;
+
+    // Higher than this off the ground and the car is flying.
+    private static final double AIRBORNE_HEIGHT = 1;
+
+    private static final double MAX_SPEED = AccelerationModel.SUPERSONIC_SPEED;
+
+    /**
+     * @return a path for each of the given cars, keyed by player index.
+     */
+    public static Map<Integer, CarPath> predictAll(List<CarData> cars, Duration duration) {
+        long timerStart = System.nanoTime();
+        Map<Integer, CarPath> paths = new HashMap<>();
+        for (CarData car : cars) {
+            paths.put(car.playerIndex, predictCarPath(car, duration));
+        }
+        Instrumentation.record(Instrumentation.PREDICT_CAR_PATHS, timerStart);
+        return paths;
+    }
+
+    public static CarPath predictCarPath(CarData car, Duration duration) {
+        int steps = (int) Math.ceil(duration.toNanos() / 1e9 / CarPath.STEP_SECONDS);
+        CarPath path = new CarPath(car.playerIndex, car.time, steps + 1);
+
+        double x = car.position.x, y = car.position.y, z = car.position.z;
+        double vx = car.velocity.x, vy = car.velocity.y, vz = car.velocity.z;
+        path.addSlice(x, y, z, vx, vy, vz);
+
+        boolean onWall = ArenaModel.isCarOnWall(car);
+
+        // Counterclockwise when looking down from above, which is the way VectorUtil.rotateVector turns.
+        double turnRate = onWall ? 0 : car.spin.yawRate * getRightTurnSign(car);
+
+        Vector3 nose = car.orientation.noseVector;
+        double speed = Math.sqrt(vx * vx + vy * vy);
+        double forwardAcceleration = speed > 1 ?
+                (car.acceleration.x * vx + car.acceleration.y * vy) / speed :
+                car.acceleration.x * nose.x + car.acceleration.y * nose.y;
+
+        double dt = CarPath.STEP_SECONDS;
+        double fade = Math.exp(-dt / HABIT_SECONDS);
+
+        for (int i = 0; i < steps; i++) {
+            if (z > AIRBORNE_HEIGHT && !onWall) {
+                vz -= ArenaModel.GRAVITY * dt;
+            } else if (!onWall) {
+                speed = Math.sqrt(vx * vx + vy * vy);
+                double headingX = speed > 0 ? vx / speed : nose.x;
+                double headingY = speed > 0 ? vy / speed : nose.y;
+                double turn = turnRate * dt;
+                double cos = Math.cos(turn);
+                double sin = Math.sin(turn);
+                double newHeadingX = headingX * cos - headingY * sin;
+                double newHeadingY = headingX * sin + headingY * cos;
+                speed = Math.max(0, Math.min(MAX_SPEED, speed + forwardAcceleration * dt));
+                vx = newHeadingX * speed;
+                vy = newHeadingY * speed;
+                turnRate *= fade;
+                forwardAcceleration *= fade;
+            }
+
+            x += vx * dt;
+            y += vy * dt;
+            z += vz * dt;
+
+            if (z < AirTouchPlanner.CAR_BASE_HEIGHT) {
+                z = AirTouchPlanner.CAR_BASE_HEIGHT;
+                vz = 0;
+            }
+            if (Math.abs(x) > ArenaModel.SIDE_WALL) {
+                x = Math.signum(x) * ArenaModel.SIDE_WALL;
+                vx = 0;
+            }
+            if (Math.abs(y) > ArenaModel.BACK_WALL) {
+                y = Math.signum(y) * ArenaModel.BACK_WALL;
+                vy = 0;
+            }
+            path.addSlice(x, y, z, vx, vy, vz);
+        }
+
+        return path;
+    }
+
+    /**
+     * Positive yaw means turning toward the right vector. Looking down from above, that's clockwise for a car
+     * that's right side up and counterclockwise for one that's upside down.
+     */
+    private static double getRightTurnSign(CarData car) {
+        Vector3 nose = car.orientation.noseVector;
+        Vector3 right = car.orientation.rightVector;
+        return Math.signum(nose.x * right.y - nose.y * right.x);
+    }
+}
@@ -4,11 +4,12 @@ import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.DistanceTimeSpeed;
 import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.TimeUtil;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.vector.MutableVector3;
 import tarehart.rlbot.planning.AccelerationModel;
 import tarehart.rlbot.planning.StrikeProfile;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -30,24 +31,81 @@ public class DistancePlot {
     }
 
     public Optional<DistanceTimeSpeed> getMotionAfterSeconds(double time) {
-        if (time < plot.get(0).getTime() || time > plot.get(plot.size() - 1).getTime()) {
+        int index = findSliceAfter(time);
+        if (index < 0) {
             return Optional.empty();
         }
+        DistanceTimeSpeed next = plot.get(index);
+        if (next.getTime() <= time) {
+            return Optional.of(next);
+        }
 
-        for (int i = 0; i < plot.size() - 1; i++) {
-            DistanceTimeSpeed current = plot.get(i);
-            DistanceTimeSpeed next = plot.get(i + 1);
-            if (next.getTime() > time) {
+        DistanceTimeSpeed current = plot.get(index - 1);
+        double tweenPoint = getTweenPoint(current, next, time);
+        double distance = (1 - tweenPoint) * current.distance + tweenPoint * next.distance;
+        double speed = (1 - tweenPoint) * current.speed + tweenPoint * next.speed;
+        return Optional.of(new DistanceTimeSpeed(distance, time, speed));
+    }
 
-                double simulationStepSeconds = next.getTime() - current.getTime();
-                double tweenPoint = (time - current.getTime()) / simulationStepSeconds;
-                double distance = (1 - tweenPoint) * current.distance + tweenPoint * next.distance;
-                double speed = (1 - tweenPoint) * current.speed + tweenPoint * next.speed;
-                return Optional.of(new DistanceTimeSpeed(distance, time, speed));
+    /**
+     * Same as getMotionAfterSeconds(time).distance, or NaN if the plot doesn't cover the time.
+     */
+    private double getDistanceAfterSeconds(double time) {
+        int index = findSliceAfter(time);
+        if (index < 0) {
+            return Double.NaN;
+        }
+        DistanceTimeSpeed next = plot.get(index);
+        if (next.getTime() <= time) {
+            return next.distance;
+        }
+        DistanceTimeSpeed current = plot.get(index - 1);
+        double tweenPoint = getTweenPoint(current, next, time);
+        return (1 - tweenPoint) * current.distance + tweenPoint * next.distance;
+    }
+
+    private double getSpeedAfterSeconds(double time) {
+        int index = findSliceAfter(time);
+        if (index < 0) {
+            return Double.NaN;
+        }
+        DistanceTimeSpeed next = plot.get(index);
+        if (next.getTime() <= time) {
+            return next.speed;
+        }
+        DistanceTimeSpeed current = plot.get(index - 1);
+        double tweenPoint = getTweenPoint(current, next, time);
+        return (1 - tweenPoint) * current.speed + tweenPoint * next.speed;
+    }
+
+    /**
+     * Binary search for the first slice that comes after the time. Slice times never go backwards.
+     * If the time is right at the end of the plot, this is the last slice. -1 if the plot doesn't cover the time.
+     */
+    private int findSliceAfter(double time) {
+        if (time < plot.get(0).getTime() || time > plot.get(plot.size() - 1).getTime()) {
+            return -1;
+        }
+
+        int low = 1;
+        int high = plot.size() - 1;
+        if (plot.get(high).getTime() <= time) {
+            return high;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (plot.get(mid).getTime() > time) {
+                high = mid;
+            } else {
+                low = mid + 1;
             }
         }
+        return low;
+    }
 
-        return Optional.of(plot.get(plot.size() - 1));
+    private static double getTweenPoint(DistanceTimeSpeed current, DistanceTimeSpeed next, double time) {
+        double simulationStepSeconds = next.getTime() - current.getTime();
+        return (time - current.getTime()) / simulationStepSeconds;
     }
 
     public Optional<DistanceTimeSpeed> getMotionAfterDistance(double distance) {
@@ -108,4 +166,38 @@ public class DistancePlot {
             return Optional.empty();
         }
     }
+
+    /**
+     * The distance part of getMotionAfterStrike, or NaN if we ran out of data. Doesn't make any objects,
+     * so the intercept search can call it for every slice.
+     */
+    public double getDistanceAfterStrike(CarData carData, MutableVector3 space, GameTime time, StrikeProfile strikeProfile) {
+        return getDistanceAfterStrike(carData, space, TimeUtil.secondsBetween(carData.time, time), strikeProfile);
+    }
+
+    /**
+     * @param totalSeconds how long after carData.time the strike happens.
+     */
+    public double getDistanceAfterStrike(CarData carData, MutableVector3 space, double totalSeconds, StrikeProfile strikeProfile) {
+
+        double orientSeconds = AccelerationModel.getSteerPenaltySeconds(carData, space);
+
+        double secondsSpentAccelerating = Math.max(0, totalSeconds - orientSeconds);
+
+        if (strikeProfile == null || strikeProfile.speedupSeconds == 0 || strikeProfile.speedBoost == 0) {
+            return getDistanceAfterSeconds(secondsSpentAccelerating);
+        }
+
+        double speedupSeconds = strikeProfile.speedupSeconds;
+        double speedBoost = strikeProfile.speedBoost;
+        if (secondsSpentAccelerating < speedupSeconds) {
+            double increasedSpeed = Math.min(plot.get(0).speed + speedBoost, AccelerationModel.SUPERSONIC_SPEED);
+            return increasedSpeed * secondsSpentAccelerating;
+        }
+
+        double accelSecondsBeforeStrike = secondsSpentAccelerating - speedupSeconds;
+        double distance = getDistanceAfterSeconds(accelSecondsBeforeStrike);
+        double increasedSpeed = Math.min(getSpeedAfterSeconds(accelSecondsBeforeStrike) + speedBoost, AccelerationModel.SUPERSONIC_SPEED);
+        return distance + increasedSpeed * speedupSeconds;
+    }
 }
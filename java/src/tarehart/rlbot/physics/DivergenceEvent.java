@@ -0,0 +1,29 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.math.GameTime;
+
+/**
+ * The real ball stopped following the predicted path, probably because somebody touched it.
+ */
+public class DivergenceEvent {
+
+    public final int playerIndex;
+    public final GameTime time;
+    public final double positionError;
+    public final double velocityError;
+    public final double spinError;
+
+    public DivergenceEvent(int playerIndex, GameTime time, double positionError, double velocityError, double spinError) {
+        this.playerIndex = playerIndex;
+        this.time = time;
+        this.positionError = positionError;
+        this.velocityError = velocityError;
+        this.spinError = spinError;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Ball diverged at %s. Position error: %.2f Velocity error: %.2f Spin error: %.2f",
+                time, positionError, velocityError, spinError);
+    }
+}
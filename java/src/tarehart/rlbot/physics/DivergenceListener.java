@@ -0,0 +1,6 @@
+package tarehart.rlbot.physics;
+
+public interface DivergenceListener {
+
+    void ballDiverged(DivergenceEvent event);
+}
@@ -0,0 +1,144 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.SearchPool;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.tuning.Instrumentation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+
+/**
+ * Predicts the ball several times over, each time from a slightly different guess at its velocity, spin and
+ * bounciness, and gathers the results into a BallEnsemble.
+ *
+ * The unperturbed member is always simulated on the calling thread, so there's at least one member even when
+ * the budget runs out right away. The rest are handed to the SearchPool. Whatever is finished when the budget
+ * runs out makes it into the ensemble. On a single core machine the members just run one after another until
+ * the budget is spent.
+ *
+ * Members are simulated the same way as the single path they're spread around, so an ensemble for a player on
+ * the AnalyticBallSimulator doesn't quietly fall back to JBullet. JBullet members each borrow an ArenaModel for
+ * as long as it takes to run one member; analytic ones are cheap enough to build from scratch.
+ *
+ * The noise is seeded from the time of the starting slice, so the same start always gives the same ensemble
+ * as long as the budget is big enough for every member, give or take float rounding from reused physics worlds.
+ */
+public class EnsemblePredictor {
+
+    public static final int DEFAULT_MEMBER_COUNT = 12;
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(Long.getLong("rlbot.ensembleBudgetMillis", 4));
+
+    // One standard deviation of each kind of noise. Velocity and spin are about what the game's packets round off
+    // plus what we get wrong about a touch; restitution covers how much bounces vary in the ball recordings.
+    private static final double VELOCITY_NOISE = .5;
+    private static final double SPIN_NOISE = .5;
+    private static final double RESTITUTION_NOISE = .03;
+
+    // Spare physics worlds. Building one is much slower than simulating a ball with it, so they're kept around.
+    private static final BlockingQueue<ArenaModel> MODELS = new ArrayBlockingQueue<>(SearchPool.SIZE + 2);
+
+    /**
+     * Runs one member of the ensemble with the given bounciness. Called from several threads at once.
+     */
+    public interface MemberSimulator {
+        BallPath simulate(SpaceTimeVelocity start, float restitution, GameTime endTime);
+    }
+
+    public static final MemberSimulator JBULLET = EnsemblePredictor::simulateWithArenaModel;
+    public static final MemberSimulator ANALYTIC =
+            (start, restitution, endTime) -> new AnalyticBallSimulator(restitution).simulateBall(start, endTime);
+
+    private static final EnsemblePredictor JBULLET_PREDICTOR = new EnsemblePredictor(DEFAULT_MEMBER_COUNT, JBULLET);
+    private static final EnsemblePredictor ANALYTIC_PREDICTOR = new EnsemblePredictor(DEFAULT_MEMBER_COUNT, ANALYTIC);
+
+    private final int memberCount;
+    private final MemberSimulator memberSimulator;
+
+    public EnsemblePredictor() {
+        this(DEFAULT_MEMBER_COUNT);
+    }
+
+    public EnsemblePredictor(int memberCount) {
+        this(memberCount, JBULLET);
+    }
+
+    public EnsemblePredictor(int memberCount, MemberSimulator memberSimulator) {
+        this.memberCount = Math.max(1, memberCount);
+        this.memberSimulator = memberSimulator;
+    }
+
+    /**
+     * A predictor whose members are simulated the same way the given simulator predicts a single path.
+     * Anything that isn't an AnalyticBallSimulator gets JBullet, which is what ArenaModel uses.
+     */
+    public static EnsemblePredictor matching(BallSimulator simulator) {
+        return simulator instanceof AnalyticBallSimulator ? ANALYTIC_PREDICTOR : JBULLET_PREDICTOR;
+    }
+
+    public BallEnsemble predict(SpaceTimeVelocity start, Duration duration) {
+        return predict(start, duration, DEFAULT_BUDGET);
+    }
+
+    public BallEnsemble predict(SpaceTimeVelocity start, Duration duration, Duration budget) {
+        long timerStart = System.nanoTime();
+        long deadlineNanos = timerStart + budget.toNanos();
+        GameTime endTime = start.getTime().plus(duration);
+
+        List<SpaceTimeVelocity> starts = new ArrayList<>(memberCount);
+        float[] restitutions = new float[memberCount];
+        Random random = new Random(start.getTime().toNanos());
+        starts.add(start);
+        restitutions[0] = ArenaModel.BALL_RESTITUTION;
+        for (int i = 1; i < memberCount; i++) {
+            starts.add(perturb(start, random));
+            restitutions[i] = (float) Math.max(0, ArenaModel.BALL_RESTITUTION + random.nextGaussian() * RESTITUTION_NOISE);
+        }
+
+        List<Callable<BallPath>> simulations = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            final int index = i;
+            simulations.add(() -> memberSimulator.simulate(starts.get(index), restitutions[index], endTime));
+        }
+        List<BallPath> members = SearchPool.runUntil(simulations, deadlineNanos);
+
+        Instrumentation.record(Instrumentation.PREDICT_ENSEMBLE, timerStart);
+        return new BallEnsemble(members);
+    }
+
+    private static SpaceTimeVelocity perturb(SpaceTimeVelocity start, Random random) {
+        Vector3 velocity = start.getVelocity();
+        Vector3 spin = start.getSpin();
+        return new SpaceTimeVelocity(
+                start.getSpace(),
+                start.getTime(),
+                new Vector3(
+                        velocity.x + random.nextGaussian() * VELOCITY_NOISE,
+                        velocity.y + random.nextGaussian() * VELOCITY_NOISE,
+                        velocity.z + random.nextGaussian() * VELOCITY_NOISE),
+                new Vector3(
+                        spin.x + random.nextGaussian() * SPIN_NOISE,
+                        spin.y + random.nextGaussian() * SPIN_NOISE,
+                        spin.z + random.nextGaussian() * SPIN_NOISE));
+    }
+
+    private static BallPath simulateWithArenaModel(SpaceTimeVelocity start, float restitution, GameTime endTime) {
+        ArenaModel model = MODELS.poll();
+        if (model == null) {
+            model = new ArenaModel();
+        }
+        try {
+            model.setBallRestitution(restitution);
+            return model.simulateBall(start, endTime);
+        } finally {
+            // If there are already plenty of spares, this one is simply dropped.
+            MODELS.offer(model);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package tarehart.rlbot.physics;
+
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.vector.Vector3;
+
+/**
+ * Where the members of a BallEnsemble are at one moment: the mean position, and the covariance of the positions
+ * around it. The covariance is symmetric, so only six of its nine entries are kept.
+ */
+public class PositionSpread {
+
+    public final GameTime time;
+    public final Vector3 mean;
+    public final double xx;
+    public final double xy;
+    public final double xz;
+    public final double yy;
+    public final double yz;
+    public final double zz;
+
+    public PositionSpread(GameTime time, Vector3 mean, double xx, double xy, double xz, double yy, double yz, double zz) {
+        this.time = time;
+        this.mean = mean;
+        this.xx = xx;
+        this.xy = xy;
+        this.xz = xz;
+        this.yy = yy;
+        this.yz = yz;
+        this.zz = zz;
+    }
+
+    /**
+     * Root mean square distance of the members from the mean. Zero when they all agree.
+     */
+    public double getRadius() {
+        return Math.sqrt(xx + yy + zz);
+    }
+
+    /**
+     * Same as getRadius, but ignoring height.
+     */
+    public double getFlatRadius() {
+        return Math.sqrt(xx + yy);
+    }
+}
@@ -1,11 +1,13 @@
 package tarehart.rlbot.planning;
 
+import tarehart.rlbot.math.vector.MutableVector3;
 import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.DistanceTimeSpeed;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
 import tarehart.rlbot.physics.DistancePlot;
+import tarehart.rlbot.tuning.Instrumentation;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -21,6 +23,12 @@ public class AccelerationModel {
     private static final double SUB_MEDIUM_ACCELERATION = 15; // zero to medium in about 2 seconds.
     private static final double INCREMENTAL_BOOST_ACCELERATION = 8;
     private static final double BOOST_CONSUMED_PER_SECOND = 25;
+    static final double BOOST_CONSUMED_PER_STEP = BOOST_CONSUMED_PER_SECOND * TIME_STEP;
+
+    private static final AccelerationTable NO_FLIPS_TABLE = new AccelerationTable(false);
+    private static final AccelerationTable WITH_FLIPS_TABLE = new AccelerationTable(true);
+
+    private static volatile boolean liveSimulation = Boolean.getBoolean("rlbot.liveAcceleration");
 
 
     public static Optional<Double> getTravelSeconds(CarData carData, DistancePlot plot, Vector3 target) {
@@ -31,8 +39,17 @@ public class AccelerationModel {
     }
 
     public static double getSteerPenaltySeconds(CarData carData, Vector3 target) {
-        Vector3 toTarget = target.minus(carData.position);
-        double correctionAngleRad = VectorUtil.getCorrectionAngle(carData.orientation.noseVector, toTarget, carData.orientation.roofVector);
+        return getSteerPenaltySeconds(carData, target.x, target.y, target.z);
+    }
+
+    public static double getSteerPenaltySeconds(CarData carData, MutableVector3 target) {
+        return getSteerPenaltySeconds(carData, target.x, target.y, target.z);
+    }
+
+    private static double getSteerPenaltySeconds(CarData carData, double targetX, double targetY, double targetZ) {
+        Vector3 position = carData.position;
+        double correctionAngleRad = VectorUtil.getCorrectionAngle(carData.orientation.noseVector,
+                targetX - position.x, targetY - position.y, targetZ - position.z, carData.orientation.roofVector);
         double correctionErr = Math.abs(correctionAngleRad);
         return correctionErr * .1 + correctionErr * carData.velocity.magnitude() * .005;
     }
@@ -41,9 +58,42 @@ public class AccelerationModel {
         return simulateAcceleration(carData, duration, boostBudget, Double.MAX_VALUE);
     }
 
+    /**
+     * Set this to skip the precomputed tables and always run the simulation, e.g. to compare accuracy.
+     * Can also be turned on at startup with -Drlbot.liveAcceleration=true
+     */
+    public static void setLiveSimulation(boolean liveSimulation) {
+        AccelerationModel.liveSimulation = liveSimulation;
+    }
+
     public static DistancePlot simulateAcceleration(CarData carData, Duration duration, double boostBudget, double flipCutoffDistance) {
+        long timerStart = System.nanoTime();
+        DistancePlot plot = lookUpOrSimulate(carData, duration, boostBudget, flipCutoffDistance);
+        Instrumentation.record(Instrumentation.SIMULATE_ACCELERATION, timerStart);
+        return plot;
+    }
+
+    private static DistancePlot lookUpOrSimulate(CarData carData, Duration duration, double boostBudget, double flipCutoffDistance) {
 
         double currentSpeed = carData.velocity.magnitude();
+        double secondsToSimulate = TimeUtil.toSeconds(duration);
+
+        if (!liveSimulation && secondsToSimulate <= AccelerationTable.MAX_SECONDS) {
+            // The tables only know about never flipping and always flipping.
+            if (flipCutoffDistance <= 0) {
+                return NO_FLIPS_TABLE.lookup(currentSpeed, secondsToSimulate, boostBudget);
+            }
+            if (flipCutoffDistance == Double.MAX_VALUE) {
+                return WITH_FLIPS_TABLE.lookup(currentSpeed, secondsToSimulate, boostBudget);
+            }
+        }
+
+        return simulateGroundAcceleration(currentSpeed, secondsToSimulate, boostBudget, flipCutoffDistance);
+    }
+
+    static DistancePlot simulateGroundAcceleration(double initialSpeed, double secondsToSimulate, double boostBudget, double flipCutoffDistance) {
+
+        double currentSpeed = initialSpeed;
         DistancePlot plot = new DistancePlot(new DistanceTimeSpeed(0, 0, currentSpeed));
 
         double boostRemaining = boostBudget;
@@ -51,8 +101,6 @@ public class AccelerationModel {
         double distanceSoFar = 0;
         double secondsSoFar = 0;
 
-        double secondsToSimulate = TimeUtil.toSeconds(duration);
-
         while (secondsSoFar < secondsToSimulate) {
             double hypotheticalFrontFlipDistance = getFrontFlipDistance(currentSpeed);
             if (boostRemaining <= 0 && distanceSoFar + hypotheticalFrontFlipDistance < flipCutoffDistance) {
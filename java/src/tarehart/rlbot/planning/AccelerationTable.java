@@ -0,0 +1,71 @@
+package tarehart.rlbot.planning;
+
+import tarehart.rlbot.math.DistanceTimeSpeed;
+import tarehart.rlbot.physics.DistancePlot;
+
+import java.util.Optional;
+
+/**
+ * Ground acceleration only depends on the starting speed, the boost budget and whether we're willing to flip,
+ * so we run the simulation once at startup for a grid of speeds and boost amounts and interpolate between
+ * the results afterwards.
+ *
+ * Boost is spent in fixed chunks per time step, so we only interpolate over speed. Blending two boost amounts
+ * would smear out the moment the boost runs out and we start flipping.
+ */
+class AccelerationTable {
+
+    static final double MAX_SECONDS = 6;
+
+    private static final double SAMPLE_STEP = 0.1;
+    private static final double SPEED_STEP = 1;
+    private static final double BOOST_STEP = AccelerationModel.BOOST_CONSUMED_PER_STEP;
+    private static final double MAX_BOOST = 100;
+
+    private static final int SAMPLES = (int) Math.round(MAX_SECONDS / SAMPLE_STEP) + 1;
+    private static final int SPEED_CELLS = (int) Math.ceil(AccelerationModel.SUPERSONIC_SPEED / SPEED_STEP) + 1;
+    private static final int BOOST_CELLS = (int) Math.round(MAX_BOOST / BOOST_STEP) + 1;
+
+    // Indexed by [speed cell][boost cell][sample]
+    private final double[][][] distances = new double[SPEED_CELLS][BOOST_CELLS][SAMPLES];
+    private final double[][][] speeds = new double[SPEED_CELLS][BOOST_CELLS][SAMPLES];
+
+    AccelerationTable(boolean allowFlips) {
+        double flipCutoff = allowFlips ? Double.MAX_VALUE : 0;
+        for (int s = 0; s < SPEED_CELLS; s++) {
+            double speed = Math.min(s * SPEED_STEP, AccelerationModel.SUPERSONIC_SPEED);
+            for (int b = 0; b < BOOST_CELLS; b++) {
+                DistancePlot plot = AccelerationModel.simulateGroundAcceleration(speed, MAX_SECONDS, b * BOOST_STEP, flipCutoff);
+                for (int i = 0; i < SAMPLES; i++) {
+                    Optional<DistanceTimeSpeed> motion = plot.getMotionAfterSeconds(Math.min(i * SAMPLE_STEP, MAX_SECONDS));
+                    DistanceTimeSpeed dts = motion.orElse(plot.getSlices().get(plot.getSlices().size() - 1));
+                    distances[s][b][i] = dts.distance;
+                    speeds[s][b][i] = dts.speed;
+                }
+            }
+        }
+    }
+
+    DistancePlot lookup(double initialSpeed, double seconds, double boostBudget) {
+
+        double speedCell = Math.max(0, Math.min(SPEED_CELLS - 1, initialSpeed / SPEED_STEP));
+        int s0 = Math.min((int) speedCell, SPEED_CELLS - 2);
+        double speedWeight = speedCell - s0;
+
+        // The number of time steps that get to use boost.
+        int boostCell = (int) Math.max(0, Math.min(BOOST_CELLS - 1, Math.ceil(boostBudget / BOOST_STEP)));
+
+        double[] d0 = distances[s0][boostCell], d1 = distances[s0 + 1][boostCell];
+        double[] v0 = speeds[s0][boostCell], v1 = speeds[s0 + 1][boostCell];
+
+        int lastSample = Math.min(SAMPLES - 1, (int) Math.ceil(seconds / SAMPLE_STEP - 1e-9));
+
+        DistancePlot plot = new DistancePlot(new DistanceTimeSpeed(0, 0, initialSpeed));
+        for (int i = 1; i <= lastSample; i++) {
+            double distance = d0[i] + (d1[i] - d0[i]) * speedWeight;
+            double speed = v0[i] + (v1[i] - v0[i]) * speedWeight;
+            plot.addSlice(new DistanceTimeSpeed(distance, i * SAMPLE_STEP, speed));
+        }
+        return plot;
+    }
+}
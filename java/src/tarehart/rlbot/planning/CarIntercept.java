@@ -0,0 +1,26 @@
+package tarehart.rlbot.planning;
+
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.math.SpaceTime;
+
+/**
+ * Where and when a particular car is expected to meet the ball.
+ */
+public class CarIntercept {
+
+    public final CarData car;
+    public final SpaceTime spaceTime;
+
+    public CarIntercept(CarData car, SpaceTime spaceTime) {
+        this.car = car;
+        this.spaceTime = spaceTime;
+    }
+
+    @Override
+    public String toString() {
+        return "CarIntercept{" +
+                "car=" + car.playerIndex +
+                ", spaceTime=" + spaceTime +
+                '}';
+    }
+}
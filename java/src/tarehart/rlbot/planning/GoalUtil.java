@@ -2,10 +2,12 @@ package tarehart.rlbot.planning;
 
 import tarehart.rlbot.Bot;
 import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.physics.BallEnsemble;
 import tarehart.rlbot.physics.BallPath;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class GoalUtil {
@@ -13,6 +15,16 @@ public class GoalUtil {
     public static final Goal BLUE_GOAL = new Goal(true);
     public static final Goal ORANGE_GOAL = new Goal(false);
 
+    // If at least this fraction of the ensemble scores, treat it as a threat even when the plain prediction misses.
+    public static final double SAVE_PROBABILITY = .3;
+
+    // A path that never comes this close to the middle of the goal won't go in with a little noise added,
+    // so there's no need to pay for an ensemble.
+    private static final double NEAR_MISS_DISTANCE = 30;
+
+    // Goals further out than this are left to the plain prediction. There's still time to react once it sees them.
+    private static final Duration ENSEMBLE_HORIZON = Duration.ofSeconds(3);
+
     public static Goal getOwnGoal(Bot.Team team) {
         return team == Bot.Team.BLUE ? BLUE_GOAL : ORANGE_GOAL;
     }
@@ -25,6 +37,58 @@ public class GoalUtil {
         return ballPath.getPlaneBreak(ballPath.getStartPoint().time, goal.getScorePlane(), true);
     }
 
+    /**
+     * The soonest goal event among the members of the ensemble.
+     */
+    public static Optional<SpaceTimeVelocity> predictGoalEvent(Goal goal, BallEnsemble ensemble) {
+        Optional<SpaceTimeVelocity> soonest = Optional.empty();
+        for (BallPath member : ensemble.getMembers()) {
+            Optional<SpaceTimeVelocity> event = predictGoalEvent(goal, member);
+            if (event.isPresent() && (!soonest.isPresent() || event.get().time.isBefore(soonest.get().time))) {
+                soonest = event;
+            }
+        }
+        return soonest;
+    }
+
+    /**
+     * The fraction of the ensemble that ends up in the goal.
+     */
+    public static double predictGoalProbability(Goal goal, BallEnsemble ensemble) {
+        return ensemble.getProbability(member -> predictGoalEvent(goal, member).isPresent());
+    }
+
+    /**
+     * How likely the ball is to go in, asking the ensemble only when the path comes near the goal.
+     */
+    public static double predictGoalProbability(Goal goal, BallPath ballPath, TickContext context) {
+        if (!comesNear(goal, ballPath)) {
+            return 0;
+        }
+        return predictGoalProbability(goal, context.getBallEnsemble(ENSEMBLE_HORIZON));
+    }
+
+    /**
+     * The goal event on the path if there is one. If the path only just misses, but enough of the ensemble goes in,
+     * the soonest goal event from the ensemble instead.
+     */
+    public static Optional<SpaceTimeVelocity> predictLikelyGoalEvent(Goal goal, BallPath ballPath, TickContext context) {
+        Optional<SpaceTimeVelocity> goalEvent = predictGoalEvent(goal, ballPath);
+        if (goalEvent.isPresent() || !comesNear(goal, ballPath)) {
+            return goalEvent;
+        }
+        BallEnsemble ensemble = context.getBallEnsemble(ENSEMBLE_HORIZON);
+        if (predictGoalProbability(goal, ensemble) < SAVE_PROBABILITY) {
+            return Optional.empty();
+        }
+        return predictGoalEvent(goal, ensemble);
+    }
+
+    private static boolean comesNear(Goal goal, BallPath ballPath) {
+        Vector3 center = goal.getCenter();
+        return ballPath.findSlice(slice -> slice.getSpace().distance(center) < NEAR_MISS_DISTANCE).isPresent();
+    }
+
     public static boolean ballLingersInBox(Goal goal, BallPath ballPath) {
         Optional<SpaceTimeVelocity> firstSlice = ballPath.findSlice(slice -> goal.isInBox(slice.getSpace()));
         Optional<SpaceTimeVelocity> secondSlice = firstSlice.flatMap(stv -> ballPath.getMotionAt(stv.getTime().plusSeconds(2)));
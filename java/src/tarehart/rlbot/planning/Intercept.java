@@ -2,16 +2,15 @@ package tarehart.rlbot.planning;
 
 import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.math.SpaceTime;
-
-import java.time.LocalDateTime;
+import tarehart.rlbot.math.GameTime;
 
 public class Intercept {
     private Vector3 space;
-    private LocalDateTime time;
+    private GameTime time;
     private double airBoost;
     private StrikeProfile strikeProfile;
 
-    public Intercept(Vector3 space, LocalDateTime time, double airBoost, StrikeProfile strikeProfile) {
+    public Intercept(Vector3 space, GameTime time, double airBoost, StrikeProfile strikeProfile) {
         this.space = space;
         this.time = time;
         this.airBoost = airBoost;
@@ -30,7 +29,7 @@ public class Intercept {
         return space;
     }
 
-    public LocalDateTime getTime() {
+    public GameTime getTime() {
         return time;
     }
 
@@ -0,0 +1,140 @@
+package tarehart.rlbot.planning;
+
+import tarehart.rlbot.SearchPool;
+import tarehart.rlbot.math.GameTime;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Runs several searches for the same kind of thing (e.g. an aerial, a jump hit and a flip hit) side by side
+ * and keeps whichever one happens soonest.
+ *
+ * Each search is handed a predicate that says whether a moment is already beaten by something another search
+ * found, so it can give up as soon as it's looking past the best answer so far. Once every search has either
+ * finished or given up, the winner is known for sure. If the deadline comes first, we go with the best we have
+ * and tell the rest to stop.
+ *
+ * The calling thread runs the first candidate itself while the SearchPool takes the others. On a single core machine
+ * there's nothing to gain from handing work to another thread, so the candidates just run one after another,
+ * still giving up early once they're beaten. Nothing is skipped there, even past the deadline; a late candidate
+ * that's already beaten stops almost at once, and one that isn't might be the only answer we get.
+ *
+ * Ties go to whichever candidate was added first, same as a stable sort by time.
+ */
+public class InterceptRace<T> {
+
+    public static final Duration DEFAULT_DEADLINE = Duration.ofMillis(Long.getLong("rlbot.interceptDeadlineMillis", 6));
+
+    public interface Candidate<T> {
+        /**
+         * @param beaten true for any moment that can no longer win. Searches that go forward in time can stop
+         *               looking as soon as this is true.
+         */
+        Optional<T> search(Predicate<GameTime> beaten);
+    }
+
+    private final Function<T, GameTime> timeOf;
+    private final List<Candidate<T>> candidates = new ArrayList<>();
+
+    private volatile boolean finished;
+    private volatile Leader leader;
+    private T best;
+
+    private static class Leader {
+        final GameTime time;
+        final int index;
+
+        Leader(GameTime time, int index) {
+            this.time = time;
+            this.index = index;
+        }
+
+        boolean beats(GameTime otherTime, int otherIndex) {
+            return time.isBefore(otherTime) || time.equals(otherTime) && index < otherIndex;
+        }
+    }
+
+    public InterceptRace(Function<T, GameTime> timeOf) {
+        this.timeOf = timeOf;
+    }
+
+    public InterceptRace<T> withCandidate(Candidate<T> candidate) {
+        candidates.add(candidate);
+        return this;
+    }
+
+    public Optional<T> run() {
+        return run(DEFAULT_DEADLINE);
+    }
+
+    /**
+     * A race can only be run once.
+     */
+    public Optional<T> run(Duration deadline) {
+        return run(deadline, SearchPool.PARALLEL);
+    }
+
+    Optional<T> run(Duration deadline, boolean parallel) {
+
+        if (candidates.size() == 1) {
+            return candidates.get(0).search(time -> false);
+        }
+
+        if (!parallel) {
+            for (int i = 0; i < candidates.size(); i++) {
+                runCandidate(i);
+            }
+            finished = true;
+            return Optional.ofNullable(best);
+        }
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        List<Callable<Optional<T>>> searches = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            final int index = i;
+            searches.add(() -> runCandidate(index));
+        }
+
+        try {
+            SearchPool.runUntil(searches, deadlineNanos, true);
+        } finally {
+            finished = true;
+        }
+
+        synchronized (this) {
+            return Optional.ofNullable(best);
+        }
+    }
+
+    private Optional<T> runCandidate(int index) {
+        Optional<T> result = candidates.get(index).search(time -> isBeaten(time, index));
+        result.ifPresent(found -> offer(found, index));
+        return result;
+    }
+
+    private boolean isBeaten(GameTime time, int index) {
+        if (finished) {
+            return true;
+        }
+        Leader current = leader;
+        return current != null && current.beats(time, index);
+    }
+
+    private synchronized void offer(T found, int index) {
+        if (finished) {
+            return;
+        }
+        GameTime time = timeOf.apply(found);
+        if (leader == null || !leader.beats(time, index)) {
+            best = found;
+            leader = new Leader(time, index);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package tarehart.rlbot.planning;
+
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTime;
+import tarehart.rlbot.math.VectorUtil;
+import tarehart.rlbot.math.vector.MutableVector3;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.physics.DistancePlot;
+import tarehart.rlbot.tuning.BotLog;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Finds the first moment on a ball path that the car can get to in time.
+ *
+ * Whether we can reach the ball is mostly a question of how much time we have, so once one slice is reachable
+ * the ones after it usually are too. Rather than testing every slice, we hop along with a coarse stride until
+ * we find a reachable one, then binary search back to where reachability starts. The predicate is only consulted
+ * from that point on.
+ *
+ * If the ball is moving away from us faster than we can chase it, reachability can come and go, and a short
+ * window might fall between two strides. Turn on cross checking to compare against the full scan.
+ */
+public class InterceptSolver {
+
+    private static final int STRIDE = 6;
+
+    private static final Predicate<GameTime> NEVER_GIVE_UP = time -> false;
+
+    private static volatile boolean crossCheck = Boolean.getBoolean("rlbot.checkIntercepts");
+    private static final AtomicLong mismatchCount = new AtomicLong();
+
+    private enum Reach {
+        TOO_SOON,
+        REACHABLE,
+        // The acceleration plot doesn't go this far, so neither can we.
+        OUT_OF_DATA
+    }
+
+    /**
+     * Set this to also run the full scan on every search and log any time the answers disagree.
+     * Can also be turned on at startup with -Drlbot.checkIntercepts=true
+     */
+    public static void setCrossCheck(boolean crossCheck) {
+        InterceptSolver.crossCheck = crossCheck;
+    }
+
+    /**
+     * How many times the bracketed search has disagreed with the full scan while cross checking was on.
+     */
+    public static long getMismatchCount() {
+        return mismatchCount.get();
+    }
+
+    public static Optional<SpaceTime> findEarliest(
+            CarData carData,
+            BallPath ballPath,
+            DistancePlot acceleration,
+            Vector3 interceptModifier,
+            BiPredicate<CarData, SpaceTime> predicate,
+            StrikeProfile strikeProfile,
+            Vector3 planeNormal) {
+
+        return findEarliest(carData, ballPath, acceleration, interceptModifier, predicate, strikeProfile, planeNormal, NEVER_GIVE_UP);
+    }
+
+    /**
+     * @param giveUpAt once this is true for a moment, we stop looking and return empty. It should stay true
+     *                 for every later moment too, e.g. because something else already found an earlier intercept.
+     */
+    public static Optional<SpaceTime> findEarliest(
+            CarData carData,
+            BallPath ballPath,
+            DistancePlot acceleration,
+            Vector3 interceptModifier,
+            BiPredicate<CarData, SpaceTime> predicate,
+            StrikeProfile strikeProfile,
+            Vector3 planeNormal,
+            Predicate<GameTime> giveUpAt) {
+
+        Optional<SpaceTime> result = bracketedSearch(carData, ballPath, acceleration, interceptModifier, predicate, strikeProfile, planeNormal, giveUpAt, new MutableVector3());
+
+        if (crossCheck) {
+            Optional<SpaceTime> expected = scanFrom(0, carData, ballPath, acceleration, interceptModifier, predicate, strikeProfile, planeNormal, giveUpAt, new MutableVector3());
+            if (!sameMoment(result, expected)) {
+                mismatchCount.incrementAndGet();
+                BotLog.println(String.format("Intercept search mismatch: bracketed %s, linear %s",
+                        result.map(st -> st.time.toString()).orElse("none"),
+                        expected.map(st -> st.time.toString()).orElse("none")), carData.playerIndex);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks every slice in order. This is the reference answer that findEarliest tries to match.
+     */
+    public static Optional<SpaceTime> scanLinearly(
+            CarData carData,
+            BallPath ballPath,
+            DistancePlot acceleration,
+            Vector3 interceptModifier,
+            BiPredicate<CarData, SpaceTime> predicate,
+            StrikeProfile strikeProfile,
+            Vector3 planeNormal) {
+
+        return scanFrom(0, carData, ballPath, acceleration, interceptModifier, predicate, strikeProfile, planeNormal, NEVER_GIVE_UP, new MutableVector3());
+    }
+
+    private static Optional<SpaceTime> bracketedSearch(
+            CarData carData,
+            BallPath ballPath,
+            DistancePlot acceleration,
+            Vector3 interceptModifier,
+            BiPredicate<CarData, SpaceTime> predicate,
+            StrikeProfile strikeProfile,
+            Vector3 planeNormal,
+            Predicate<GameTime> giveUpAt,
+            MutableVector3 scratch) {
+
+        int lastIndex = ballPath.size() - 1;
+
+        // Find a bracket (low, high] where low is too soon and high is not, or is past the point of giving up.
+        int low = -1;
+        int high = -1;
+        int i = 0;
+        while (lastIndex >= 0) {
+            if (isBoundary(carData, ballPath, i, acceleration, interceptModifier, strikeProfile, planeNormal, giveUpAt, scratch)) {
+                high = i;
+                break;
+            }
+            low = i;
+            if (i == lastIndex) {
+                break;
+            }
+            i = Math.min(i + STRIDE, lastIndex);
+        }
+
+        if (high < 0) {
+            return Optional.empty();
+        }
+
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (!isBoundary(carData, ballPath, mid, acceleration, interceptModifier, strikeProfile, planeNormal, giveUpAt, scratch)) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+
+        // From here on it's the same as the full scan, which also takes care of the predicate.
+        return scanFrom(high, carData, ballPath, acceleration, interceptModifier, predicate, strikeProfile, planeNormal, giveUpAt, scratch);
+    }
+
+    private static boolean isBoundary(
+            CarData carData,
+            BallPath ballPath,
+            int index,
+            DistancePlot acceleration,
+            Vector3 interceptModifier,
+            StrikeProfile strikeProfile,
+            Vector3 planeNormal,
+            Predicate<GameTime> giveUpAt,
+            MutableVector3 scratch) {
+
+        return isGivenUp(ballPath, index, giveUpAt) ||
+                reach(carData, ballPath, index, acceleration, interceptModifier, strikeProfile, planeNormal, scratch) != Reach.TOO_SOON;
+    }
+
+    /**
+     * Only makes a GameTime for the predicate when there is one to ask.
+     */
+    private static boolean isGivenUp(BallPath ballPath, int index, Predicate<GameTime> giveUpAt) {
+        return giveUpAt != NEVER_GIVE_UP && giveUpAt.test(ballPath.getTime(index));
+    }
+
+    private static Optional<SpaceTime> scanFrom(
+            int startIndex,
+            CarData carData,
+            BallPath ballPath,
+            DistancePlot acceleration,
+            Vector3 interceptModifier,
+            BiPredicate<CarData, SpaceTime> predicate,
+            StrikeProfile strikeProfile,
+            Vector3 planeNormal,
+            Predicate<GameTime> giveUpAt,
+            MutableVector3 scratch) {
+
+        for (int i = startIndex; i < ballPath.size(); i++) {
+            if (isGivenUp(ballPath, i, giveUpAt)) {
+                return Optional.empty();
+            }
+            Reach reach = reach(carData, ballPath, i, acceleration, interceptModifier, strikeProfile, planeNormal, scratch);
+            if (reach == Reach.OUT_OF_DATA) {
+                return Optional.empty();
+            }
+            if (reach == Reach.REACHABLE) {
+                // reach left the intercept position in the scratch vector.
+                SpaceTime intercept = new SpaceTime(scratch.toVector3(), ballPath.getTime(i));
+                if (predicate.test(carData, intercept)) {
+                    return Optional.of(intercept);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Reach reach(
+            CarData carData,
+            BallPath ballPath,
+            int index,
+            DistancePlot acceleration,
+            Vector3 interceptModifier,
+            StrikeProfile strikeProfile,
+            Vector3 planeNormal,
+            MutableVector3 scratch) {
+
+        // This runs for most slices of every search, so it reads the path's arrays directly and the intercept
+        // position goes in the scratch vector.
+        MutableVector3 intercept = ballPath.getPosition(index, scratch).add(interceptModifier);
+        double secondsFromCar = ballPath.getStartTime().secondsSince(carData.time) + ballPath.getSecondsAfterStart(index);
+        double distance = acceleration.getDistanceAfterStrike(carData, intercept, secondsFromCar, strikeProfile);
+        if (Double.isNaN(distance)) {
+            return Reach.OUT_OF_DATA;
+        }
+        double interceptDistance = VectorUtil.flatDistance(carData.position, intercept, planeNormal);
+        return distance > interceptDistance ? Reach.REACHABLE : Reach.TOO_SOON;
+    }
+
+    private static boolean sameMoment(Optional<SpaceTime> a, Optional<SpaceTime> b) {
+        if (a.isPresent() != b.isPresent()) {
+            return false;
+        }
+        return !a.isPresent() || a.get().time.equals(b.get().time);
+    }
+}
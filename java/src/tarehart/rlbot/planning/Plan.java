@@ -3,6 +3,7 @@ package tarehart.rlbot.planning;
 import tarehart.rlbot.AgentInput;
 import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.steps.Step;
+import tarehart.rlbot.tuning.Instrumentation;
 
 import java.util.ArrayList;
 import java.util.Optional;
@@ -73,7 +74,7 @@ public class Plan {
         steps.get(currentStepIndex).begin();
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (!hasBegun) {
             throw new RuntimeException("Need to call begin on plan!");
@@ -90,7 +91,9 @@ public class Plan {
                 continue;
             }
 
-            Optional<AgentOutput> output = currentStep.getOutput(input);
+            long timerStart = System.nanoTime();
+            Optional<AgentOutput> output = currentStep.getOutput(input, context);
+            Instrumentation.recordStep(currentStep.getClass(), timerStart);
             if (output.isPresent()) {
                 return output;
             }
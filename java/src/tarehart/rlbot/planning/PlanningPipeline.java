@@ -0,0 +1,105 @@
+package tarehart.rlbot.planning;
+
+import tarehart.rlbot.AgentInput;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.TimeUtil;
+import tarehart.rlbot.physics.BallSimulator;
+import tarehart.rlbot.tuning.PlanningStats;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Lets the bot act on tick N with the plan it already has, while deciding on a new plan from tick N's input
+ * on another thread. The new plan is handed over at the start of a later tick, never in the middle of one.
+ *
+ * The planning thread gets its own ball simulator, so it never touches the physics world or the ball paths
+ * that the ticks are using.
+ */
+public class PlanningPipeline {
+
+    // Past this, the ball has moved on too far for the plan to be any good.
+    private static final double MAX_PROPOSAL_AGE_SECONDS = .25;
+
+    public static class Proposal {
+        public final Plan plan;
+        public final String reason;
+        public final GameTime madeFor;
+
+        /**
+         * @param reason logged when the plan takes over, or null for nothing.
+         */
+        public Proposal(Plan plan, String reason, GameTime madeFor) {
+            this.plan = plan;
+            this.reason = reason;
+            this.madeFor = madeFor;
+        }
+    }
+
+    private final BallSimulator simulator;
+    private final ExecutorService executor;
+    private final AtomicReference<Proposal> latest = new AtomicReference<>();
+    private final PlanningStats stats = new PlanningStats("pipelined");
+
+    private Future<?> pending;
+
+    /**
+     * @param simulator only for the planning thread. It must not be one the ticks are using.
+     */
+    public PlanningPipeline(int playerIndex, BallSimulator simulator) {
+        this.simulator = simulator;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replanner-" + playerIndex);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts planning from this input, unless the last round of planning is still going.
+     *
+     * @param planner gets a context of its own, made from the same input. Only touch immutable things from
+     *                the bot in here; the tick thread keeps running while this does.
+     */
+    public void submit(AgentInput input, Function<TickContext, Optional<Proposal>> planner) {
+        if (pending != null && !pending.isDone()) {
+            return;
+        }
+        pending = executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                planner.apply(new TickContext(input, simulator)).ifPresent(latest::set);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            stats.recordPlanning(System.nanoTime() - start);
+        });
+    }
+
+    /**
+     * Call at the start of a tick. Hands over the newest plan, if one came in since last time and is still fresh.
+     */
+    public Optional<Proposal> takeProposal(GameTime now) {
+        Proposal proposal = latest.getAndSet(null);
+        if (proposal == null) {
+            return Optional.empty();
+        }
+        if (TimeUtil.secondsBetween(proposal.madeFor, now) > MAX_PROPOSAL_AGE_SECONDS) {
+            stats.recordStale();
+            return Optional.empty();
+        }
+        return Optional.of(proposal);
+    }
+
+    public void recordSwap(Proposal proposal, GameTime now) {
+        stats.recordSwap(TimeUtil.secondsBetween(proposal.madeFor, now));
+    }
+
+    public PlanningStats getStats() {
+        return stats;
+    }
+}
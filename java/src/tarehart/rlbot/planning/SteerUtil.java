@@ -1,5 +1,6 @@
 package tarehart.rlbot.planning;
 
+import tarehart.rlbot.math.vector.MutableVector2;
 import tarehart.rlbot.math.vector.Vector2;
 import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.AgentOutput;
@@ -8,10 +9,10 @@ import tarehart.rlbot.math.*;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.BallPhysics;
+import tarehart.rlbot.physics.CarPath;
 import tarehart.rlbot.physics.DistancePlot;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.function.BiPredicate;
 
@@ -24,9 +25,14 @@ public class SteerUtil {
     public static final int TURN_RADIUS_C = 7;
     private static final double DEAD_ZONE = .2;
 
+    // A car whose predicted path comes this close to the ball is already going for it.
+    private static final double ON_COURSE_REACH = 4;
+    // How long it takes a car that isn't going for the ball yet to notice and change plans.
+    private static final double REACTION_SECONDS = .2;
+
     public static Optional<SpaceTime> getCatchOpportunity(CarData carData, BallPath ballPath, double boostBudget) {
 
-        LocalDateTime searchStart = carData.time;
+        GameTime searchStart = carData.time;
 
         double groundBounceEnergy = BallPhysics.getGroundBounceEnergy(ballPath.getStartPoint());
 
@@ -54,7 +60,7 @@ public class SteerUtil {
 
     public static Optional<SpaceTime> getVolleyOpportunity(CarData carData, BallPath ballPath, double boostBudget, double height) {
 
-        LocalDateTime searchStart = carData.time;
+        GameTime searchStart = carData.time;
 
         Optional<SpaceTimeVelocity> landingOption = ballPath.getPlaneBreak(searchStart, new Plane(new Vector3(0, 0, height), new Vector3(0, 0, 1)), true);
 
@@ -85,6 +91,20 @@ public class SteerUtil {
         return getFilteredInterceptOpportunity(carData, ballPath, acceleration, new Vector3(), (a, b) -> true);
     }
 
+    /**
+     * When the car is likely to actually get to the ball, rather than when it could if it floored it right now.
+     * A car whose predicted path already runs into the ball is taken at its word. Anybody else has to notice the
+     * ball and change course first, so they get the max accel intercept plus a moment to react.
+     */
+    public static Optional<SpaceTime> getLikelyInterceptOpportunity(CarData carData, CarPath carPath, BallPath ballPath, DistancePlot acceleration) {
+        Optional<SpaceTime> onCourse = carPath.getFirstContact(ballPath, ON_COURSE_REACH);
+        if (onCourse.isPresent()) {
+            return onCourse;
+        }
+        return getInterceptOpportunity(carData, ballPath, acceleration).map(intercept ->
+                new SpaceTime(intercept.space, intercept.time.plusSeconds(REACTION_SECONDS)));
+    }
+
     public static Optional<SpaceTime> getFilteredInterceptOpportunity(
             CarData carData, BallPath ballPath, DistancePlot acceleration, Vector3 interceptModifier, BiPredicate<CarData, SpaceTime> predicate) {
         return getFilteredInterceptOpportunity(carData, ballPath, acceleration, interceptModifier, predicate, null);
@@ -121,34 +141,24 @@ public class SteerUtil {
             StrikeProfile strikeProfile,
             Vector3 planeNormal) {
 
-        Vector3 myPosition = carData.position;
-
-        for (SpaceTimeVelocity ballMoment: ballPath.getSlices()) {
-            SpaceTime intercept = new SpaceTime(ballMoment.space.plus(interceptModifier), ballMoment.getTime());
-            Optional<DistanceTimeSpeed> motionAt = acceleration.getMotionAfterStrike(carData, intercept, strikeProfile);
-            if (motionAt.isPresent()) {
-                DistanceTimeSpeed dts = motionAt.get();
-                double interceptDistance = VectorUtil.flatDistance(myPosition, intercept.space, planeNormal);
-                if (dts.distance > interceptDistance) {
-                    if (predicate.test(carData, intercept)) {
-                        return Optional.of(intercept);
-                    }
-                }
-            } else {
-                return Optional.empty();
-            }
-        }
-        return Optional.empty();
+        return InterceptSolver.findEarliest(carData, ballPath, acceleration, interceptModifier, predicate, strikeProfile, planeNormal);
     }
 
     public static double getCorrectionAngleRad(CarData carData, Vector3 target) {
-        return getCorrectionAngleRad(carData, target.flatten());
+        return getCorrectionAngleRad(carData, target.x, target.y);
     }
 
     public static double getCorrectionAngleRad(CarData carData, Vector2 target) {
-        Vector2 noseVector = carData.orientation.noseVector.flatten();
-        Vector2 toTarget = target.minus(carData.position.flatten());
-        return noseVector.correctionAngle(toTarget);
+        return getCorrectionAngleRad(carData, target.x, target.y);
+    }
+
+    public static double getCorrectionAngleRad(CarData carData, MutableVector2 target) {
+        return getCorrectionAngleRad(carData, target.x, target.y);
+    }
+
+    private static double getCorrectionAngleRad(CarData carData, double targetX, double targetY) {
+        Vector3 nose = carData.orientation.noseVector;
+        return Vector2.correctionAngle(nose.x, nose.y, targetX - carData.position.x, targetY - carData.position.y);
     }
 
     public static AgentOutput steerTowardGroundPosition(CarData carData, Vector2 position) {
@@ -243,7 +253,7 @@ public class SteerUtil {
     public static AgentOutput getThereOnTime(CarData input, SpaceTime groundPositionAndTime) {
         double flatDistance = VectorUtil.flatDistance(input.position, groundPositionAndTime.space);
 
-        double secondsTillAppointment = Duration.between(input.time, groundPositionAndTime.time).toMillis() / 1000.0;
+        double secondsTillAppointment = TimeUtil.secondsBetween(input.time, groundPositionAndTime.time);
         double speed = input.velocity.magnitude();
 
         double pace = speed * secondsTillAppointment / flatDistance; // Ideally this should be 1
@@ -2,8 +2,8 @@ package tarehart.rlbot.planning;
 
 import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.GameTime;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class TacticalSituation {
@@ -15,6 +15,7 @@ public class TacticalSituation {
     public double distanceFromEnemyBackWall;
     public double distanceFromEnemyCorner;
     public Optional<SpaceTimeVelocity> scoredOnThreat;
+    public double scoredOnProbability; // Fraction of the ball ensemble that goes into our goal. Zero if the ball never gets near it.
     public boolean needsDefensiveClear;
     public boolean shotOnGoalAvailable;
 }
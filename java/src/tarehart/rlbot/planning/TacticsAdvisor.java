@@ -8,6 +8,7 @@ import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.DistancePlot;
@@ -22,9 +23,9 @@ import tarehart.rlbot.steps.wall.DescendFromWallStep;
 import tarehart.rlbot.steps.wall.MountWallStep;
 import tarehart.rlbot.steps.wall.WallTouchStep;
 import tarehart.rlbot.tuning.BotLog;
+import tarehart.rlbot.tuning.Instrumentation;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class TacticsAdvisor {
@@ -34,49 +35,56 @@ public class TacticsAdvisor {
     public TacticsAdvisor() {
     }
 
-    public Plan makePlan(AgentInput input, TacticalSituation situation) {
+    public Plan makePlan(AgentInput input, TickContext context, TacticalSituation situation) {
+        long timerStart = System.nanoTime();
+        Plan plan = choosePlan(input, context, situation);
+        Instrumentation.record(Instrumentation.MAKE_PLAN, timerStart);
+        return plan;
+    }
+
+    private Plan choosePlan(AgentInput input, TickContext context, TacticalSituation situation) {
 
         if (situation.scoredOnThreat.isPresent()) {
             return new Plan(Plan.Posture.SAVE).withStep(new WhatASaveStep());
         }
 
         if (situation.needsDefensiveClear) {
-            return new Plan(Plan.Posture.CLEAR).withStep(new IdealDirectedHitStep(new KickAwayFromOwnGoal(), input));
+            return new Plan(Plan.Posture.CLEAR).withStep(new IdealDirectedHitStep(new KickAwayFromOwnGoal(), input, context));
         }
 
         if (situation.shotOnGoalAvailable) {
-            return new Plan(Plan.Posture.OFFENSIVE).withStep(new IdealDirectedHitStep(new KickAtEnemyGoal(), input));
+            return new Plan(Plan.Posture.OFFENSIVE).withStep(new IdealDirectedHitStep(new KickAtEnemyGoal(), input, context));
         }
 
         Duration planHorizon = Duration.ofSeconds(5);
 
         CarData car = input.getMyCarData();
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, planHorizon);
-        DistancePlot distancePlot = AccelerationModel.simulateAcceleration(car, planHorizon, car.boost);
+        BallPath ballPath = context.getBallPath(planHorizon);
+        DistancePlot distancePlot = context.getAcceleration(planHorizon, car.boost);
 
-        Optional<Intercept> interceptStepOffering = InterceptStep.getSoonestIntercept(input.getMyCarData(), ballPath, distancePlot, new Vector3());
-        LocalDateTime ourExpectedContactTime = interceptStepOffering.map(Intercept::getTime).orElse(ballPath.getEndpoint().getTime());
+        Optional<Intercept> interceptStepOffering = context.getSoonestIntercept(ballPath, distancePlot, new Vector3());
+        GameTime ourExpectedContactTime = interceptStepOffering.map(Intercept::getTime).orElse(ballPath.getEndpoint().getTime());
 
         if (situation.ownGoalFutureProximity > 100) {
-            return makePlanWithPlentyOfTime(input, situation, ballPath);
+            return makePlanWithPlentyOfTime(input, context, situation, ballPath);
         }
 
         double raceResult = TimeUtil.secondsBetween(ourExpectedContactTime, situation.expectedEnemyContact.time);
 
         if (raceResult > 2) {
             // We can take our sweet time. Now figure out whether we want a directed kick, a dribble, an intercept, a catch, etc
-            return makePlanWithPlentyOfTime(input, situation, ballPath);
+            return makePlanWithPlentyOfTime(input, context, situation, ballPath);
         }
 
         if (raceResult > .5) {
-            return new Plan(Plan.Posture.OFFENSIVE).withStep(new IdealDirectedHitStep(new KickAtEnemyGoal(), input));
+            return new Plan(Plan.Posture.OFFENSIVE).withStep(new IdealDirectedHitStep(new KickAtEnemyGoal(), input, context));
         }
 
         if (raceResult > -.5) {
 
             if (!interceptStepOffering.isPresent()) {
                 // Nobody is getting to the ball any time soon.
-                return makePlanWithPlentyOfTime(input, situation, ballPath);
+                return makePlanWithPlentyOfTime(input, context, situation, ballPath);
             }
 
             if (situation.enemyOffensiveApproachError < Math.PI / 3) {
@@ -98,7 +106,7 @@ public class TacticsAdvisor {
                 }
             } else {
                 // Doesn't matter if enemy wins the race, they are out of position.
-                return makePlanWithPlentyOfTime(input, situation, ballPath);
+                return makePlanWithPlentyOfTime(input, context, situation, ballPath);
             }
         }
 
@@ -114,7 +122,7 @@ public class TacticsAdvisor {
 
     }
 
-    private Plan makePlanWithPlentyOfTime(AgentInput input, TacticalSituation situation, BallPath ballPath) {
+    private Plan makePlanWithPlentyOfTime(AgentInput input, TickContext context, TacticalSituation situation, BallPath ballPath) {
 
         CarData car = input.getMyCarData();
 
@@ -123,42 +131,50 @@ public class TacticsAdvisor {
             if (catchOpportunity.isPresent()) {
                 return new Plan(Plan.Posture.OFFENSIVE).withStep(new CatchBallStep(catchOpportunity.get())).withStep(new DribbleStep());
             }
-            return new Plan(Plan.Posture.OFFENSIVE).withStep(new IdealDirectedHitStep(new FunnelTowardEnemyGoal(), input));
+            return new Plan(Plan.Posture.OFFENSIVE).withStep(new IdealDirectedHitStep(new FunnelTowardEnemyGoal(), input, context));
         }
 
         if (DribbleStep.canDribble(input, false) && input.ballVelocity.magnitude() > 15) {
-            BotLog.println("Beginning dribble", input.team);
+            BotLog.println("Beginning dribble", input.playerIndex);
             return new Plan(Plan.Posture.OFFENSIVE).withStep(new DribbleStep());
         }  else if (WallTouchStep.hasWallTouchOpportunity(input, ballPath)) {
             return new Plan(Plan.Posture.OFFENSIVE).withStep(new MountWallStep()).withStep(new WallTouchStep()).withStep(new DescendFromWallStep());
         } else if (DirectedNoseHitStep.canMakeDirectedKick(input, new KickAtEnemyGoal())) {
-            return new Plan(Plan.Posture.OFFENSIVE).withStep(new IdealDirectedHitStep(new KickAtEnemyGoal(), input));
+            return new Plan(Plan.Posture.OFFENSIVE).withStep(new IdealDirectedHitStep(new KickAtEnemyGoal(), input, context));
         } else if (car.boost < 50) {
             return new Plan().withStep(new GetBoostStep());
         } else if (GetOnOffenseStep.getYAxisWrongSidedness(input) > 0) {
-            BotLog.println("Getting behind the ball", input.team);
+            BotLog.println("Getting behind the ball", input.playerIndex);
             return new Plan(Plan.Posture.NEUTRAL).withStep(new GetOnOffenseStep());
         } else {
             return new Plan(Plan.Posture.OFFENSIVE).withStep(new InterceptStep(new Vector3()));
         }
     }
 
-    public TacticalSituation assessSituation(AgentInput input, BallPath ballPath) {
+    public TacticalSituation assessSituation(AgentInput input, TickContext context, BallPath ballPath) {
+        long timerStart = System.nanoTime();
+        TacticalSituation situation = measureSituation(input, context, ballPath);
+        Instrumentation.record(Instrumentation.ASSESS_SITUATION, timerStart);
+        return situation;
+    }
 
-        Optional<SpaceTime> enemyIntercept = getEnemyIntercept(input, ballPath);
+    private TacticalSituation measureSituation(AgentInput input, TickContext context, BallPath ballPath) {
 
-        SpaceTimeVelocity futureBallMotion = ballPath.getMotionAt(input.time.plus(TimeUtil.toDuration(LOOKAHEAD_SECONDS))).orElse(ballPath.getEndpoint());
+        Optional<CarIntercept> enemyIntercept = context.getEnemyIntercept(ballPath);
+
+        SpaceTimeVelocity futureBallMotion = ballPath.getMotionAt(input.time.plusSeconds(LOOKAHEAD_SECONDS)).orElse(ballPath.getEndpoint());
 
         TacticalSituation situation = new TacticalSituation();
-        situation.expectedEnemyContact = enemyIntercept.orElse(ballPath.getEndpoint().toSpaceTime());
+        situation.expectedEnemyContact = enemyIntercept.map(intercept -> intercept.spaceTime).orElse(ballPath.getEndpoint().toSpaceTime());
         situation.ownGoalFutureProximity = VectorUtil.flatDistance(GoalUtil.getOwnGoal(input.team).getCenter(), futureBallMotion.getSpace());
         situation.distanceBallIsBehindUs = measureOutOfPosition(input);
-        situation.enemyOffensiveApproachError = measureEnemyApproachError(input, situation.expectedEnemyContact);
+        situation.enemyOffensiveApproachError = measureEnemyApproachError(input, enemyIntercept, situation.expectedEnemyContact);
         double enemyGoalY = GoalUtil.getEnemyGoal(input.team).getCenter().y;
         situation.distanceFromEnemyBackWall = Math.abs(enemyGoalY - futureBallMotion.space.y);
         situation.distanceFromEnemyCorner = getDistanceFromEnemyCorner(futureBallMotion, enemyGoalY);
 
-        situation.scoredOnThreat = GoalUtil.predictGoalEvent(GoalUtil.getOwnGoal(input.team), ballPath);
+        situation.scoredOnThreat = GoalUtil.predictLikelyGoalEvent(GoalUtil.getOwnGoal(input.team), ballPath, context);
+        situation.scoredOnProbability = GoalUtil.predictGoalProbability(GoalUtil.getOwnGoal(input.team), ballPath, context);
         situation.needsDefensiveClear = GoalUtil.ballLingersInBox(GoalUtil.getOwnGoal(input.team), ballPath);
         situation.shotOnGoalAvailable = GoalUtil.ballLingersInBox(GoalUtil.getEnemyGoal(input.team), ballPath) &&
                 input.getMyCarData().position.distance(input.ballPosition) < 80;
@@ -178,17 +194,17 @@ public class TacticsAdvisor {
         return Math.min(ballFutureFlat.distance(corner1), ballFutureFlat.distance(corner2));
     }
 
-    private Optional<SpaceTime> getEnemyIntercept(AgentInput input, BallPath ballPath) {
-        return input.getEnemyCarData().flatMap(enemyCar -> SteerUtil.getInterceptOpportunityAssumingMaxAccel(enemyCar, ballPath, enemyCar.boost));
-    }
-
-    private double measureEnemyApproachError(AgentInput input, SpaceTime enemyContact) {
+    /**
+     * Measured for whichever enemy is expected to make the contact. If none of them can get there, the first enemy
+     * will have to do.
+     */
+    private double measureEnemyApproachError(AgentInput input, Optional<CarIntercept> enemyIntercept, SpaceTime enemyContact) {
 
-        Optional<CarData> enemyCarOpt = input.getEnemyCarData();
+        Optional<CarData> enemyCarOpt = enemyIntercept.isPresent() ? Optional.of(enemyIntercept.get().car) : input.getEnemyCarData();
         if (!enemyCarOpt.isPresent()) {
             return Double.MAX_VALUE;
         }
-        CarData enemyCar = input.getEnemyCarData().get();
+        CarData enemyCar = enemyCarOpt.get();
         Goal myGoal = GoalUtil.getOwnGoal(input.team);
         Vector3 ballToGoal = myGoal.getCenter().minus(enemyContact.space);
 
@@ -0,0 +1,204 @@
+package tarehart.rlbot.planning;
+
+import tarehart.rlbot.AgentInput;
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.TimeUtil;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.physics.BallEnsemble;
+import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.physics.BallSimulator;
+import tarehart.rlbot.physics.CarPath;
+import tarehart.rlbot.physics.CarPathPredictor;
+import tarehart.rlbot.physics.DistancePlot;
+import tarehart.rlbot.physics.EnsemblePredictor;
+import tarehart.rlbot.steps.strikes.InterceptStep;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Lives for exactly one tick. The advisor, the threat assessor and whatever step is active all want to know
+ * the same things about the ball and the cars, so they ask this instead of recomputing it themselves.
+ * Each distinct question is answered at most once; after that the answer comes out of a map.
+ *
+ * Don't hold on to one of these past the tick it was made for.
+ */
+public class TickContext {
+
+    private static final Duration INTERCEPT_HORIZON = Duration.ofSeconds(4);
+
+    private final AgentInput input;
+    private final BallSimulator simulator;
+    private BallPath ownBallPath;
+
+    private final Map<Duration, BallPath> ballPaths = new HashMap<>();
+    private final Map<Duration, BallEnsemble> ballEnsembles = new HashMap<>();
+    private final Map<Duration, Map<Integer, CarPath>> enemyCarPaths = new HashMap<>();
+    private final Map<List<Object>, DistancePlot> accelerations = new HashMap<>();
+    private final Map<List<Object>, Optional<Intercept>> soonestIntercepts = new HashMap<>();
+    private final Map<BallPath, Optional<CarIntercept>> enemyIntercepts = new HashMap<>();
+    private final Map<BallPath, Optional<SpaceTime>> maxAccelIntercepts = new HashMap<>();
+
+    private SpaceTime latestIntercept;
+
+    private long computeCount;
+    private long hitCount;
+
+    public TickContext(AgentInput input) {
+        this(input, null);
+    }
+
+    /**
+     * Predicts the ball with the given simulator instead of the one ArenaModel keeps for this player.
+     * The path is made fresh for this context and only grows while the context is in use, so it's
+     * safe to use from a different thread than the one running the bot's ticks.
+     */
+    public TickContext(AgentInput input, BallSimulator simulator) {
+        this.input = input;
+        this.simulator = simulator;
+    }
+
+    public AgentInput getInput() {
+        return input;
+    }
+
+    public BallPath getBallPath(Duration duration) {
+        if (simulator == null) {
+            return memoize(ballPaths, duration, () -> ArenaModel.predictBallPath(input, input.time, duration));
+        }
+        return memoize(ballPaths, duration, () -> predictOwnBallPath(duration));
+    }
+
+    private BallPath predictOwnBallPath(Duration duration) {
+        GameTime endTime = input.time.plus(duration);
+        if (ownBallPath == null) {
+            ownBallPath = simulator.simulateBall(new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity, input.ballSpin), endTime);
+        } else if (ownBallPath.getEndpoint().getTime().isBefore(endTime)) {
+            simulator.extendSimulation(ownBallPath, endTime);
+        }
+        return ownBallPath;
+    }
+
+    public BallPath getBallPath(double seconds) {
+        return getBallPath(TimeUtil.toDuration(seconds));
+    }
+
+    /**
+     * Several perturbed predictions of the ball, for when it matters how sure we are. This is far more expensive
+     * than a single path, so only ask when the answer could change what we do. The members are simulated the
+     * same way as getBallPath, so the two agree about where the ball goes.
+     */
+    public BallEnsemble getBallEnsemble(Duration duration) {
+        BallSimulator pathSimulator = simulator != null ? simulator : ArenaModel.getSimulator(input.playerIndex);
+        return memoize(ballEnsembles, duration, () -> EnsemblePredictor.matching(pathSimulator).predict(
+                new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity, input.ballSpin), duration));
+    }
+
+    /**
+     * Where each enemy is headed if it keeps doing what it's doing, keyed by player index. They're all predicted
+     * together the first time anybody asks.
+     */
+    public Map<Integer, CarPath> getEnemyCarPaths(Duration duration) {
+        return memoize(enemyCarPaths, duration, () -> CarPathPredictor.predictAll(input.getEnemyCars(), duration));
+    }
+
+    /**
+     * Acceleration plot for our own car.
+     */
+    public DistancePlot getAcceleration(Duration duration, double boostBudget, double flipCutoffDistance) {
+        return getAcceleration(input.getMyCarData(), duration, boostBudget, flipCutoffDistance);
+    }
+
+    public DistancePlot getAcceleration(Duration duration, double boostBudget) {
+        return getAcceleration(duration, boostBudget, Double.MAX_VALUE);
+    }
+
+    public DistancePlot getAcceleration(CarData car, Duration duration, double boostBudget, double flipCutoffDistance) {
+        List<Object> key = Arrays.asList(car, duration, boostBudget, flipCutoffDistance);
+        return memoize(accelerations, key, () -> AccelerationModel.simulateAcceleration(car, duration, boostBudget, flipCutoffDistance));
+    }
+
+    /**
+     * The same thing as InterceptStep.getSoonestIntercept for our own car. The path and plot are compared by identity,
+     * so pass in ones that came from this context to get the benefit.
+     */
+    public Optional<Intercept> getSoonestIntercept(BallPath ballPath, DistancePlot acceleration, Vector3 interceptModifier) {
+        List<Object> key = Arrays.asList(ballPath, acceleration, interceptModifier.x, interceptModifier.y, interceptModifier.z);
+        Optional<Intercept> intercept = memoize(soonestIntercepts, key, () ->
+                InterceptStep.getSoonestIntercept(input.getMyCarData(), ballPath, acceleration, interceptModifier, this));
+        intercept.ifPresent(i -> latestIntercept = i.toSpaceTime());
+        return intercept;
+    }
+
+    /**
+     * The soonest any enemy is likely to meet the ball along the given path, going by SteerUtil.getLikelyInterceptOpportunity,
+     * along with the enemy that gets there. Empty if there are no enemies or none of them can get there.
+     */
+    public Optional<CarIntercept> getEnemyIntercept(BallPath ballPath) {
+        return memoize(enemyIntercepts, ballPath, () -> {
+            Map<Integer, CarPath> paths = getEnemyCarPaths(INTERCEPT_HORIZON);
+            CarIntercept soonest = null;
+            for (CarData enemyCar : input.getEnemyCars()) {
+                Optional<SpaceTime> intercept = SteerUtil.getLikelyInterceptOpportunity(enemyCar, paths.get(enemyCar.playerIndex), ballPath,
+                        getAcceleration(enemyCar, INTERCEPT_HORIZON, enemyCar.boost, Double.MAX_VALUE));
+                if (intercept.isPresent() && (soonest == null || intercept.get().time.isBefore(soonest.spaceTime.time))) {
+                    soonest = new CarIntercept(enemyCar, intercept.get());
+                }
+            }
+            return Optional.ofNullable(soonest);
+        });
+    }
+
+    /**
+     * Same as getEnemyIntercept, but for our own car.
+     */
+    public Optional<SpaceTime> getMaxAccelIntercept(BallPath ballPath) {
+        CarData car = input.getMyCarData();
+        Optional<SpaceTime> intercept = memoize(maxAccelIntercepts, ballPath, () ->
+                SteerUtil.getInterceptOpportunity(car, ballPath, getAcceleration(car, INTERCEPT_HORIZON, car.boost, Double.MAX_VALUE)));
+        intercept.ifPresent(i -> latestIntercept = i);
+        return intercept;
+    }
+
+    /**
+     * The last intercept for our own car that anybody asked about this tick, if any.
+     */
+    public Optional<SpaceTime> getLatestIntercept() {
+        return Optional.ofNullable(latestIntercept);
+    }
+
+    /**
+     * How many queries actually had to be computed this tick.
+     */
+    public long getComputeCount() {
+        return computeCount;
+    }
+
+    /**
+     * How many queries were answered from a previous computation this tick.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    private <K, V> V memoize(Map<K, V> cache, K key, Supplier<V> compute) {
+        V value = cache.get(key);
+        if (value != null) {
+            hitCount++;
+            return value;
+        }
+        computeCount++;
+        value = compute.get();
+        cache.put(key, value);
+        return value;
+    }
+}
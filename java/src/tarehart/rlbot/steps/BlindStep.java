@@ -2,22 +2,23 @@ package tarehart.rlbot.steps;
 
 import tarehart.rlbot.AgentInput;
 import tarehart.rlbot.AgentOutput;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.planning.TickContext;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class BlindStep implements Step {
     private AgentOutput output;
     private Duration duration;
-    private LocalDateTime scheduledEndTime;
+    private GameTime scheduledEndTime;
 
     public BlindStep(AgentOutput output, Duration duration) {
         this.output = output;
         this.duration = duration;
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
         if (scheduledEndTime == null) {
             scheduledEndTime = input.time.plus(duration);
         }
@@ -9,14 +9,14 @@ import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
-import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.planning.GoalUtil;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.tuning.BotLog;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static tarehart.rlbot.planning.GoalUtil.getEnemyGoal;
@@ -28,7 +28,7 @@ public class CarryStep implements Step {
     private static final double MIN_Y = -0.9;
 
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (!canCarry(input, true)) {
             return Optional.empty();
@@ -37,15 +37,15 @@ public class CarryStep implements Step {
         Vector2 ballVelocityFlat = input.ballVelocity.flatten();
         double leadSeconds = .2;
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(2));
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(2));
 
         Optional<SpaceTimeVelocity> motionAfterWallBounce = ballPath.getMotionAfterWallBounce(1);
-        if (motionAfterWallBounce.isPresent() && Duration.between(input.time, motionAfterWallBounce.get().getTime()).toMillis() < 1000) {
+        if (motionAfterWallBounce.isPresent() && TimeUtil.secondsBetween(input.time, motionAfterWallBounce.get().getTime()) < 1) {
             return Optional.empty(); // The dribble step is not in the business of wall reads.
         }
 
         Vector2 futureBallPosition;
-        SpaceTimeVelocity ballFuture = ballPath.getMotionAt(input.time.plus(TimeUtil.toDuration(leadSeconds))).get();
+        SpaceTimeVelocity ballFuture = ballPath.getMotionAt(input.time.plusSeconds(leadSeconds)).get();
         futureBallPosition = ballFuture.getSpace().flatten();
 
 
@@ -63,7 +63,7 @@ public class CarryStep implements Step {
         pressurePoint = futureBallPosition.minus(pushDirection.scaled(approachDistance));
 
 
-        LocalDateTime hurryUp = input.time.plus(TimeUtil.toDuration(leadSeconds));
+        GameTime hurryUp = input.time.plusSeconds(leadSeconds);
 
         AgentOutput dribble = SteerUtil.getThereOnTime(input.getMyCarData(), new SpaceTime(new Vector3(pressurePoint.x, pressurePoint.y, 0), hurryUp));
         return Optional.of(dribble);
@@ -91,42 +91,42 @@ public class CarryStep implements Step {
         double xMag = Math.abs(ballInCarCoordinates.x);
         if (xMag > MAX_X_DIFF) {
             if (log) {
-                BotLog.println("Fell off the side", input.team);
+                BotLog.println("Fell off the side", input.playerIndex);
             }
             return false;
         }
 
         if (ballInCarCoordinates.y > MAX_Y) {
             if (log) {
-                BotLog.println("Fell off the front", input.team);
+                BotLog.println("Fell off the front", input.playerIndex);
             }
             return false;
         }
 
         if (ballInCarCoordinates.y < MIN_Y) {
             if (log) {
-                BotLog.println("Fell off the back", input.team);
+                BotLog.println("Fell off the back", input.playerIndex);
             }
             return false;
         }
 
         if (ballInCarCoordinates.z > 3) {
             if (log) {
-                BotLog.println("Ball too high to carry", input.team);
+                BotLog.println("Ball too high to carry", input.playerIndex);
             }
             return false;
         }
 
         if (ballInCarCoordinates.z < 1) {
             if (log) {
-                BotLog.println("Ball too low to carry", input.team);
+                BotLog.println("Ball too low to carry", input.playerIndex);
             }
             return false;
         }
 
         if (VectorUtil.flatDistance(car.velocity, input.ballVelocity) > 10) {
             if (log) {
-                BotLog.println("Velocity too different to carry.", input.team);
+                BotLog.println("Velocity too different to carry.", input.playerIndex);
             }
             return false;
         }
@@ -10,6 +10,7 @@ import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.planning.AirTouchPlanner;
 import tarehart.rlbot.planning.Plan;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.steps.strikes.InterceptStep;
 
 import java.time.Duration;
@@ -19,10 +20,10 @@ public class ChaseBallStep implements Step {
 
     private Plan plan;
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -35,25 +36,25 @@ public class ChaseBallStep implements Step {
         }
 
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(3));
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(3));
 
-        if (input.getEnemyCarData().map(c -> c.position.distance(input.ballPosition)).orElse(Double.MAX_VALUE) > 50) {
+        if (input.getEnemyNearestBall().map(c -> c.position.distance(input.ballPosition)).orElse(Double.MAX_VALUE) > 50) {
             if (car.boost < 10 && GetBoostStep.seesOpportunisticBoost(car, input.fullBoosts)) {
                 plan = new Plan().withStep(new GetBoostStep());
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             }
 
             Optional<SpaceTime> catchOpportunity = SteerUtil.getCatchOpportunity(car, ballPath, AirTouchPlanner.getBoostBudget(car));
             if (catchOpportunity.isPresent()) {
                 plan = new Plan().withStep(new CatchBallStep(catchOpportunity.get())).withStep(new DribbleStep());
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             }
         }
 
         InterceptStep interceptStep = new InterceptStep(new Vector3());
-        Optional<AgentOutput> output = interceptStep.getOutput(input);
+        Optional<AgentOutput> output = interceptStep.getOutput(input, context);
         if (output.isPresent()) {
             plan = new Plan().withStep(interceptStep);
             plan.begin();
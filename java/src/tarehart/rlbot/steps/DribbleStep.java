@@ -9,17 +9,17 @@ import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
-import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.BallPhysics;
 import tarehart.rlbot.planning.GoalUtil;
 import tarehart.rlbot.planning.Plan;
 import tarehart.rlbot.planning.SetPieces;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.tuning.BotLog;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static tarehart.rlbot.planning.GoalUtil.getEnemyGoal;
@@ -30,11 +30,11 @@ public class DribbleStep implements Step {
 
     private Plan plan;
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null && !plan.isComplete()) {
             if (plan != null && !plan.isComplete()) {
-                Optional<AgentOutput> output = plan.getOutput(input);
+                Optional<AgentOutput> output = plan.getOutput(input, context);
                 if (output.isPresent()) {
                     return output;
                 }
@@ -57,15 +57,15 @@ public class DribbleStep implements Step {
         double ballSpeed = ballVelocityFlat.magnitude();
         double leadSeconds = .2;
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(2));
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(2));
 
         Optional<SpaceTimeVelocity> motionAfterWallBounce = ballPath.getMotionAfterWallBounce(1);
-        if (motionAfterWallBounce.isPresent() && Duration.between(input.time, motionAfterWallBounce.get().getTime()).toMillis() < 1000) {
+        if (motionAfterWallBounce.isPresent() && TimeUtil.secondsBetween(input.time, motionAfterWallBounce.get().getTime()) < 1) {
             return Optional.empty(); // The dribble step is not in the business of wall reads.
         }
 
         Vector2 futureBallPosition;
-        SpaceTimeVelocity ballFuture = ballPath.getMotionAt(input.time.plus(TimeUtil.toDuration(leadSeconds))).get();
+        SpaceTimeVelocity ballFuture = ballPath.getMotionAt(input.time.plusSeconds(leadSeconds)).get();
         futureBallPosition = ballFuture.getSpace().flatten();
 
 
@@ -92,7 +92,7 @@ public class DribbleStep implements Step {
         Vector2 carToPressurePoint = pressurePoint.minus(myPositonFlat);
         Vector2 carToBall = futureBallPosition.minus(myPositonFlat);
 
-        LocalDateTime hurryUp = input.time.plus(TimeUtil.toDuration(leadSeconds));
+        GameTime hurryUp = input.time.plusSeconds(leadSeconds);
 
         boolean hasLineOfSight = pushDirection.normaliseCopy().dotProduct(carToBall.normaliseCopy()) > -.2 || input.ballPosition.z > 2;
         if (!hasLineOfSight) {
@@ -111,7 +111,7 @@ public class DribbleStep implements Step {
             } else {
                 plan = SetPieces.frontFlip();
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             }
         }
         return Optional.of(dribble);
@@ -125,7 +125,7 @@ public class DribbleStep implements Step {
         if (ballToMe.magnitude() > DRIBBLE_DISTANCE) {
             // It got away from us
             if (log) {
-                BotLog.println("Too far to dribble", input.team);
+                BotLog.println("Too far to dribble", input.playerIndex);
             }
             return false;
         }
@@ -134,28 +134,28 @@ public class DribbleStep implements Step {
                 GoalUtil.getOwnGoal(input.team).getCenter().minus(input.ballPosition).normaliseCopy()) > .9) {
             // Wrong side of ball
             if (log) {
-                BotLog.println("Wrong side of ball for dribble", input.team);
+                BotLog.println("Wrong side of ball for dribble", input.playerIndex);
             }
             return false;
         }
 
         if (VectorUtil.flatDistance(car.velocity, input.ballVelocity) > 30) {
             if (log) {
-                BotLog.println("Velocity too different to dribble.", input.team);
+                BotLog.println("Velocity too different to dribble.", input.playerIndex);
             }
             return false;
         }
 
         if (BallPhysics.getGroundBounceEnergy(new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity)) > 50) {
             if (log) {
-                BotLog.println("Ball bouncing too hard to dribble", input.team);
+                BotLog.println("Ball bouncing too hard to dribble", input.playerIndex);
             }
             return false;
         }
 
         if (car.position.z > 5) {
             if (log) {
-                BotLog.println("Car too high to dribble", input.team);
+                BotLog.println("Car too high to dribble", input.playerIndex);
             }
             return false;
         }
@@ -6,12 +6,13 @@ import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 
 import java.util.Optional;
 
 public class EscapeTheGoalStep implements Step {
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
         if (!ArenaModel.isBehindGoalLine(car.position)) {
@@ -8,7 +8,6 @@ import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.input.FullBoost;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
-import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.DistancePlot;
 import tarehart.rlbot.planning.*;
@@ -23,10 +22,10 @@ public class GetBoostStep implements Step {
 
     private Plan plan;
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (targetLocation == null) {
-            init(input);
+            init(input, context);
         }
 
         Optional<FullBoost> matchingBoost = input.fullBoosts.stream().filter(b -> b.location.distance(targetLocation.location) < 1).findFirst();
@@ -45,7 +44,7 @@ public class GetBoostStep implements Step {
         double distance = SteerUtil.getDistanceFromCar(car, targetLocation.location);
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -62,32 +61,32 @@ public class GetBoostStep implements Step {
 
 
 
-            DistancePlot distancePlot = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), car.boost);
+            DistancePlot distancePlot = context.getAcceleration(Duration.ofSeconds(4), car.boost);
             Vector2 facing = VectorUtil.orthogonal(target.flatten(), v -> v.dotProduct(toBoost) > 0).normaliseCopy();
 
             SteerPlan planForCircleTurn = SteerUtil.getPlanForCircleTurn(car, distancePlot, target.flatten(), facing);
 
             Optional<Plan> sensibleFlip = SteerUtil.getSensibleFlip(car, planForCircleTurn.waypoint);
             if (sensibleFlip.isPresent()) {
-                BotLog.println("Flipping toward boost", input.team);
+                BotLog.println("Flipping toward boost", input.playerIndex);
                 plan = sensibleFlip.get();
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             }
 
             return Optional.of(planForCircleTurn.immediateSteer);
         }
     }
 
-    private void init(AgentInput input) {
-        targetLocation = getTacticalBoostLocation(input);
+    private void init(AgentInput input, TickContext context) {
+        targetLocation = getTacticalBoostLocation(input, context);
     }
 
-    private static FullBoost getTacticalBoostLocation(AgentInput input) {
+    private static FullBoost getTacticalBoostLocation(AgentInput input, TickContext context) {
         FullBoost nearestLocation = null;
         double minTime = Double.MAX_VALUE;
         CarData carData = input.getMyCarData();
-        DistancePlot distancePlot = AccelerationModel.simulateAcceleration(carData, Duration.ofSeconds(4), carData.boost);
+        DistancePlot distancePlot = context.getAcceleration(Duration.ofSeconds(4), carData.boost);
         for (FullBoost boost: input.fullBoosts) {
             Optional<Double> travelSeconds = AccelerationModel.getTravelSeconds(carData, distancePlot, boost.location);
             if (travelSeconds.isPresent() && travelSeconds.get() < minTime &&
@@ -101,7 +100,7 @@ public class GetBoostStep implements Step {
             return nearestLocation;
         }
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(4));
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(4));
         Vector3 endpoint = ballPath.getEndpoint().getSpace();
         // Add a defensive bias.
         Vector3 idealPlaceToGetBoost = new Vector3(endpoint.x, 40 * Math.signum(GoalUtil.getOwnGoal(input.team).getCenter().y), 0);
@@ -26,10 +26,10 @@ public class GetOnOffenseStep implements Step {
         return playerToBallY * Math.signum(ownGoalCenter.y);
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -40,13 +40,13 @@ public class GetOnOffenseStep implements Step {
         if (car.boost < 10 && GetBoostStep.seesOpportunisticBoost(car, input.fullBoosts)) {
             plan = new Plan().withStep(new GetBoostStep());
             plan.begin();
-            return plan.getOutput(input);
+            return plan.getOutput(input, context);
         }
 
         Goal enemyGoal = GoalUtil.getEnemyGoal(input.team);
         Goal ownGoal = GoalUtil.getOwnGoal(input.team);
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(2));
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(2));
 
         Vector3 target = input.ballPosition;
         SpaceTimeVelocity futureMotion = ballPath.getMotionAt(input.time.plusSeconds(2)).get();
@@ -76,7 +76,7 @@ public class GetOnOffenseStep implements Step {
         }
         Vector3 targetToBallFuture = futureMotion.getSpace().minus(target);
 
-        DistancePlot plot = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), 0);
+        DistancePlot plot = context.getAcceleration(Duration.ofSeconds(4), 0);
 
 
         Optional<Vector2> circleTurnOption = SteerUtil.getWaypointForCircleTurn(car, plot, target.flatten(), targetToBallFuture.flatten().normaliseCopy());
@@ -85,10 +85,10 @@ public class GetOnOffenseStep implements Step {
             Vector2 circleTurn = circleTurnOption.get();
             Optional<Plan> sensibleFlip = SteerUtil.getSensibleFlip(car, circleTurn);
             if (sensibleFlip.isPresent()) {
-                BotLog.println("Front flip onto offense", input.team);
+                BotLog.println("Front flip onto offense", input.playerIndex);
                 this.plan = sensibleFlip.get();
                 this.plan.begin();
-                return this.plan.getOutput(input);
+                return this.plan.getOutput(input, context);
             }
 
             return Optional.of(SteerUtil.steerTowardGroundPosition(car, circleTurn));
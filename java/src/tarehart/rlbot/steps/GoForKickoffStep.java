@@ -8,6 +8,7 @@ import tarehart.rlbot.math.vector.Vector2;
 import tarehart.rlbot.planning.Plan;
 import tarehart.rlbot.planning.SetPieces;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.tuning.BotLog;
 
 import java.util.Optional;
@@ -30,10 +31,10 @@ public class GoForKickoffStep implements Step {
         UNKNOWN
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -53,7 +54,7 @@ public class GoForKickoffStep implements Step {
         if (distance < 14) {
             plan = SetPieces.frontFlip();
             plan.begin();
-            return plan.getOutput(input);
+            return plan.getOutput(input, context);
         }
 
         double ySide = Math.signum(car.position.y);
@@ -73,21 +74,21 @@ public class GoForKickoffStep implements Step {
     private KickoffType getKickoffType(CarData car) {
         double xPosition = car.position.x;
         if (getNumberDistance(CENTER_KICKOFF_X, xPosition) < WIGGLE_ROOM){
-            BotLog.println("it be center" , car.team);
+            BotLog.println("it be center" , car.playerIndex);
             return KickoffType.CENTER;
         }
 
         if (getNumberDistance(CHEATER_KICKOFF_X, Math.abs(xPosition)) < WIGGLE_ROOM){
-            BotLog.println("it be cheatin" , car.team);
+            BotLog.println("it be cheatin" , car.playerIndex);
             return KickoffType.CHEATIN;
         }
 
         if (getNumberDistance(DIAGONAL_KICKOFF_X , Math.abs(xPosition)) < WIGGLE_ROOM){
-            BotLog.println("it be slanterd" , car.team);
+            BotLog.println("it be slanterd" , car.playerIndex);
             return KickoffType.SLANTERD;
         }
 
-        BotLog.println("what on earth" , car.team);
+        BotLog.println("what on earth" , car.playerIndex);
         return KickoffType.UNKNOWN;
     }
 
@@ -2,6 +2,7 @@ package tarehart.rlbot.steps;
 
 import tarehart.rlbot.AgentInput;
 import tarehart.rlbot.AgentOutput;
+import tarehart.rlbot.planning.TickContext;
 
 import java.util.Optional;
 
@@ -11,7 +12,7 @@ public interface Step {
      * Return the output you want to pass to the bot.
      * If you pass Optional.empty(), you are declaring yourself to be complete.
      */
-    Optional<AgentOutput> getOutput(AgentInput input);
+    Optional<AgentOutput> getOutput(AgentInput input, TickContext context);
 
     /**
      * Return true if you know that you're complete without even looking at the input.
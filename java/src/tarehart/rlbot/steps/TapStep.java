@@ -3,15 +3,16 @@ package tarehart.rlbot.steps;
 import tarehart.rlbot.AgentInput;
 import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.tuning.BotLog;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.planning.TickContext;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class TapStep implements Step {
     private AgentOutput output;
     private int numFrames;
     private int frameCount;
-    private LocalDateTime previousTime;
+    private GameTime previousTime;
 
     public TapStep(AgentOutput output) {
         this(1, output);
@@ -22,7 +23,7 @@ public class TapStep implements Step {
         this.numFrames = numFrames;
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (previousTime == null || input.time.isAfter(previousTime)) {
             frameCount++;
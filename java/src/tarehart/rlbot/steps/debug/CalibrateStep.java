@@ -3,20 +3,23 @@ package tarehart.rlbot.steps.debug;
 import tarehart.rlbot.AgentInput;
 import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.tuning.BotLog;
+import tarehart.rlbot.planning.TickContext;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class CalibrateStep implements Step {
 
     public static final double TINY_VALUE = .0001;
-    private LocalDateTime gameClockStart;
+    private GameTime gameClockStart;
     private LocalDateTime wallClockStart;
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
 
@@ -29,8 +32,8 @@ public class CalibrateStep implements Step {
             if (car.spin.yawRate > TINY_VALUE) {
                 BotLog.println(String.format("Game Latency: %s \nWall Latency: %s",
                         TimeUtil.secondsBetween(gameClockStart, input.time),
-                        TimeUtil.secondsBetween(wallClockStart, LocalDateTime.now())),
-                        input.team);
+                        Duration.between(wallClockStart, LocalDateTime.now()).toMillis() / 1000.0),
+                        input.playerIndex);
                 return Optional.empty();
             }
             return Optional.of(new AgentOutput().withSteer(1).withAcceleration(1));
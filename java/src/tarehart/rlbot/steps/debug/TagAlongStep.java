@@ -6,10 +6,10 @@ import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.VectorUtil;
 import tarehart.rlbot.physics.DistancePlot;
-import tarehart.rlbot.planning.AccelerationModel;
 import tarehart.rlbot.planning.Plan;
 import tarehart.rlbot.planning.SteerPlan;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.tuning.BotLog;
 
@@ -21,10 +21,10 @@ public class TagAlongStep implements Step {
     private Plan plan;
 
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -32,7 +32,7 @@ public class TagAlongStep implements Step {
 
         CarData car = input.getMyCarData();
         CarData enemyCar = input.getEnemyCarData().get();
-        DistancePlot fullAcceleration = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), car.boost, 0);
+        DistancePlot fullAcceleration = context.getAcceleration(Duration.ofSeconds(4), car.boost, 0);
 
         Vector2 waypoint = enemyCar.position.plus(enemyCar.orientation.rightVector.scaled(4)).flatten();
         Vector2 targetFacing = enemyCar.orientation.noseVector.flatten();
@@ -40,10 +40,10 @@ public class TagAlongStep implements Step {
 
         Optional<Plan> sensibleFlip = SteerUtil.getSensibleFlip(car, steerPlan.waypoint);
         if (sensibleFlip.isPresent()) {
-            BotLog.println("Front flip toward tag along", input.team);
+            BotLog.println("Front flip toward tag along", input.playerIndex);
             this.plan = sensibleFlip.get();
             this.plan.begin();
-            return this.plan.getOutput(input);
+            return this.plan.getOutput(input, context);
         }
 
         return Optional.of(steerPlan.immediateSteer);
@@ -6,9 +6,9 @@ import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.math.vector.Vector2;
 import tarehart.rlbot.math.vector.Vector3;
-import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.DistancePlot;
 import tarehart.rlbot.planning.*;
@@ -16,7 +16,6 @@ import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.tuning.BotLog;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class GetOnDefenseStep implements Step {
@@ -25,15 +24,15 @@ public class GetOnDefenseStep implements Step {
     private static final double AWAY_FROM_GOAL = 3;
     private static final double LIFESPAN = 3; // seconds
     private Plan plan;
-    private LocalDateTime startTime;
+    private GameTime startTime;
 
     public GetOnDefenseStep() {
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -49,7 +48,7 @@ public class GetOnDefenseStep implements Step {
 
         CarData car = input.getMyCarData();
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, 3);
+        BallPath ballPath = context.getBallPath(3);
         SpaceTimeVelocity ballMotion = ballPath.getMotionAt(input.time.plusSeconds(3)).get();
 
         Vector3 goalCenter = GoalUtil.getOwnGoal(input.team).getCenter();
@@ -57,16 +56,16 @@ public class GetOnDefenseStep implements Step {
         Vector2 targetFacing = new Vector2(-Math.signum(targetPosition.x), 0);
 
         double distance = car.position.flatten().distance(targetPosition);
-        DistancePlot distancePlot = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(5), car.boost - 20, distance);
+        DistancePlot distancePlot = context.getAcceleration(Duration.ofSeconds(5), car.boost - 20, distance);
 
         SteerPlan planForCircleTurn = SteerUtil.getPlanForCircleTurn(car, distancePlot, targetPosition, targetFacing);
 
         Optional<Plan> sensibleFlip = SteerUtil.getSensibleFlip(car, planForCircleTurn.waypoint);
         if (sensibleFlip.isPresent()) {
-            BotLog.println("Front flip for defense", input.team);
+            BotLog.println("Front flip for defense", input.playerIndex);
             plan = sensibleFlip.get();
             plan.begin();
-            return plan.getOutput(input);
+            return plan.getOutput(input, context);
         } else {
             return Optional.of(planForCircleTurn.immediateSteer);
         }
@@ -6,11 +6,11 @@ import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
-import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.planning.CarIntercept;
 import tarehart.rlbot.planning.Goal;
 import tarehart.rlbot.planning.GoalUtil;
-import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -18,10 +18,10 @@ import java.util.Optional;
 public class ThreatAssessor {
 
 
-    public double measureThreat(AgentInput input) {
+    public double measureThreat(AgentInput input, TickContext context) {
 
         double enemyPosture = measureEnemyPosture(input);
-        double enemyInitiative = measureEnemyInitiative(input);
+        double enemyInitiative = measureEnemyInitiative(context);
         double ballThreat = measureBallThreat(input) *  .3;
 
         double enemyThreat = enemyPosture > 0 && enemyInitiative > .2 ? 10 : 0;
@@ -30,15 +30,13 @@ public class ThreatAssessor {
 
     }
 
-    private double measureEnemyInitiative(AgentInput input) {
+    private double measureEnemyInitiative(TickContext context) {
 
         Duration simDuration = Duration.ofSeconds(4);
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, simDuration);
+        BallPath ballPath = context.getBallPath(simDuration);
 
-        CarData myCar = input.getMyCarData();
-
-        Optional<SpaceTime> myInterceptOption = SteerUtil.getInterceptOpportunityAssumingMaxAccel(myCar, ballPath, myCar.boost);
-        Optional<SpaceTime> enemyInterceptOption = input.getEnemyCarData().flatMap(enemyCar -> SteerUtil.getInterceptOpportunityAssumingMaxAccel(enemyCar, ballPath, enemyCar.boost));
+        Optional<SpaceTime> myInterceptOption = context.getMaxAccelIntercept(ballPath);
+        Optional<CarIntercept> enemyInterceptOption = context.getEnemyIntercept(ballPath);
 
         if (!enemyInterceptOption.isPresent()) {
             return 0;
@@ -49,7 +47,7 @@ public class ThreatAssessor {
         }
 
         SpaceTime myIntercept = myInterceptOption.get();
-        SpaceTime enemyIntercept = enemyInterceptOption.get();
+        SpaceTime enemyIntercept = enemyInterceptOption.get().spaceTime;
 
         return TimeUtil.secondsBetween(myIntercept.time, enemyIntercept.time);
     }
@@ -59,7 +57,7 @@ public class ThreatAssessor {
         Goal myGoal = GoalUtil.getOwnGoal(input.team);
         Vector3 ballToGoal = myGoal.getCenter().minus(input.ballPosition);
 
-        Vector3 carToBall = input.getEnemyCarData().map(enemyCar -> input.ballPosition.minus(enemyCar.position)).orElse(new Vector3());
+        Vector3 carToBall = input.getEnemyNearestBall().map(enemyCar -> input.ballPosition.minus(enemyCar.position)).orElse(new Vector3());
         Vector3 rightSideVector = VectorUtil.project(carToBall, ballToGoal);
 
         return rightSideVector.magnitude() * Math.signum(rightSideVector.dotProduct(ballToGoal));
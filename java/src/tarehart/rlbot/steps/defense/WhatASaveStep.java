@@ -8,7 +8,6 @@ import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.math.VectorUtil;
-import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.DistancePlot;
 import tarehart.rlbot.planning.*;
@@ -25,19 +24,19 @@ public class WhatASaveStep implements Step {
     private Double whichPost;
 
     @Override
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
         }
 
         CarData car = input.getMyCarData();
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(5));
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(5));
         Goal goal = GoalUtil.getOwnGoal(input.team);
-        Optional<SpaceTimeVelocity> currentThreat = GoalUtil.predictGoalEvent(goal, ballPath);
+        Optional<SpaceTimeVelocity> currentThreat = GoalUtil.predictLikelyGoalEvent(goal, ballPath, context);
         if (!currentThreat.isPresent()) {
             return Optional.empty();
         }
@@ -54,7 +53,7 @@ public class WhatASaveStep implements Step {
         }
 
         double distance = VectorUtil.flatDistance(car.position, threat.getSpace());
-        DistancePlot plot = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(5), car.boost, distance - 15);
+        DistancePlot plot = context.getAcceleration(Duration.ofSeconds(5), car.boost, distance - 15);
 
 
         SpaceTime intercept = SteerUtil.getInterceptOpportunity(car, ballPath, plot).orElse(threat.toSpaceTime());
@@ -67,7 +66,7 @@ public class WhatASaveStep implements Step {
 
                 plan = new Plan(Plan.Posture.SAVE).withStep(new InterceptStep(new Vector3(0, Math.signum(goal.getCenter().y) * 1.5, 0)));
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             } else {
                 return Optional.of(SteerUtil.steerTowardGroundPosition(car, intercept.space));
             }
@@ -75,7 +74,7 @@ public class WhatASaveStep implements Step {
 
         plan = new Plan().withStep(new DirectedSideHitStep(new KickAwayFromOwnGoal()));
         plan.begin();
-        return plan.getOutput(input);
+        return plan.getOutput(input, context);
     }
 
     @Override
@@ -10,6 +10,7 @@ import tarehart.rlbot.input.CarOrientation;
 import tarehart.rlbot.math.VectorUtil;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.planning.Plan;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.steps.rotation.PitchToPlaneStep;
 import tarehart.rlbot.steps.rotation.RollToPlaneStep;
@@ -43,20 +44,20 @@ public class LandGracefullyStep implements Step {
         this.facingFn = facingFn;
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
         if (ArenaModel.isCarOnWall(car) || ArenaModel.isNearFloorEdge(car)) {
 
-            if (WallTouchStep.hasWallTouchOpportunity(input, ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(4)))) {
+            if (WallTouchStep.hasWallTouchOpportunity(input, context.getBallPath(Duration.ofSeconds(4)))) {
                 plan = new Plan().withStep(new WallTouchStep());
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             }
 
             plan = new Plan().withStep(new DescendFromWallStep());
             plan.begin();
-            return plan.getOutput(input);
+            return plan.getOutput(input, context);
         }
 
         if (car.position.z < NEEDS_LANDING_HEIGHT || ArenaModel.isBehindGoalLine(car.position)) {
@@ -68,7 +69,7 @@ public class LandGracefullyStep implements Step {
             plan.begin();
         }
 
-        return plan.getOutput(input);
+        return plan.getOutput(input, context);
     }
 
     private static Plan planRotation(CarData car, Function<AgentInput, Vector2> facingFn, Bot.Team team) {
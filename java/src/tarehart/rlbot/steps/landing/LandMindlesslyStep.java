@@ -6,13 +6,14 @@ import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.steps.Step;
 
 import java.util.Optional;
 
 public class LandMindlesslyStep implements Step {
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
         if (car.position.z < .40f || ArenaModel.isCarNearWall(car) && car.position.z < 5) {
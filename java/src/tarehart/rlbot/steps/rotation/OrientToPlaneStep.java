@@ -6,6 +6,7 @@ import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.VectorUtil;
 import tarehart.rlbot.steps.Step;
+import tarehart.rlbot.planning.TickContext;
 
 import java.util.Optional;
 import java.util.function.Function;
@@ -85,7 +86,7 @@ public abstract class OrientToPlaneStep implements Step {
     }
 
     @Override
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
 
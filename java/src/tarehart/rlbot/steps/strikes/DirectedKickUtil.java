@@ -5,11 +5,13 @@ import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.AgentInput;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.*;
-import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.physics.DistancePlot;
 import tarehart.rlbot.planning.AccelerationModel;
 import tarehart.rlbot.planning.AirTouchPlanner;
 import tarehart.rlbot.planning.SteerUtil;
 import tarehart.rlbot.planning.StrikeProfile;
+import tarehart.rlbot.planning.TickContext;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -17,20 +19,33 @@ import java.util.Optional;
 public class DirectedKickUtil {
     private static final double BALL_VELOCITY_INFLUENCE = .3;
     private static final double SIDE_HIT_SPEED = 20;
+    static final Duration PLAN_HORIZON = Duration.ofSeconds(4);
 
-    public static Optional<DirectedKickPlan> planKick(AgentInput input, KickStrategy kickStrategy, boolean isSideHit) {
+    public static Optional<DirectedKickPlan> planKick(AgentInput input, TickContext context, KickStrategy kickStrategy, boolean isSideHit) {
         Vector3 interceptModifier = kickStrategy.getKickDirection(input).normaliseCopy().scaled(-2);
-        return planKick(input, kickStrategy, isSideHit, interceptModifier, new StrikeProfile(.5, 0, 0));
+        return planKick(input, context, kickStrategy, isSideHit, interceptModifier, new StrikeProfile(.5, 0, 0));
     }
 
-    static Optional<DirectedKickPlan> planKick(AgentInput input, KickStrategy kickStrategy, boolean isSideHit, Vector3 interceptModifier, StrikeProfile strikeProfile) {
+    static Optional<DirectedKickPlan> planKick(AgentInput input, TickContext context, KickStrategy kickStrategy, boolean isSideHit, Vector3 interceptModifier, StrikeProfile strikeProfile) {
+        BallPath ballPath = context.getBallPath(PLAN_HORIZON);
+        DistancePlot distancePlot = context.getAcceleration(PLAN_HORIZON, input.getMyCarData().boost, 0);
+        return planKick(input, ballPath, distancePlot, kickStrategy, isSideHit, interceptModifier, strikeProfile);
+    }
+
+    /**
+     * Doesn't touch the tick context, so it's safe to call from other threads.
+     */
+    static Optional<DirectedKickPlan> planKick(
+            AgentInput input, BallPath ballPath, DistancePlot distancePlot, KickStrategy kickStrategy,
+            boolean isSideHit, Vector3 interceptModifier, StrikeProfile strikeProfile) {
+
         final DirectedKickPlan kickPlan = new DirectedKickPlan();
         kickPlan.interceptModifier = interceptModifier;
 
         CarData car = input.getMyCarData();
 
-        kickPlan.ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(4));
-        kickPlan.distancePlot = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), car.boost, 0);
+        kickPlan.ballPath = ballPath;
+        kickPlan.distancePlot = distancePlot;
 
         Optional<SpaceTime> interceptOpportunity = SteerUtil.getFilteredInterceptOpportunity(car, kickPlan.ballPath, kickPlan.distancePlot, interceptModifier, AirTouchPlanner::isJumpSideFlipAccessible, strikeProfile);
         Optional<SpaceTimeVelocity> ballMotion = interceptOpportunity.flatMap(inter -> kickPlan.ballPath.getMotionAt(inter.time));
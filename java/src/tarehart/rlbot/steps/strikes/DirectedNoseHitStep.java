@@ -13,18 +13,21 @@ import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.tuning.BotLog;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class DirectedNoseHitStep implements Step {
 
     public static final double MAX_NOSE_HIT_ANGLE = Math.PI / 18;
     private static final double MANEUVER_SECONDS_PER_RADIAN = .1;
+    private static final double INTERCEPT_OFFSET = 1.4;
+
     private Plan plan;
 
     private Vector3 originalIntercept;
-    private LocalDateTime doneMoment;
+    private GameTime doneMoment;
     private KickStrategy kickStrategy;
+    private ShotSearch shotSearch;
+    private ShotSearch.Shot adoptedShot;
     private Vector3 interceptModifier = null;
     private double maneuverSeconds = 0;
     private Double circleBackoff = null;
@@ -32,7 +35,15 @@ public class DirectedNoseHitStep implements Step {
     private double estimatedAngleOfKickFromApproach;
 
     public DirectedNoseHitStep(KickStrategy kickStrategy) {
+        this(kickStrategy, new ShotSearch(kickStrategy));
+    }
+
+    /**
+     * @param shotSearch picks where to hit the ball. Pass one in to share what it already found.
+     */
+    public DirectedNoseHitStep(KickStrategy kickStrategy, ShotSearch shotSearch) {
         this.kickStrategy = kickStrategy;
+        this.shotSearch = shotSearch;
     }
 
     public static boolean canMakeDirectedKick(AgentInput input, KickStrategy kickStrategy) {
@@ -53,7 +64,7 @@ public class DirectedNoseHitStep implements Step {
         return estimatedAngleOfKickFromApproach;
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
 
@@ -63,7 +74,7 @@ public class DirectedNoseHitStep implements Step {
         }
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -77,13 +88,24 @@ public class DirectedNoseHitStep implements Step {
             return Optional.empty();
         }
 
+        // Only does real work when the ball has gone somewhere the last search didn't expect.
+        Optional<ShotSearch.Shot> shot = shotSearch.getBestShot(input, context, new StrikeProfile(maneuverSeconds, 0, 0));
+
+        // Keep aiming at the shot we picked until it stops being any good. Taking whatever each search says would
+        // move the strike point around from tick to tick, since a search cut short by its deadline can come back
+        // with a different winner.
+        if (shot.isPresent() && (adoptedShot == null || !ShotSearch.isStillGood(adoptedShot, input))) {
+            adoptedShot = shot.get();
+            interceptModifier = adoptedShot.interceptModifier;
+        }
+
         final Optional<DirectedKickPlan> kickPlanOption;
         if (interceptModifier != null) {
 
             StrikeProfile strikeProfile = new StrikeProfile(maneuverSeconds, 0, 0);
-            kickPlanOption = DirectedKickUtil.planKick(input, kickStrategy, false, interceptModifier, strikeProfile);
+            kickPlanOption = DirectedKickUtil.planKick(input, context, kickStrategy, false, interceptModifier, strikeProfile);
         } else {
-            kickPlanOption = DirectedKickUtil.planKick(input, kickStrategy, false);
+            kickPlanOption = DirectedKickUtil.planKick(input, context, kickStrategy, false);
         }
 
         if (!kickPlanOption.isPresent()) {
@@ -96,7 +118,7 @@ public class DirectedNoseHitStep implements Step {
             originalIntercept = kickPlan.ballAtIntercept.getSpace();
         } else {
             if (originalIntercept.distance(kickPlan.ballAtIntercept.getSpace()) > 30) {
-                BotLog.println("Failed to make the nose hit", input.team);
+                BotLog.println("Failed to make the nose hit", input.playerIndex);
                 return Optional.empty(); // Failed to kick it soon enough, new stuff has happened.
             }
         }
@@ -117,14 +139,14 @@ public class DirectedNoseHitStep implements Step {
 
 
         if (interceptModifier == null) {
-            interceptModifier = kickPlan.plannedKickForce.scaledToMagnitude(-1.4);
+            interceptModifier = kickPlan.plannedKickForce.scaledToMagnitude(-INTERCEPT_OFFSET);
         }
 
         if (carPositionAtIntercept.z > 2 && Math.abs(estimatedAngleOfKickFromApproach) < Math.PI / 12 && Math.abs(rendezvousCorrection) < Math.PI / 12) {
 
             plan = new Plan().withStep(new InterceptStep(interceptModifier));
             plan.begin();
-            return plan.getOutput(input);
+            return plan.getOutput(input, context);
         }
 
         if (Math.abs(estimatedAngleOfKickFromApproach) < MAX_NOSE_HIT_ANGLE) {
@@ -140,23 +162,23 @@ public class DirectedNoseHitStep implements Step {
             // Line up for a nose hit
             circleTurnPlan = SteerUtil.getPlanForCircleTurn(car, kickPlan.distancePlot, circleTerminus, terminusFacing);
             if (ArenaModel.getDistanceFromWall(new Vector3(circleTurnPlan.waypoint.x, circleTurnPlan.waypoint.y, 0)) < -1) {
-                BotLog.println("Failing nose hit because waypoint is out of bounds", input.team);
+                BotLog.println("Failing nose hit because waypoint is out of bounds", input.playerIndex);
                 return Optional.empty();
             }
         }
 
-        return getNavigation(input, circleTurnPlan);
+        return getNavigation(input, context, circleTurnPlan);
     }
 
-    private Optional<AgentOutput> getNavigation(AgentInput input, SteerPlan circleTurnOption) {
+    private Optional<AgentOutput> getNavigation(AgentInput input, TickContext context, SteerPlan circleTurnOption) {
         CarData car = input.getMyCarData();
 
         Optional<Plan> sensibleFlip = SteerUtil.getSensibleFlip(car, circleTurnOption.waypoint);
         if (sensibleFlip.isPresent()) {
-            BotLog.println("Front flip toward nose hit", input.team);
+            BotLog.println("Front flip toward nose hit", input.playerIndex);
             this.plan = sensibleFlip.get();
             this.plan.begin();
-            return this.plan.getOutput(input);
+            return this.plan.getOutput(input, context);
         }
 
         return Optional.of(circleTurnOption.immediateSteer);
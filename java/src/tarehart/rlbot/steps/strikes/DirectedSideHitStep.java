@@ -5,16 +5,14 @@ import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.AgentInput;
 import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.input.CarData;
-import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
-import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.planning.*;
 import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.tuning.BotLog;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class DirectedSideHitStep implements Step {
@@ -27,7 +25,7 @@ public class DirectedSideHitStep implements Step {
     private Plan plan;
 
     private Vector3 originalIntercept;
-    private LocalDateTime doneMoment;
+    private GameTime doneMoment;
     private KickStrategy kickStrategy;
     private Vector3 interceptModifier = null;
     private double maneuverSeconds = 0;
@@ -38,12 +36,12 @@ public class DirectedSideHitStep implements Step {
         this.kickStrategy = kickStrategy;
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -56,14 +54,14 @@ public class DirectedSideHitStep implements Step {
         final Optional<DirectedKickPlan> kickPlanOption;
         if (interceptModifier != null) {
             StrikeProfile strikeProfile = new StrikeProfile(maneuverSeconds, 0, 0);
-            kickPlanOption = DirectedKickUtil.planKick(input, kickStrategy, true, interceptModifier, strikeProfile);
+            kickPlanOption = DirectedKickUtil.planKick(input, context, kickStrategy, true, interceptModifier, strikeProfile);
         } else {
-            kickPlanOption = DirectedKickUtil.planKick(input, kickStrategy, true);
+            kickPlanOption = DirectedKickUtil.planKick(input, context, kickStrategy, true);
         }
 
         if (!kickPlanOption.isPresent()) {
-            BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(4));
-            return getNavigation(input, new SteerPlan(input.getMyCarData(), ballPath.getEndpoint().getSpace()));
+            BallPath ballPath = context.getBallPath(Duration.ofSeconds(4));
+            return getNavigation(input, context, new SteerPlan(input.getMyCarData(), ballPath.getEndpoint().getSpace()));
         }
 
         DirectedKickPlan kickPlan = kickPlanOption.get();
@@ -77,7 +75,7 @@ public class DirectedSideHitStep implements Step {
             originalIntercept = kickPlan.ballAtIntercept.getSpace();
         } else {
             if (originalIntercept.distance(kickPlan.ballAtIntercept.getSpace()) > 30) {
-                BotLog.println("Failed to make the directed kick", input.team);
+                BotLog.println("Failed to make the directed kick", input.playerIndex);
                 return Optional.empty(); // Failed to kick it soon enough, new stuff has happened.
             }
         }
@@ -88,7 +86,7 @@ public class DirectedSideHitStep implements Step {
         Vector2 orthogonalPoint = carPositionAtIntercept.flatten();
 
         if (finalApproach) {
-            return performFinalApproach(input, orthogonalPoint, kickPlan, carPositionAtIntercept, strikeDirection);
+            return performFinalApproach(input, context, orthogonalPoint, kickPlan, carPositionAtIntercept, strikeDirection);
         }
 
         double strikeTime = getStrikeTime(carPositionAtIntercept, APPROACH_DISTANCE);
@@ -106,11 +104,11 @@ public class DirectedSideHitStep implements Step {
         Vector2 carNose = car.orientation.noseVector.flatten();
         double angle = Vector2.angle(carNose, facingForSideFlip);
         if (distance < backoff + 3 && angle < Math.PI / 8) {
-            doneMoment = input.time.plus(TimeUtil.toDuration(strikeTime + .5));
+            doneMoment = input.time.plusSeconds(strikeTime + .5);
             finalApproach = true;
             maneuverSeconds = 0;
             // Done with the circle turn. Drive toward the orthogonal point and wait for the right moment to launch.
-            return performFinalApproach(input, orthogonalPoint, kickPlan, carPositionAtIntercept, strikeDirection);
+            return performFinalApproach(input, context, orthogonalPoint, kickPlan, carPositionAtIntercept, strikeDirection);
         }
 
 
@@ -118,7 +116,7 @@ public class DirectedSideHitStep implements Step {
 
         SteerPlan circleTurnPlan = SteerUtil.getPlanForCircleTurn(car, kickPlan.distancePlot, steerTarget, facingForSideFlip);
 
-        return getNavigation(input, circleTurnPlan);
+        return getNavigation(input, context, circleTurnPlan);
     }
 
     private double getStrikeTime(Vector3 carPositionAtIntercept, double approachDistance) {
@@ -126,7 +124,7 @@ public class DirectedSideHitStep implements Step {
         return jumpTime + approachDistance / SIDE_FLIP_SPEED;
     }
 
-    private Optional<AgentOutput> performFinalApproach(AgentInput input, Vector2 orthogonalPoint, DirectedKickPlan kickPlan, Vector3 carPositionAtIntercept, Vector2 strikeDirection) {
+    private Optional<AgentOutput> performFinalApproach(AgentInput input, TickContext context, Vector2 orthogonalPoint, DirectedKickPlan kickPlan, Vector3 carPositionAtIntercept, Vector2 strikeDirection) {
 
         // You're probably darn close to flip time.
 
@@ -146,9 +144,9 @@ public class DirectedSideHitStep implements Step {
             double strikeForceCorrection = DirectedKickUtil.getAngleOfKickFromApproach(car, kickPlan);
             plan = SetPieces.jumpSideFlip(strikeForceCorrection > 0, jumpTime);
             plan.begin();
-            return plan.getOutput(input);
+            return plan.getOutput(input, context);
         } else {
-            BotLog.println(String.format("Side flip soon. Distance: %.2f", distance), input.team);
+            BotLog.println(String.format("Side flip soon. Distance: %.2f", distance), input.playerIndex);
             return Optional.of(SteerUtil.steerTowardGroundPosition(car, orthogonalPoint));
         }
     }
@@ -157,16 +155,16 @@ public class DirectedSideHitStep implements Step {
         return (carPositionAtIntercept.z - AirTouchPlanner.CAR_BASE_HEIGHT - .1) * JUMP_TIME_PER_HEIGHT;
     }
 
-    private Optional<AgentOutput> getNavigation(AgentInput input, SteerPlan circleTurnOption) {
+    private Optional<AgentOutput> getNavigation(AgentInput input, TickContext context, SteerPlan circleTurnOption) {
         CarData car = input.getMyCarData();
 
         if (car.boost == 0) {
             Optional<Plan> sensibleFlip = SteerUtil.getSensibleFlip(car, circleTurnOption.waypoint);
             if (sensibleFlip.isPresent()) {
-                BotLog.println("Front flip toward side hit", input.team);
+                BotLog.println("Front flip toward side hit", input.playerIndex);
                 this.plan = sensibleFlip.get();
                 this.plan.begin();
-                return this.plan.getOutput(input);
+                return this.plan.getOutput(input, context);
             }
         }
 
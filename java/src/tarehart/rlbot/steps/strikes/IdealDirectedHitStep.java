@@ -2,6 +2,8 @@ package tarehart.rlbot.steps.strikes;
 
 import tarehart.rlbot.AgentInput;
 import tarehart.rlbot.AgentOutput;
+import tarehart.rlbot.planning.StrikeProfile;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.steps.Step;
 
 import java.util.Optional;
@@ -11,12 +13,15 @@ public class IdealDirectedHitStep implements Step {
     private final KickStrategy kickStrategy;
     private Step proxyStep;
 
-    public IdealDirectedHitStep(KickStrategy kickStrategy, AgentInput input) {
+    public IdealDirectedHitStep(KickStrategy kickStrategy, AgentInput input, TickContext context) {
         this.kickStrategy = kickStrategy;
 
-        DirectedNoseHitStep noseHit = new DirectedNoseHitStep(kickStrategy);
+        // The nose hit shares the search, so it starts from the shot we pick with here.
+        ShotSearch shotSearch = new ShotSearch(kickStrategy);
+        Optional<ShotSearch.Shot> shot = shotSearch.getBestShot(input, context, new StrikeProfile(0, 0, 0));
+        DirectedNoseHitStep noseHit = new DirectedNoseHitStep(kickStrategy, shotSearch);
 
-        if (noseHit.getOutput(input).isPresent() && Math.abs(noseHit.getEstimatedAngleOfKickFromApproach()) < Math.PI / 2) {
+        if (shot.isPresent() && Math.abs(shot.get().angleOfKickFromApproach) < Math.PI / 2 && noseHit.getOutput(input, context).isPresent()) {
             proxyStep = noseHit;
         } else {
             proxyStep = new DirectedSideHitStep(kickStrategy);
@@ -24,8 +29,8 @@ public class IdealDirectedHitStep implements Step {
     }
 
     @Override
-    public Optional<AgentOutput> getOutput(AgentInput input) {
-        return proxyStep.getOutput(input);
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
+        return proxyStep.getOutput(input, context);
     }
 
     @Override
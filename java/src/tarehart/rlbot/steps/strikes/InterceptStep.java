@@ -6,7 +6,7 @@ import tarehart.rlbot.AgentOutput;
 import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.TimeUtil;
-import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.DistancePlot;
 import tarehart.rlbot.planning.*;
@@ -14,11 +14,9 @@ import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.tuning.BotLog;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class InterceptStep implements Step {
 
@@ -26,19 +24,20 @@ public class InterceptStep implements Step {
     public static final StrikeProfile JUMP_HIT_STRIKE_PROFILE = new StrikeProfile(0, 10, 1.5);
     public static final StrikeProfile FLIP_HIT_STRIKE_PROFILE = new StrikeProfile(0, 10, .9);
     public static final double PROBABLY_TOUCHING_THRESHOLD = 5.5;
+    private static final Vector3 UP = new Vector3(0, 0, 1);
     private Plan plan;
     private Vector3 interceptModifier;
-    private LocalDateTime doneMoment;
+    private GameTime doneMoment;
     private Intercept originalIntercept;
 
     public InterceptStep(Vector3 interceptModifier) {
         this.interceptModifier = interceptModifier;
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null && !plan.isComplete()) {
-            Optional<AgentOutput> output = plan.getOutput(input);
+            Optional<AgentOutput> output = plan.getOutput(input, context);
             if (output.isPresent()) {
                 return output;
             }
@@ -56,16 +55,16 @@ public class InterceptStep implements Step {
             doneMoment = input.time.plus(Duration.ofMillis(1000));
         }
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(4));
-        DistancePlot fullAcceleration = AccelerationModel.simulateAcceleration(carData, Duration.ofSeconds(4), carData.boost, 0);
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(4));
+        DistancePlot fullAcceleration = context.getAcceleration(Duration.ofSeconds(4), carData.boost, 0);
 
-        Optional<Intercept> chosenIntercept = getSoonestIntercept(carData, ballPath, fullAcceleration, interceptModifier);
+        Optional<Intercept> chosenIntercept = context.getSoonestIntercept(ballPath, fullAcceleration, interceptModifier);
         Optional<Plan> launchPlan = chosenIntercept.flatMap(cept -> InterceptPlanner.planImmediateLaunch(input.getMyCarData(), cept.toSpaceTime()));
         if (launchPlan.isPresent()) {
             plan = launchPlan.get();
             plan.unstoppable();
             plan.begin();
-            return plan.getOutput(input);
+            return plan.getOutput(input, context);
         }
 
         if (chosenIntercept.isPresent()) {
@@ -74,9 +73,9 @@ public class InterceptStep implements Step {
             } else {
                 if (TimeUtil.secondsBetween(originalIntercept.getTime(), chosenIntercept.get().getTime()) > 3 && distanceFromBall > PROBABLY_TOUCHING_THRESHOLD) {
                     if (doneMoment != null) {
-                        BotLog.println("Probably intercepted successfully", input.team);
+                        BotLog.println("Probably intercepted successfully", input.playerIndex);
                     } else {
-                        BotLog.println("Failed to make the intercept", input.team);
+                        BotLog.println("Failed to make the intercept", input.playerIndex);
                     }
                     return Optional.empty(); // Failed to kick it soon enough, new stuff has happened.
                 }
@@ -84,34 +83,59 @@ public class InterceptStep implements Step {
         }
 
 
-        return chosenIntercept.map(intercept -> getThereOnTime(input, intercept));
+        return chosenIntercept.map(intercept -> getThereOnTime(input, context, intercept));
     }
 
     public static Optional<Intercept> getSoonestIntercept(CarData carData, BallPath ballPath, DistancePlot fullAcceleration, Vector3 interceptModifier) {
-        List<Intercept> interceptOptions = new ArrayList<>();
-        getAerialIntercept(carData, ballPath, interceptModifier).ifPresent(interceptOptions::add);
-        getJumpHitIntercept(carData, ballPath, fullAcceleration, interceptModifier).ifPresent(interceptOptions::add);
-        getFlipHitIntercept(carData, ballPath, fullAcceleration, interceptModifier).ifPresent(interceptOptions::add);
+        return getSoonestIntercept(carData, ballPath, fullAcceleration, interceptModifier,
+                () -> AccelerationModel.simulateAcceleration(carData, Duration.ofSeconds(4), AirTouchPlanner.getBoostBudget(carData), 0));
+    }
+
+    /**
+     * Lets the context hand over its own copy of the aerial acceleration plot rather than simulating a new one.
+     */
+    public static Optional<Intercept> getSoonestIntercept(CarData carData, BallPath ballPath, DistancePlot fullAcceleration, Vector3 interceptModifier, TickContext context) {
+        return getSoonestIntercept(carData, ballPath, fullAcceleration, interceptModifier,
+                () -> context.getAcceleration(carData, Duration.ofSeconds(4), AirTouchPlanner.getBoostBudget(carData), 0));
+    }
 
-        return interceptOptions.stream().sorted(Comparator.comparing(Intercept::getTime)).findFirst();
+    private static Optional<Intercept> getSoonestIntercept(CarData carData, BallPath ballPath, DistancePlot fullAcceleration, Vector3 interceptModifier, Supplier<DistancePlot> budgetAcceleration) {
+        return getStrikeRace(carData, ballPath, fullAcceleration, interceptModifier, budgetAcceleration).run();
     }
 
-    private static Optional<Intercept> getAerialIntercept(CarData carData, BallPath ballPath, Vector3 interceptModifier) {
+    /**
+     * A race between the aerial, jump hit and flip hit intercepts. Other steps can add their own kinds of strike
+     * before running it.
+     *
+     * Candidates can keep running on the pool after the race gives up on them, while the tick goes on growing the
+     * path it was handed, so they each search a snapshot of it instead.
+     */
+    public static InterceptRace<Intercept> getStrikeRace(CarData carData, BallPath fullPath, DistancePlot fullAcceleration, Vector3 interceptModifier, Supplier<DistancePlot> budgetAcceleration) {
+        BallPath ballPath = fullPath.copyUntil(fullPath.getEndpoint().getTime());
+        InterceptRace<Intercept> race = new InterceptRace<>(Intercept::getTime);
         if (carData.boost >= AirTouchPlanner.BOOST_NEEDED_FOR_AERIAL) {
-            DistancePlot budgetAcceleration = AccelerationModel.simulateAcceleration(carData, Duration.ofSeconds(4), AirTouchPlanner.getBoostBudget(carData), 0);
-            Optional<SpaceTime> budgetInterceptOpportunity = SteerUtil.getFilteredInterceptOpportunity(carData, ballPath, budgetAcceleration, interceptModifier, AirTouchPlanner::isVerticallyAccessible, AERIAL_STRIKE_PROFILE);
-            if (budgetInterceptOpportunity.isPresent()) {
-                SpaceTime spaceTime = budgetInterceptOpportunity.get();
-                if (budgetInterceptOpportunity.get().space.z > AirTouchPlanner.NEEDS_AERIAL_THRESHOLD) {
-                    return Optional.of(new Intercept(spaceTime.space, spaceTime.time, AirTouchPlanner.BOOST_NEEDED_FOR_AERIAL, AERIAL_STRIKE_PROFILE));
-                }
+            // Get the plot here rather than on the pool; whoever supplies it might not be thread safe.
+            DistancePlot budget = budgetAcceleration.get();
+            race.withCandidate(giveUpAt -> getAerialIntercept(carData, ballPath, budget, interceptModifier, giveUpAt));
+        }
+        race.withCandidate(giveUpAt -> getJumpHitIntercept(carData, ballPath, fullAcceleration, interceptModifier, giveUpAt));
+        race.withCandidate(giveUpAt -> getFlipHitIntercept(carData, ballPath, fullAcceleration, interceptModifier, giveUpAt));
+        return race;
+    }
+
+    private static Optional<Intercept> getAerialIntercept(CarData carData, BallPath ballPath, DistancePlot budgetAcceleration, Vector3 interceptModifier, Predicate<GameTime> giveUpAt) {
+        Optional<SpaceTime> budgetInterceptOpportunity = InterceptSolver.findEarliest(carData, ballPath, budgetAcceleration, interceptModifier, AirTouchPlanner::isVerticallyAccessible, AERIAL_STRIKE_PROFILE, UP, giveUpAt);
+        if (budgetInterceptOpportunity.isPresent()) {
+            SpaceTime spaceTime = budgetInterceptOpportunity.get();
+            if (budgetInterceptOpportunity.get().space.z > AirTouchPlanner.NEEDS_AERIAL_THRESHOLD) {
+                return Optional.of(new Intercept(spaceTime.space, spaceTime.time, AirTouchPlanner.BOOST_NEEDED_FOR_AERIAL, AERIAL_STRIKE_PROFILE));
             }
         }
         return Optional.empty();
     }
 
-    private static Optional<Intercept> getJumpHitIntercept(CarData carData, BallPath ballPath, DistancePlot fullAcceleration, Vector3 interceptModifier) {
-        Optional<SpaceTime> interceptOpportunity = SteerUtil.getFilteredInterceptOpportunity(carData, ballPath, fullAcceleration, interceptModifier, AirTouchPlanner::isJumpHitAccessible, JUMP_HIT_STRIKE_PROFILE);
+    private static Optional<Intercept> getJumpHitIntercept(CarData carData, BallPath ballPath, DistancePlot fullAcceleration, Vector3 interceptModifier, Predicate<GameTime> giveUpAt) {
+        Optional<SpaceTime> interceptOpportunity = InterceptSolver.findEarliest(carData, ballPath, fullAcceleration, interceptModifier, AirTouchPlanner::isJumpHitAccessible, JUMP_HIT_STRIKE_PROFILE, UP, giveUpAt);
         if (interceptOpportunity.isPresent()) {
             if (interceptOpportunity.get().space.z > AirTouchPlanner.NEEDS_JUMP_HIT_THRESHOLD) {
                 return Optional.of(new Intercept(interceptOpportunity.get(), JUMP_HIT_STRIKE_PROFILE));
@@ -120,22 +144,22 @@ public class InterceptStep implements Step {
         return Optional.empty();
     }
 
-    private static Optional<Intercept> getFlipHitIntercept(CarData carData, BallPath ballPath, DistancePlot fullAcceleration, Vector3 interceptModifier) {
-        Optional<SpaceTime> interceptOpportunity = SteerUtil.getFilteredInterceptOpportunity(carData, ballPath, fullAcceleration, interceptModifier, AirTouchPlanner::isFlipHitAccessible, FLIP_HIT_STRIKE_PROFILE);
+    private static Optional<Intercept> getFlipHitIntercept(CarData carData, BallPath ballPath, DistancePlot fullAcceleration, Vector3 interceptModifier, Predicate<GameTime> giveUpAt) {
+        Optional<SpaceTime> interceptOpportunity = InterceptSolver.findEarliest(carData, ballPath, fullAcceleration, interceptModifier, AirTouchPlanner::isFlipHitAccessible, FLIP_HIT_STRIKE_PROFILE, UP, giveUpAt);
         return interceptOpportunity.map(spaceTime -> new Intercept(spaceTime, FLIP_HIT_STRIKE_PROFILE));
     }
 
-    private AgentOutput getThereOnTime(AgentInput input, Intercept intercept) {
+    private AgentOutput getThereOnTime(AgentInput input, TickContext context, Intercept intercept) {
 
         Optional<AgentOutput> flipOut = Optional.empty();
         CarData car = input.getMyCarData();
 
         Optional<Plan> sensibleFlip = SteerUtil.getSensibleFlip(car, intercept.getSpace());
         if (sensibleFlip.isPresent()) {
-            BotLog.println("Front flip toward intercept", input.team);
+            BotLog.println("Front flip toward intercept", input.playerIndex);
             this.plan = sensibleFlip.get();
             this.plan.begin();
-            flipOut = this.plan.getOutput(input);
+            flipOut = this.plan.getOutput(input, context);
         }
 
         if (flipOut.isPresent()) {
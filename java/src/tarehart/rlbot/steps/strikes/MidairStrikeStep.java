@@ -8,19 +8,19 @@ import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.SpaceTime;
 import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.math.VectorUtil;
-import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.DistancePlot;
 import tarehart.rlbot.planning.AccelerationModel;
 import tarehart.rlbot.planning.Plan;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.steps.TapStep;
 import tarehart.rlbot.steps.rotation.PitchToPlaneStep;
 import tarehart.rlbot.tuning.BotLog;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class MidairStrikeStep implements Step {
@@ -32,21 +32,21 @@ public class MidairStrikeStep implements Step {
     public static final double UPWARD_VELOCITY_MAINTENANCE_ANGLE = Math.PI / 6;
     private int confusionCount = 0;
     private Plan plan;
-    private LocalDateTime lastMomentForDodge;
-    private LocalDateTime beginningOfStep;
+    private GameTime lastMomentForDodge;
+    private GameTime beginningOfStep;
     private Duration timeInAirAtStart;
 
     public MidairStrikeStep(Duration timeInAirAtStart) {
         this.timeInAirAtStart = timeInAirAtStart;
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         if (plan != null) {
             if (plan.isComplete()) {
                 return Optional.empty();
             }
-            return plan.getOutput(input);
+            return plan.getOutput(input, context);
         }
 
         if (lastMomentForDodge == null) {
@@ -54,7 +54,7 @@ public class MidairStrikeStep implements Step {
             beginningOfStep = input.time;
         }
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(5));
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(5));
         CarData car = input.getMyCarData();
         DistancePlot airAccelPlot = AccelerationModel.simulateAirAcceleration(car, Duration.ofSeconds(5));
         Optional<SpaceTime> interceptOpportunity = SteerUtil.getInterceptOpportunity(car, ballPath, airAccelPlot);
@@ -64,31 +64,31 @@ public class MidairStrikeStep implements Step {
                 // Front flip out of confusion
                 plan = new Plan().withStep(new TapStep(2, new AgentOutput().withPitch(-1).withJump()));
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             }
             return Optional.of(new AgentOutput().withBoost());
         }
         SpaceTime intercept = interceptOpportunity.get();
         Vector3 carToIntercept = intercept.space.minus(car.position);
-        long millisTillIntercept = Duration.between(input.time, intercept.time).toMillis();
+        long millisTillIntercept = (long) (TimeUtil.secondsBetween(input.time, intercept.time) * 1000);
         double distance = car.position.distance(input.ballPosition);
-        BotLog.println("Midair strike running... Distance: " + distance, input.team);
+        BotLog.println("Midair strike running... Distance: " + distance, input.playerIndex);
 
         double correctionAngleRad = SteerUtil.getCorrectionAngleRad(car, intercept.space);
 
         if (input.time.isBefore(lastMomentForDodge) && distance < DODGE_DISTANCE) {
             // Let's flip into the ball!
             if (Math.abs(correctionAngleRad) <= SIDE_DODGE_THRESHOLD && car.velocity.normaliseCopy().z < .3) {
-                BotLog.println("Front flip strike", input.team);
+                BotLog.println("Front flip strike", input.playerIndex);
                 plan = new Plan().withStep(new TapStep(2, new AgentOutput().withPitch(-1).withJump()));
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             } else {
                 // Dodge to the side
-                BotLog.println("Side flip strike", input.team);
+                BotLog.println("Side flip strike", input.playerIndex);
                 plan = new Plan().withStep(new TapStep(2, new AgentOutput().withSteer(correctionAngleRad < 0 ? 1 : -1).withJump()));
                 plan.begin();
-                return plan.getOutput(input);
+                return plan.getOutput(input, context);
             }
         }
 
@@ -96,7 +96,7 @@ public class MidairStrikeStep implements Step {
         double secondsSoFar = TimeUtil.secondsBetween(beginningOfStep, input.time);
 
         if (millisTillIntercept > DODGE_TIME && secondsSoFar > 2 && rightDirection < .6 || rightDirection < 0) {
-            BotLog.println("Failed aerial on bad angle", input.team);
+            BotLog.println("Failed aerial on bad angle", input.playerIndex);
             return Optional.empty();
         }
 
@@ -128,8 +128,8 @@ public class MidairStrikeStep implements Step {
         Vector3 pitchPlaneNormal = car.orientation.rightVector.crossProduct(desiredNoseVector);
         Vector3 yawPlaneNormal = desiredNoseVector.crossProduct(new Vector3(0, 0, 1));
 
-        Optional<AgentOutput> pitchOutput = new PitchToPlaneStep(pitchPlaneNormal).getOutput(input);
-        Optional<AgentOutput> yawOutput = new PitchToPlaneStep(yawPlaneNormal).getOutput(input);
+        Optional<AgentOutput> pitchOutput = new PitchToPlaneStep(pitchPlaneNormal).getOutput(input, context);
+        Optional<AgentOutput> yawOutput = new PitchToPlaneStep(yawPlaneNormal).getOutput(input, context);
 
         return Optional.of(mergeOrientationOutputs(pitchOutput, yawOutput).withBoost().withJump(millisTillIntercept > DODGE_TIME + 100));
     }
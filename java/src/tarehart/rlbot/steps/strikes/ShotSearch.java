@@ -0,0 +1,250 @@
+package tarehart.rlbot.steps.strikes;
+
+import tarehart.rlbot.AgentInput;
+import tarehart.rlbot.SearchPool;
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.TimeUtil;
+import tarehart.rlbot.math.VectorUtil;
+import tarehart.rlbot.math.vector.Vector2;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.physics.AnalyticBallSimulator;
+import tarehart.rlbot.physics.BallDivergenceDetector;
+import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.physics.CarBallContact;
+import tarehart.rlbot.physics.DistancePlot;
+import tarehart.rlbot.planning.Goal;
+import tarehart.rlbot.planning.GoalUtil;
+import tarehart.rlbot.planning.StrikeProfile;
+import tarehart.rlbot.planning.TickContext;
+import tarehart.rlbot.tuning.Instrumentation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Looks for the best place to hit the ball with the nose of the car. It tries a fan of approach angles around the
+ * planned kick, each at a couple of distances, works out where the ball goes after each hit, and scores the result.
+ * Shots that cross the enemy goal line beat everything else, the more central and the sooner the better. Shots
+ * that don't are scored by how close they come to the direction the kick strategy wants. Shots into our own goal
+ * are thrown out.
+ *
+ * The calling thread scores the straight-on shot itself while the SearchPool takes the others, and whatever is finished
+ * by the deadline gets a say; the rest are told to stop. They work on a copy of the ball path, so nothing they read
+ * changes under them while they wind down. On a single core machine the candidates just run one after another,
+ * straightest first, until the deadline.
+ *
+ * The winner is kept until the ball stops following the path it was picked on, the hit is in the past, or somebody
+ * asks with a strike profile that's noticeably different, since that changes when the car can get there. Small
+ * changes don't count; the nose hit works its maneuver time out again every tick while it circles, and searching
+ * again for every hundredth of a second would mean searching every tick. The car moving around doesn't throw it
+ * away either, because the nose hit plans its kick again every tick around whatever intercept modifier we hand it.
+ */
+public class ShotSearch {
+
+    public static final Duration DEFAULT_DEADLINE = Duration.ofMillis(Long.getLong("rlbot.shotSearchMillis", 3));
+
+    // How far from the middle of the ball the middle of the car should be at contact.
+    private static final double[] INTERCEPT_OFFSETS = {1.4, 2.2};
+
+    // Try this many approach angles on either side of the planned kick.
+    private static final int APPROACH_CANDIDATES_PER_SIDE = 6;
+    private static final double APPROACH_ANGLE_STEP = Math.PI / 36;
+
+    // A radian of extra turning to line up is worth this many radians of aim.
+    private static final double TURN_COST = .1;
+
+    // Any goal is worth more than the best aimed miss, which scores at most zero.
+    private static final double GOAL_SCORE = 10;
+    private static final double GOAL_SECONDS_COST = .1;
+
+    private static final Duration PATH_AFTER_HIT = Duration.ofSeconds(3);
+
+    // Strike profiles closer than this are treated as the same when deciding whether to search again.
+    private static final double PROFILE_SECONDS_TOLERANCE = .05;
+    private static final double PROFILE_SPEED_TOLERANCE = 1;
+
+    public static class Shot {
+        public final Vector3 interceptModifier;
+        public final DirectedKickPlan kickPlan;
+        public final BallPath pathAfterHit;
+        public final Optional<SpaceTimeVelocity> goalEvent;
+        public final double angleOfKickFromApproach;
+        public final double score;
+        public final StrikeProfile strikeProfile;
+
+        Shot(Vector3 interceptModifier, DirectedKickPlan kickPlan, BallPath pathAfterHit,
+             Optional<SpaceTimeVelocity> goalEvent, double angleOfKickFromApproach, double score, StrikeProfile strikeProfile) {
+            this.interceptModifier = interceptModifier;
+            this.kickPlan = kickPlan;
+            this.pathAfterHit = pathAfterHit;
+            this.goalEvent = goalEvent;
+            this.angleOfKickFromApproach = angleOfKickFromApproach;
+            this.score = score;
+            this.strikeProfile = strikeProfile;
+        }
+    }
+
+    private final KickStrategy kickStrategy;
+    private final Duration deadline;
+
+    private Shot cachedShot;
+
+    public ShotSearch(KickStrategy kickStrategy) {
+        this(kickStrategy, DEFAULT_DEADLINE);
+    }
+
+    public ShotSearch(KickStrategy kickStrategy, Duration deadline) {
+        this.kickStrategy = kickStrategy;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return empty if the car can't get to the ball at all.
+     */
+    public Optional<Shot> getBestShot(AgentInput input, TickContext context, StrikeProfile strikeProfile) {
+        if (cachedShot != null && isStillGood(cachedShot, input) && isSameProfile(cachedShot.strikeProfile, strikeProfile)) {
+            return Optional.of(cachedShot);
+        }
+
+        // The context's path can keep growing after we return, so the candidates get a copy of their own.
+        BallPath ballPath = context.getBallPath(DirectedKickUtil.PLAN_HORIZON).copyUntil(input.time.plus(DirectedKickUtil.PLAN_HORIZON));
+        DistancePlot distancePlot = context.getAcceleration(DirectedKickUtil.PLAN_HORIZON, input.getMyCarData().boost, 0);
+        cachedShot = search(input, ballPath, distancePlot, strikeProfile).orElse(null);
+        return Optional.ofNullable(cachedShot);
+    }
+
+    /**
+     * @return true if the ball is still on the path the shot was picked for and the hit hasn't happened yet.
+     */
+    public static boolean isStillGood(Shot shot, AgentInput input) {
+        SpaceTimeVelocity ballNow = new SpaceTimeVelocity(input.ballPosition, input.time, input.ballVelocity, input.ballSpin);
+        return input.time.isBefore(shot.kickPlan.ballAtIntercept.getTime()) &&
+                BallDivergenceDetector.stillAgrees(shot.kickPlan.ballPath, ballNow);
+    }
+
+    static boolean isSameProfile(StrikeProfile a, StrikeProfile b) {
+        return Math.abs(a.maneuverSeconds - b.maneuverSeconds) < PROFILE_SECONDS_TOLERANCE &&
+                Math.abs(a.speedupSeconds - b.speedupSeconds) < PROFILE_SECONDS_TOLERANCE &&
+                Math.abs(a.speedBoost - b.speedBoost) < PROFILE_SPEED_TOLERANCE;
+    }
+
+    Optional<Shot> search(AgentInput input, BallPath ballPath, DistancePlot distancePlot, StrikeProfile strikeProfile) {
+        long timerStart = System.nanoTime();
+        long deadlineNanos = timerStart + deadline.toNanos();
+
+        Vector3 defaultModifier = kickStrategy.getKickDirection(input).normaliseCopy().scaled(-2);
+        Optional<DirectedKickPlan> plannedKick = DirectedKickUtil.planKick(
+                input, ballPath, distancePlot, kickStrategy, false, defaultModifier, new StrikeProfile(.5, 0, 0));
+        if (!plannedKick.isPresent()) {
+            Instrumentation.record(Instrumentation.SEARCH_SHOTS, timerStart);
+            return Optional.empty();
+        }
+
+        List<Vector3> modifiers = new ArrayList<>();
+        List<Double> turns = new ArrayList<>();
+        Vector3 plannedForce = plannedKick.get().plannedKickForce;
+        for (int step = 0; step <= APPROACH_CANDIDATES_PER_SIDE; step++) {
+            for (int side = step == 0 ? 1 : -1; side <= 1; side += 2) {
+                double turn = side * step * APPROACH_ANGLE_STEP;
+                for (double offset : INTERCEPT_OFFSETS) {
+                    Vector3 plannedModifier = plannedForce.scaledToMagnitude(-offset);
+                    Vector2 rotated = VectorUtil.rotateVector(plannedModifier.flatten(), turn);
+                    modifiers.add(new Vector3(rotated.x, rotated.y, plannedModifier.z));
+                    turns.add(turn);
+                }
+            }
+        }
+
+        // Set once we've picked a winner, so candidates still running in the pool give up instead of finishing.
+        AtomicBoolean finished = new AtomicBoolean();
+
+        List<Callable<Optional<Shot>>> evaluations = new ArrayList<>(modifiers.size());
+        for (int i = 0; i < modifiers.size(); i++) {
+            final int index = i;
+            evaluations.add(() -> evaluate(input, ballPath, distancePlot, strikeProfile, modifiers.get(index), turns.get(index), finished));
+        }
+
+        List<Optional<Shot>> results;
+        try {
+            results = SearchPool.runUntil(evaluations, deadlineNanos);
+        } finally {
+            finished.set(true);
+        }
+
+        Instrumentation.record(Instrumentation.SEARCH_SHOTS, timerStart);
+        return pickBest(results);
+    }
+
+    private static Optional<Shot> pickBest(List<Optional<Shot>> results) {
+        Shot best = null;
+        for (Optional<Shot> result : results) {
+            if (result.isPresent() && (best == null || result.get().score > best.score)) {
+                best = result.get();
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private Optional<Shot> evaluate(
+            AgentInput input, BallPath ballPath, DistancePlot distancePlot, StrikeProfile strikeProfile,
+            Vector3 interceptModifier, double turn, AtomicBoolean finished) {
+
+        if (finished.get()) {
+            return Optional.empty();
+        }
+
+        CarData car = input.getMyCarData();
+
+        Optional<DirectedKickPlan> kickPlanOption = DirectedKickUtil.planKick(
+                input, ballPath, distancePlot, kickStrategy, false, interceptModifier, strikeProfile);
+        if (!kickPlanOption.isPresent()) {
+            return Optional.empty();
+        }
+        DirectedKickPlan kickPlan = kickPlanOption.get();
+
+        if (finished.get()) {
+            return Optional.empty();
+        }
+
+        Optional<BallPath> pathAfterHit = CarBallContact.predictPathAfterStrike(
+                new AnalyticBallSimulator(), car, kickPlan.distancePlot, strikeProfile, kickPlan.ballAtIntercept,
+                interceptModifier, PATH_AFTER_HIT);
+        if (!pathAfterHit.isPresent() || isOwnGoal(input, pathAfterHit.get())) {
+            return Optional.empty();
+        }
+
+        Optional<SpaceTimeVelocity> goalEvent = GoalUtil.predictGoalEvent(GoalUtil.getEnemyGoal(input.team), pathAfterHit.get());
+        double score = score(input, kickStrategy, pathAfterHit.get(), goalEvent, turn);
+
+        return Optional.of(new Shot(interceptModifier, kickPlan, pathAfterHit.get(), goalEvent,
+                DirectedKickUtil.getAngleOfKickFromApproach(car, kickPlan), score,
+                new StrikeProfile(strikeProfile.maneuverSeconds, strikeProfile.speedBoost, strikeProfile.speedupSeconds)));
+    }
+
+    static boolean isOwnGoal(AgentInput input, BallPath pathAfterHit) {
+        return GoalUtil.predictGoalEvent(GoalUtil.getOwnGoal(input.team), pathAfterHit).isPresent();
+    }
+
+    /**
+     * @param goalEvent where the ball crosses the enemy goal line after the hit, if it does.
+     * @param turn how far the approach is rotated from the planned kick, in radians.
+     */
+    static double score(AgentInput input, KickStrategy kickStrategy, BallPath pathAfterHit,
+                        Optional<SpaceTimeVelocity> goalEvent, double turn) {
+        double score;
+        if (goalEvent.isPresent()) {
+            double secondsTillGoal = TimeUtil.secondsBetween(input.time, goalEvent.get().getTime());
+            score = GOAL_SCORE - Math.abs(goalEvent.get().getSpace().x) / Goal.EXTENT - secondsTillGoal * GOAL_SECONDS_COST;
+        } else {
+            SpaceTimeVelocity afterHit = pathAfterHit.getStartPoint();
+            Vector3 wanted = kickStrategy.getKickDirection(input, afterHit.getSpace(), afterHit.getVelocity());
+            score = -Vector2.angle(afterHit.getVelocity().flatten(), wanted.flatten());
+        }
+        return score - Math.abs(turn) * TURN_COST;
+    }
+}
@@ -8,6 +8,7 @@ import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.tuning.BallTelemetry;
 
@@ -15,7 +16,7 @@ import java.util.Optional;
 
 public class MountWallStep implements Step {
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
 
@@ -24,7 +25,7 @@ public class MountWallStep implements Step {
             return Optional.empty();
         }
 
-        Optional<BallPath> ballPath = BallTelemetry.getPath(input.team);
+        Optional<BallPath> ballPath = BallTelemetry.getPath(input.playerIndex);
         if (!ballPath.isPresent() || !WallTouchStep.hasWallTouchOpportunity(input, ballPath.get())) {
             // Failed to mount the wall in time.
             return Optional.empty();
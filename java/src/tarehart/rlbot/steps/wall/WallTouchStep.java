@@ -11,9 +11,9 @@ import tarehart.rlbot.math.VectorUtil;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.physics.DistancePlot;
-import tarehart.rlbot.planning.AccelerationModel;
 import tarehart.rlbot.planning.GoalUtil;
 import tarehart.rlbot.planning.SteerUtil;
+import tarehart.rlbot.planning.TickContext;
 import tarehart.rlbot.steps.Step;
 import tarehart.rlbot.tuning.BotLog;
 
@@ -35,24 +35,24 @@ public class WallTouchStep implements Step {
         return ballPosition.space.z > MIN_HEIGHT && ArenaModel.getDistanceFromWall(ballPosition.space) <= ACCEPTABLE_WALL_DISTANCE;
     }
 
-    public Optional<AgentOutput> getOutput(AgentInput input) {
+    public Optional<AgentOutput> getOutput(AgentInput input, TickContext context) {
 
         CarData car = input.getMyCarData();
         if (!ArenaModel.isCarOnWall(car)) {
-            BotLog.println("Failed to make the wall touch because the car is not on the wall", input.team);
+            BotLog.println("Failed to make the wall touch because the car is not on the wall", input.playerIndex);
             return Optional.empty();
         }
 
 
-        BallPath ballPath = ArenaModel.predictBallPath(input, input.time, Duration.ofSeconds(4));
-        DistancePlot fullAcceleration = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), car.boost, 0);
+        BallPath ballPath = context.getBallPath(Duration.ofSeconds(4));
+        DistancePlot fullAcceleration = context.getAcceleration(Duration.ofSeconds(4), car.boost, 0);
 
         Optional<SpaceTime> interceptOpportunity = SteerUtil.getFilteredInterceptOpportunity(car, ballPath, fullAcceleration, new Vector3(), WallTouchStep::isBallOnWall);
         Optional<SpaceTimeVelocity> ballMotion = interceptOpportunity.flatMap(inter -> ballPath.getMotionAt(inter.time));
 
 
         if (!ballMotion.isPresent()) {
-            BotLog.println("Failed to make the wall touch because we see no intercepts on the wall", input.team);
+            BotLog.println("Failed to make the wall touch because we see no intercepts on the wall", input.playerIndex);
             return Optional.empty();
         }
         SpaceTimeVelocity motion = ballMotion.get();
@@ -63,13 +63,13 @@ public class WallTouchStep implements Step {
             originalIntercept = motion.getSpace();
         } else {
             if (originalIntercept.distance(motion.getSpace()) > 20) {
-                BotLog.println("Failed to make the wall touch because the intercept changed", input.team);
+                BotLog.println("Failed to make the wall touch because the intercept changed", input.playerIndex);
                 return Optional.empty(); // Failed to kick it soon enough, new stuff has happened.
             }
         }
 
         if (readyToJump(input, motion.toSpaceTime())) {
-            BotLog.println("Jumping for wall touch.", input.team);
+            BotLog.println("Jumping for wall touch.", input.playerIndex);
             return Optional.of(new AgentOutput().withAcceleration(1).withJump());
         }
 
@@ -90,7 +90,7 @@ public class WallTouchStep implements Step {
         double tMinus = secondsTillIntercept - wallDistanceAtIntercept / WALL_DEPART_SPEED;
         boolean linedUp = Math.abs(correctionAngleRad) < Math.PI / 8;
         if (tMinus < 3) {
-            BotLog.println("Correction angle: " + correctionAngleRad, input.team);
+            BotLog.println("Correction angle: " + correctionAngleRad, input.playerIndex);
         }
 
         return tMinus < 0.1 && tMinus > -.4 && linedUp;
@@ -1,15 +1,17 @@
 package tarehart.rlbot.tuning;
 
 import tarehart.rlbot.math.vector.Vector3;
-
-import java.time.LocalDateTime;
+import tarehart.rlbot.math.GameTime;
 
 public class BallPrediction {
 
-    public LocalDateTime predictedMoment;
+    public GameTime predictedMoment;
     public Vector3 predictedLocation;
 
-    public BallPrediction(Vector3 predictedLocation, LocalDateTime predictedMoment) {
+    // The ball changed course after this was predicted, so it's expected to be off.
+    public boolean madeBeforeDivergence;
+
+    public BallPrediction(Vector3 predictedLocation, GameTime predictedMoment) {
         this.predictedLocation = predictedLocation;
         this.predictedMoment = predictedMoment;
     }
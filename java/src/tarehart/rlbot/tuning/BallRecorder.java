@@ -2,14 +2,14 @@ package tarehart.rlbot.tuning;
 
 import com.google.gson.Gson;
 import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.physics.BallPath;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.time.Instant;
 
 public class BallRecorder {
 
@@ -17,10 +17,10 @@ public class BallRecorder {
 
     // This is going to be an actual ballpath, not predicted.
     private static BallPath ballPath;
-    private static LocalDateTime endTime;
+    private static GameTime endTime;
     private static Gson gson = new Gson();
 
-    public static void startRecording(SpaceTimeVelocity startPoint, LocalDateTime endTime) {
+    public static void startRecording(SpaceTimeVelocity startPoint, GameTime endTime) {
 
         if (ballPath == null) {
             ballPath = new BallPath(startPoint);
@@ -33,7 +33,7 @@ public class BallRecorder {
 
             if (ballPosition.getTime().isAfter(endTime)) {
                 // Write to a file
-                Path path = Paths.get("./" + DIRECTORY + "/" + endTime.atOffset(ZoneOffset.UTC).toEpochSecond() + ".json");
+                Path path = Paths.get("./" + DIRECTORY + "/" + Instant.now().getEpochSecond() + ".json");
                 try {
                     Files.write(path, gson.toJson(ballPath).getBytes());
                 } catch (IOException e) {
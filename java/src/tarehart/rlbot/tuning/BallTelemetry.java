@@ -1,25 +1,25 @@
 package tarehart.rlbot.tuning;
 
-import tarehart.rlbot.math.vector.Vector3;
-import tarehart.rlbot.Bot;
 import tarehart.rlbot.physics.BallPath;
 
-import java.util.*;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BallTelemetry {
 
-    private static Map<Bot.Team, BallPath> ballPaths = new HashMap<>();
+    private static Map<Integer, BallPath> ballPaths = new ConcurrentHashMap<>();
 
-    public static void setPath(BallPath ballPath, Bot.Team team) {
-        ballPaths.put(team, ballPath);
+    public static void setPath(BallPath ballPath, int playerIndex) {
+        ballPaths.put(playerIndex, ballPath);
     }
 
-    public static void reset(Bot.Team team) {
-        ballPaths.remove(team);
+    public static void reset(int playerIndex) {
+        ballPaths.remove(playerIndex);
     }
 
 
-    public static Optional<BallPath> getPath(Bot.Team team) {
-        return Optional.ofNullable(ballPaths.get(team));
+    public static Optional<BallPath> getPath(int playerIndex) {
+        return Optional.ofNullable(ballPaths.get(playerIndex));
     }
 }
@@ -1,25 +1,28 @@
 package tarehart.rlbot.tuning;
 
-import tarehart.rlbot.Bot;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BotLog {
 
-    private static StringBuilder blueLog = new StringBuilder();
-    private static StringBuilder orangeLog = new StringBuilder();
+    // Each bot mostly logs from its own thread, but intercept searches can log from a helper thread, hence StringBuffer.
+    private static Map<Integer, StringBuffer> logs = new ConcurrentHashMap<>();
 
-    public static void println(String message, Bot.Team team) {
-        getLog(team).append(message).append("\n");
+    public static void println(String message, int playerIndex) {
+        getLog(playerIndex).append(message).append("\n");
         System.out.println(message);
     }
 
-    private static StringBuilder getLog(Bot.Team team) {
-        return team == Bot.Team.BLUE ? blueLog : orangeLog;
+    private static StringBuffer getLog(int playerIndex) {
+        return logs.computeIfAbsent(playerIndex, i -> new StringBuffer());
     }
 
-    public static String collect(Bot.Team team) {
-        StringBuilder log = getLog(team);
-        String contents = log.toString();
-        log.setLength(0);
-        return contents;
+    public static String collect(int playerIndex) {
+        StringBuffer log = getLog(playerIndex);
+        synchronized (log) {
+            String contents = log.toString();
+            log.setLength(0);
+            return contents;
+        }
     }
 }
@@ -0,0 +1,107 @@
+package tarehart.rlbot.tuning;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing for the expensive stages of a tick, one histogram per stage, shared by every bot in the process.
+ *
+ *     long start = System.nanoTime();
+ *     ...
+ *     Instrumentation.record(Instrumentation.MAKE_PLAN, start);
+ *
+ * Steps are timed by class, so it's easy to see which one is blowing the frame budget.
+ * Turn it all off with -Drlbot.instrumentation=false
+ */
+public class Instrumentation {
+
+    public static final String PROCESS_INPUT = "Bot.processInput";
+    public static final String PREDICT_BALL_PATH = "ArenaModel.predictBallPath";
+    public static final String SIMULATE_BALL = "ArenaModel.simulateBall";
+    public static final String PREDICT_ENSEMBLE = "EnsemblePredictor.predict";
+    public static final String PREDICT_CAR_PATHS = "CarPathPredictor.predictAll";
+    public static final String SEARCH_SHOTS = "ShotSearch.search";
+    public static final String SIMULATE_ACCELERATION = "AccelerationModel.simulateAcceleration";
+    public static final String ASSESS_SITUATION = "TacticsAdvisor.assessSituation";
+    public static final String MAKE_PLAN = "TacticsAdvisor.makePlan";
+
+    private static final String STEP_PREFIX = "Step.";
+
+    private static final boolean ENABLED = !"false".equals(System.getProperty("rlbot.instrumentation"));
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private static final ClassValue<LatencyHistogram> stepHistograms = new ClassValue<LatencyHistogram>() {
+        @Override
+        protected LatencyHistogram computeValue(Class<?> stepClass) {
+            return getHistogram(STEP_PREFIX + stepClass.getSimpleName());
+        }
+    };
+
+    private static ScheduledExecutorService dumpExecutor;
+
+    public static LatencyHistogram getHistogram(String stage) {
+        return histograms.computeIfAbsent(stage, s -> new LatencyHistogram());
+    }
+
+    public static void record(String stage, long startNanos) {
+        if (ENABLED) {
+            getHistogram(stage).record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public static void recordStep(Class<?> stepClass, long startNanos) {
+        if (ENABLED) {
+            stepHistograms.get(stepClass).record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Every stage that has been timed so far, sorted by name.
+     */
+    public static Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-45s %10s %10s %10s %10s %10s %10s%n", "Stage (ms)", "Count", "Mean", "p50", "p99", "p99.9", "Max"));
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            report.append(String.format("%-45s %10d %10.3f %10.3f %10.3f %10.3f %10.3f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getMeanNanos() / 1e6, histogram.getPercentileNanos(50) / 1e6, histogram.getPercentileNanos(99) / 1e6,
+                    histogram.getPercentileNanos(99.9) / 1e6, histogram.getMaxNanos() / 1e6));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Overwrites the file with a fresh report every so often, on a background thread.
+     */
+    public static synchronized void dumpPeriodically(Path file, Duration period) {
+        if (dumpExecutor != null || !ENABLED) {
+            return;
+        }
+        dumpExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "timing-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumpExecutor.scheduleAtFixedRate(() -> {
+            try {
+                Files.write(file, ("Timings as of " + LocalDateTime.now() + "\n" + report()).getBytes());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
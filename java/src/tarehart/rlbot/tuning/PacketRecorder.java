@@ -0,0 +1,76 @@
+package tarehart.rlbot.tuning;
+
+import rlbot.api.GameData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves every packet the game sends us, so a match can be played back later without the game.
+ * Packets are written one after another, each with its length in front (see writeDelimitedTo).
+ *
+ * Turn it on with -Drlbot.recordPackets=true. Files go in the packets directory.
+ */
+public class PacketRecorder implements AutoCloseable {
+
+    public static final String DIRECTORY = "packets";
+
+    private final Path path;
+    private final OutputStream out;
+
+    public PacketRecorder(Path path) throws IOException {
+        this.path = path;
+        this.out = new BufferedOutputStream(Files.newOutputStream(path));
+    }
+
+    /**
+     * A recorder for a new file named after the current time, or null if recording isn't turned on.
+     */
+    public static PacketRecorder fromSystemProperties() {
+        if (!Boolean.getBoolean("rlbot.recordPackets")) {
+            return null;
+        }
+        try {
+            Files.createDirectories(Paths.get(DIRECTORY));
+            PacketRecorder recorder = new PacketRecorder(Paths.get(DIRECTORY, Instant.now().getEpochSecond() + ".packets"));
+            System.out.println("Recording packets to " + recorder.path.toAbsolutePath());
+            return recorder;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public synchronized void record(GameData.GameTickPacket packet) {
+        try {
+            packet.writeDelimitedTo(out);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    public static List<GameData.GameTickPacket> read(Path path) throws IOException {
+        List<GameData.GameTickPacket> packets = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            GameData.GameTickPacket packet;
+            while ((packet = GameData.GameTickPacket.parseDelimitedFrom(in)) != null) {
+                packets.add(packet);
+            }
+        }
+        return packets;
+    }
+}
@@ -0,0 +1,57 @@
+package tarehart.rlbot.tuning;
+
+/**
+ * Keeps score of how long planning takes and how old a plan is by the time the car starts acting on it.
+ * Both planning modes record into one of these, so their summaries can be compared side by side.
+ */
+public class PlanningStats {
+
+    private final String mode;
+
+    private long planningCount;
+    private long totalPlanningNanos;
+    private long maxPlanningNanos;
+
+    private long swapCount;
+    private double totalSwapAgeSeconds;
+    private long staleCount;
+
+    public PlanningStats(String mode) {
+        this.mode = mode;
+    }
+
+    public synchronized void recordPlanning(long nanos) {
+        planningCount++;
+        totalPlanningNanos += nanos;
+        maxPlanningNanos = Math.max(maxPlanningNanos, nanos);
+    }
+
+    /**
+     * @param ageSeconds game time between the input the plan was made from and the tick where it took over.
+     */
+    public synchronized void recordSwap(double ageSeconds) {
+        swapCount++;
+        totalSwapAgeSeconds += ageSeconds;
+    }
+
+    /**
+     * A plan arrived too late to be trusted and was thrown away.
+     */
+    public synchronized void recordStale() {
+        staleCount++;
+    }
+
+    public synchronized long getPlanningCount() {
+        return planningCount;
+    }
+
+    public synchronized String summary() {
+        return String.format("Planning (%s): %s runs, mean %.2f ms, max %.2f ms. %s swaps, %.3f s old on average. %s stale.",
+                mode, planningCount,
+                planningCount == 0 ? 0 : totalPlanningNanos / (double) planningCount / 1e6,
+                maxPlanningNanos / 1e6,
+                swapCount,
+                swapCount == 0 ? 0 : totalSwapAgeSeconds / swapCount,
+                staleCount);
+    }
+}
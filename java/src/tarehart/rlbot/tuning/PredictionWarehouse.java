@@ -1,6 +1,8 @@
 package tarehart.rlbot.tuning;
 
-import java.time.LocalDateTime;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.physics.DivergenceEvent;
+
 import java.util.LinkedList;
 import java.util.Optional;
 
@@ -8,7 +10,7 @@ public class PredictionWarehouse {
 
     private LinkedList<BallPrediction> ballPredictions = new LinkedList<>();
 
-    public Optional<BallPrediction> getPredictionOfMoment(LocalDateTime moment) {
+    public Optional<BallPrediction> getPredictionOfMoment(GameTime moment) {
         if (ballPredictions.isEmpty()) {
             return Optional.empty();
         }
@@ -33,4 +35,14 @@ public class PredictionWarehouse {
     public void addPrediction(BallPrediction prediction) {
         ballPredictions.add(prediction);
     }
+
+    /**
+     * Pending predictions were made from a path the ball no longer follows. They're kept, since showing how far off
+     * they turn out is the point of the radar, but marked so the readout can tell them apart.
+     */
+    public void ballDiverged(DivergenceEvent event) {
+        for (BallPrediction prediction : ballPredictions) {
+            prediction.madeBeforeDivergence = true;
+        }
+    }
 }
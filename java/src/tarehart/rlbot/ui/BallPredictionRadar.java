@@ -12,6 +12,7 @@ public class BallPredictionRadar extends JPanel {
     private static final int CIRCLE_RADIUS = (int) (ArenaModel.BALL_RADIUS * PREDICTION_SCALE);
     private Vector2 predictionRelative = new Vector2(0, 0);
     private Vector2 velocity = new Vector2(0, 0);
+    private boolean madeBeforeDivergence;
 
     public BallPredictionRadar() {
         super();
@@ -25,6 +26,13 @@ public class BallPredictionRadar extends JPanel {
         this.velocity = velocity;
     }
 
+    /**
+     * Draws the prediction in a warning color, because the ball changed course after it was made.
+     */
+    public void setMadeBeforeDivergence(boolean madeBeforeDivergence) {
+        this.madeBeforeDivergence = madeBeforeDivergence;
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -45,7 +53,7 @@ public class BallPredictionRadar extends JPanel {
         drawCircle(
                 predictionRelative.x * PREDICTION_SCALE + centerX,
                 predictionRelative.y * PREDICTION_SCALE + centerY,
-                new Color(167, 224, 178), graphics2D);
+                madeBeforeDivergence ? new Color(224, 178, 167) : new Color(167, 224, 178), graphics2D);
 
         graphics2D.setColor(new Color(250, 150, 129));
         graphics2D.setStroke(new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
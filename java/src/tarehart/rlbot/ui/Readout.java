@@ -6,7 +6,11 @@ import com.intellij.uiDesigner.core.Spacer;
 import tarehart.rlbot.math.vector.Vector2;
 import tarehart.rlbot.math.vector.Vector3;
 import tarehart.rlbot.AgentInput;
+import tarehart.rlbot.Bot;
+import tarehart.rlbot.input.CarData;
 import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.physics.BallPath;
 import tarehart.rlbot.planning.Plan;
 import tarehart.rlbot.tuning.BallPrediction;
@@ -16,7 +20,6 @@ import javax.swing.*;
 import javax.swing.text.DefaultCaret;
 import java.awt.*;
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 public class Readout {
@@ -43,12 +46,12 @@ public class Readout {
 
     private double maxCarSpeedVal;
 
-    private LocalDateTime actualMaxTime = LocalDateTime.now();
-    private LocalDateTime predictedMaxTime = LocalDateTime.now();
+    private GameTime actualMaxTime = GameTime.ZERO;
+    private GameTime predictedMaxTime = GameTime.ZERO;
 
     private PredictionWarehouse warehouse = new PredictionWarehouse();
 
-    private LocalDateTime previousTime = null;
+    private GameTime previousTime = null;
 
 
     public Readout() {
@@ -75,7 +78,7 @@ public class Readout {
         if (ballHeightActualMax.getValue() < ballHeightActual.getValue()) {
             ballHeightActualMax.setValue(ballHeightActual.getValue());
             actualMaxTime = input.time;
-        } else if (Duration.between(input.time, actualMaxTime).abs().getSeconds() > 3) {
+        } else if (Math.abs(TimeUtil.secondsBetween(input.time, actualMaxTime)) >= 4) {
             ballHeightActualMax.setValue(0);
         }
 
@@ -83,14 +86,14 @@ public class Readout {
         if (ballHeightPredictedMax.getValue() < ballHeightPredicted.getValue()) {
             ballHeightPredictedMax.setValue(ballHeightPredicted.getValue());
             predictedMaxTime = input.time;
-        } else if (Duration.between(input.time, predictedMaxTime).abs().getSeconds() > 3) {
+        } else if (Math.abs(TimeUtil.secondsBetween(input.time, predictedMaxTime)) >= 4) {
             ballHeightPredictedMax.setValue(0);
         }
     }
 
     private void updateBallPredictionRadar(AgentInput input, BallPath ballPath) {
         int predictionMillis = predictionTime.getValue();
-        LocalDateTime predictionTime = input.time.plus(Duration.ofMillis(predictionMillis));
+        GameTime predictionTime = input.time.plus(Duration.ofMillis(predictionMillis));
 
         if (previousTime == null || !previousTime.equals(input.time)) {
             if (ballPath != null) {
@@ -110,17 +113,25 @@ public class Readout {
             Vector3 predictionRelative = predictedLocation.minus(input.ballPosition);
             ballPredictionReadout.setPredictionCoordinates(new Vector2(predictionRelative.x, predictionRelative.y));
             ballPredictionReadout.setVelocity(new Vector2(input.ballVelocity.x, input.ballVelocity.y));
+            ballPredictionReadout.setMadeBeforeDivergence(predictionOfNow.get().madeBeforeDivergence);
             ballPredictionReadout.repaint();
         }
     }
 
     private void updateCarPositionInfo(AgentInput input) {
-        blueCarPosX.setText(String.format("%.2f", input.blueCar.map(c -> c.position.x).orElse(0D)));
-        blueCarPosY.setText(String.format("%.2f", input.blueCar.map(c -> c.position.y).orElse(0D)));
-        blueCarPosZ.setText(String.format("%.2f", input.blueCar.map(c -> c.position.z).orElse(0D)));
-        orangeCarPosX.setText(String.format("%.2f", input.orangeCar.map(c -> c.position.x).orElse(0D)));
-        orangeCarPosY.setText(String.format("%.2f", input.orangeCar.map(c -> c.position.y).orElse(0D)));
-        orangeCarPosZ.setText(String.format("%.2f", input.orangeCar.map(c -> c.position.z).orElse(0D)));
+        // In bigger games, just the first car on each team.
+        Optional<CarData> blueCar = input.getTeamCars(Bot.Team.BLUE).stream().findFirst();
+        Optional<CarData> orangeCar = input.getTeamCars(Bot.Team.ORANGE).stream().findFirst();
+        blueCarPosX.setText(String.format("%.2f", blueCar.map(c -> c.position.x).orElse(0D)));
+        blueCarPosY.setText(String.format("%.2f", blueCar.map(c -> c.position.y).orElse(0D)));
+        blueCarPosZ.setText(String.format("%.2f", blueCar.map(c -> c.position.z).orElse(0D)));
+        orangeCarPosX.setText(String.format("%.2f", orangeCar.map(c -> c.position.x).orElse(0D)));
+        orangeCarPosY.setText(String.format("%.2f", orangeCar.map(c -> c.position.y).orElse(0D)));
+        orangeCarPosZ.setText(String.format("%.2f", orangeCar.map(c -> c.position.z).orElse(0D)));
+    }
+
+    public PredictionWarehouse getPredictionWarehouse() {
+        return warehouse;
     }
 
     public JPanel getRootPanel() {
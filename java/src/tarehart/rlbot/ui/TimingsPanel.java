@@ -0,0 +1,88 @@
+package tarehart.rlbot.ui;
+
+import tarehart.rlbot.tuning.Instrumentation;
+import tarehart.rlbot.tuning.LatencyHistogram;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows the timing histograms from Instrumentation, refreshed a couple of times a second.
+ */
+public class TimingsPanel {
+
+    private static final int REFRESH_MILLIS = 500;
+    private static final String[] COLUMNS = {"Stage", "Count", "Mean ms", "p50 ms", "p99 ms", "p99.9 ms", "Max ms"};
+
+    private final JPanel rootPanel;
+    private final TimingsModel model = new TimingsModel();
+
+    public TimingsPanel() {
+        rootPanel = new JPanel(new BorderLayout());
+        JTable table = new JTable(model);
+        table.getColumnModel().getColumn(0).setPreferredWidth(300);
+        rootPanel.add(new JScrollPane(table), BorderLayout.CENTER);
+
+        Timer timer = new Timer(REFRESH_MILLIS, e -> {
+            if (rootPanel.isShowing()) {
+                model.refresh();
+            }
+        });
+        timer.start();
+    }
+
+    public JPanel getRootPanel() {
+        return rootPanel;
+    }
+
+    private static class TimingsModel extends AbstractTableModel {
+
+        private List<Object[]> rows = new ArrayList<>();
+
+        void refresh() {
+            List<Object[]> newRows = new ArrayList<>();
+            for (Map.Entry<String, LatencyHistogram> entry : Instrumentation.getHistograms().entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                newRows.add(new Object[] {
+                        entry.getKey(),
+                        histogram.getCount(),
+                        millis(histogram.getMeanNanos()),
+                        millis(histogram.getPercentileNanos(50)),
+                        millis(histogram.getPercentileNanos(99)),
+                        millis(histogram.getPercentileNanos(99.9)),
+                        millis(histogram.getMaxNanos())
+                });
+            }
+            rows = newRows;
+            fireTableDataChanged();
+        }
+
+        private static String millis(double nanos) {
+            return String.format("%.3f", nanos / 1e6);
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            return rows.get(rowIndex)[columnIndex];
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package tarehart.rlbot;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rlbot.api.GameData;
+import tarehart.rlbot.input.AccelerationTracker;
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.input.Chronometer;
+import tarehart.rlbot.input.SpinTracker;
+
+public class AgentInputTest {
+
+    private static GameData.PlayerInfo player(int team, float y, int goals, int ownGoals) {
+        return GameData.PlayerInfo.newBuilder()
+                .setTeam(team)
+                .setLocation(GameData.Vector3.newBuilder().setY(y * 50))
+                .setScoreInfo(GameData.ScoreInfo.newBuilder().setGoals(goals).setOwnGoals(ownGoals).setDemolitions(team + 1))
+                .build();
+    }
+
+    private static AgentInput decode(GameData.GameTickPacket packet, int playerIndex) {
+        return new AgentInput(packet, playerIndex, new Chronometer(), new SpinTracker(), new AccelerationTracker(), 0);
+    }
+
+    @Test
+    public void testThreeOnThreeRoster() {
+        GameData.GameTickPacket packet = GameData.GameTickPacket.newBuilder()
+                .addPlayers(player(0, -60, 1, 0))
+                .addPlayers(player(1, 60, 0, 0))
+                .addPlayers(player(0, -30, 1, 1))
+                .addPlayers(player(1, 30, 2, 0))
+                .addPlayers(player(0, -10, 0, 0))
+                .addPlayers(player(1, 10, 0, 1))
+                .setBall(GameData.BallInfo.newBuilder().setLocation(GameData.Vector3.newBuilder().setY(-22 * 50)))
+                .build();
+
+        AgentInput input = decode(packet, 3);
+
+        Assert.assertEquals(6, input.getAllCars().size());
+        Assert.assertEquals(Bot.Team.ORANGE, input.team);
+        Assert.assertEquals(3, input.getMyCarData().playerIndex);
+        Assert.assertEquals(30, input.getMyCarData().position.y, 1e-6);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertEquals(i, input.getAllCars().get(i).playerIndex);
+        }
+        Assert.assertEquals(3, input.getEnemyCars().size());
+        Assert.assertFalse(input.getCarData(6).isPresent());
+
+        // Own goals count for the other team.
+        Assert.assertEquals(3, input.blueScore);
+        Assert.assertEquals(3, input.orangeScore);
+        Assert.assertEquals(3, input.blueDemo);
+        Assert.assertEquals(6, input.orangeDemo);
+
+        // Of the blue cars at -60, -30 and -10, the one at -30 is closest to the ball at -22.
+        CarData nearestEnemy = input.getEnemyNearestBall().get();
+        Assert.assertEquals(2, nearestEnemy.playerIndex);
+
+        // The steady choice is the lowest index, wherever the ball is.
+        Assert.assertEquals(0, input.getEnemyCarData().get().playerIndex);
+        Assert.assertSame(input.getEnemyCars(), input.getEnemyCars());
+    }
+}
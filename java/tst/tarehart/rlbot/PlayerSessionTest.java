@@ -0,0 +1,38 @@
+package tarehart.rlbot;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rlbot.api.GameData;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PlayerSessionTest {
+
+    @Test
+    public void testPacketIsDroppedOnceNobodyWantsTheAnswer() throws InterruptedException {
+        PlayerSession session = new PlayerSession(0, null);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch drained = new CountDownLatch(1);
+        AtomicBoolean wanted = new AtomicBoolean(true);
+        AtomicBoolean replied = new AtomicBoolean();
+
+        // Hold the player's thread so the packet has to wait its turn.
+        session.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        session.submit(GameData.GameTickPacket.getDefaultInstance(), state -> replied.set(true), wanted::get);
+        session.execute(drained::countDown);
+
+        wanted.set(false);
+        release.countDown();
+
+        Assert.assertTrue(drained.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(replied.get());
+    }
+}
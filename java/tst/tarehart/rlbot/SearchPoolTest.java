@@ -0,0 +1,50 @@
+package tarehart.rlbot;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+public class SearchPoolTest {
+
+    @Test
+    public void testResultsComeBackInTaskOrder() {
+        List<Callable<Integer>> tasks = Arrays.asList(
+                () -> {
+                    Thread.sleep(10);
+                    return 0;
+                },
+                () -> 1,
+                () -> 2);
+
+        List<Integer> results = SearchPool.runUntil(tasks, System.nanoTime() + 5_000_000_000L, true);
+
+        Assert.assertEquals(Arrays.asList(0, 1, 2), results);
+    }
+
+    @Test
+    public void testLateTasksAreLeftOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Callable<Integer>> tasks = Arrays.asList(
+                () -> 0,
+                () -> {
+                    release.await();
+                    return 1;
+                });
+
+        List<Integer> results = SearchPool.runUntil(tasks, System.nanoTime() + 20_000_000L, true);
+        release.countDown();
+
+        Assert.assertEquals(Arrays.asList(0), results);
+    }
+
+    @Test
+    public void testSerialRunStopsAtTheDeadlineButAlwaysRunsTheFirstTask() {
+        List<Callable<Integer>> tasks = Arrays.asList(() -> 0, () -> 1);
+
+        Assert.assertEquals(Arrays.asList(0), SearchPool.runUntil(tasks, System.nanoTime(), false));
+    }
+}
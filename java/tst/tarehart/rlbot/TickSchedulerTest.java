@@ -0,0 +1,74 @@
+package tarehart.rlbot;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+public class TickSchedulerTest {
+
+    @Test
+    public void testFastWorkIsReturned() {
+        TickScheduler scheduler = new TickScheduler(Duration.ofMillis(500), 0, "test-planner");
+        Assert.assertEquals("work", scheduler.run(() -> "work", () -> "fallback"));
+        Assert.assertEquals(0, scheduler.getOverrunCount());
+    }
+
+    @Test
+    public void testSlowWorkFallsBackAndFinishesInBackground() throws InterruptedException {
+        TickScheduler scheduler = new TickScheduler(Duration.ofMillis(10), 0, "test-planner");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        String first = scheduler.run(() -> {
+            awaitQuietly(release);
+            finished.countDown();
+            return "late";
+        }, () -> "fallback");
+        Assert.assertEquals("fallback", first);
+        Assert.assertEquals(1, scheduler.getOverrunCount());
+
+        // Still busy with the first tick, so this one doesn't even start.
+        Assert.assertEquals("fallback", scheduler.run(() -> "work", () -> "fallback"));
+        Assert.assertEquals(1, scheduler.getSkippedCount());
+
+        release.countDown();
+        finished.await();
+        Thread.sleep(100);
+
+        Assert.assertEquals("work", scheduler.run(() -> "work", () -> "fallback"));
+        Assert.assertEquals(3, scheduler.getTickCount());
+    }
+
+    @Test
+    public void testLateFailureIsReportedOnNextTick() throws InterruptedException {
+        TickScheduler scheduler = new TickScheduler(Duration.ofMillis(10), 0, "test-planner");
+        CountDownLatch release = new CountDownLatch(1);
+
+        String first = scheduler.run(() -> {
+            awaitQuietly(release);
+            throw new IllegalStateException("late and broken");
+        }, () -> "fallback");
+        Assert.assertEquals("fallback", first);
+        Assert.assertEquals(0, scheduler.getLateFailureCount());
+
+        release.countDown();
+        Thread.sleep(100);
+
+        Assert.assertEquals("work", scheduler.run(() -> "work", () -> "fallback"));
+        Assert.assertEquals(1, scheduler.getLateFailureCount());
+
+        // Only reported once.
+        Assert.assertEquals("work", scheduler.run(() -> "work", () -> "fallback"));
+        Assert.assertEquals(1, scheduler.getLateFailureCount());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package tarehart.rlbot.math;
 
+import tarehart.rlbot.math.vector.MutableVector3;
 import tarehart.rlbot.math.vector.Vector3;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 public class VectorUtilTest {
@@ -24,4 +27,37 @@ public class VectorUtilTest {
 
     }
 
+    @Test
+    public void mutableOverloadsMatchImmutableMath() {
+        Random random = new Random(17);
+        MutableVector3 scratch = new MutableVector3();
+
+        for (int i = 0; i < 1000; i++) {
+            Vector3 a = randomVector(random);
+            Vector3 b = randomVector(random);
+            Vector3 up = randomVector(random).normaliseCopy();
+
+            Vector3 aProj = a.projectToPlane(up);
+            Vector3 bProj = b.projectToPlane(up);
+            double expectedAngle = aProj.angle(bProj);
+            if (aProj.crossProduct(bProj).dotProduct(up) < 0) {
+                expectedAngle *= -1;
+            }
+            Assert.assertEquals(expectedAngle, VectorUtil.getCorrectionAngle(a, scratch.set(b), up), 1e-12);
+            Assert.assertEquals(expectedAngle, VectorUtil.getCorrectionAngle(a, b, up), 1e-12);
+
+            double expectedDistance = aProj.distance(bProj);
+            Assert.assertEquals(expectedDistance, VectorUtil.flatDistance(a, scratch.set(b), up), 1e-12);
+            Assert.assertEquals(expectedDistance, VectorUtil.flatDistance(a, b, up), 1e-12);
+
+            Vector3 projected = VectorUtil.project(a, b);
+            VectorUtil.project(a, b, scratch);
+            Assert.assertEquals(0, projected.distance(scratch.toVector3()), 1e-12);
+        }
+    }
+
+    private static Vector3 randomVector(Random random) {
+        return new Vector3(random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, random.nextDouble() * 40);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package tarehart.rlbot.physics;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.planning.Goal;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class AnalyticBallSimulatorTest {
+
+    @Test
+    public void testFallNextToBackWall() {
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+        float nextToBackWall = ArenaModel.BACK_WALL - ArenaModel.BALL_RADIUS;
+        BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(new Vector3(0, nextToBackWall, 30), GameTime.ZERO, new Vector3()), Duration.ofSeconds(4));
+        Assert.assertEquals(0, ballPath.getEndpoint().getSpace().x, .001);
+        Assert.assertEquals(nextToBackWall, ballPath.getEndpoint().getSpace().y, .001);
+    }
+
+    @Test
+    public void testFallToRailNextToBackWall() {
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+        float nextToBackWall = ArenaModel.BACK_WALL - ArenaModel.BALL_RADIUS;
+        BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(new Vector3(Goal.EXTENT + 5, nextToBackWall, 30), GameTime.ZERO, new Vector3()), Duration.ofSeconds(4));
+        Assert.assertTrue(nextToBackWall - ballPath.getEndpoint().getSpace().y > 10);
+    }
+
+    @Test
+    public void testFallToRailNextToSideWall() {
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+        float nextToSideWall = ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS;
+        BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall, 0, 30), GameTime.ZERO, new Vector3()), Duration.ofSeconds(4));
+        Assert.assertTrue(nextToSideWall - ballPath.getEndpoint().getSpace().x > 10);
+    }
+
+    @Test
+    public void testBounceOffSideWall() {
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+        float nextToSideWall = ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS;
+        BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall - 10, 0, 30), GameTime.ZERO, new Vector3(20, 0, 0)), Duration.ofSeconds(1));
+        Assert.assertEquals(0, ballPath.getEndpoint().getSpace().y, .001);
+        Assert.assertTrue(ballPath.getEndpoint().getVelocity().x < -10);
+        Assert.assertTrue(ballPath.getEndpoint().getVelocity().x > -20);
+
+        Optional<SpaceTimeVelocity> motionAfterBounce = ballPath.getMotionAfterWallBounce(1);
+        Assert.assertTrue(motionAfterBounce.isPresent());
+        Assert.assertEquals(nextToSideWall, motionAfterBounce.get().getSpace().x, 3);
+    }
+
+    @Test
+    public void testBounceOffCornerAngle() {
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+        float nextToSideWall = ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS;
+        BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall, ArenaModel.BACK_WALL * .7, 30), GameTime.ZERO, new Vector3(0, 30, 0)), Duration.ofSeconds(3));
+        Assert.assertTrue(nextToSideWall - ballPath.getEndpoint().getSpace().x > 10);
+    }
+
+    @Test
+    public void testBounceIntoPositiveGoal() {
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+        BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(new Vector3(0, ArenaModel.BACK_WALL * .7, 10), GameTime.ZERO, new Vector3(0, 30, 0)), Duration.ofSeconds(3));
+        Assert.assertFalse(ArenaModel.isInBoundsBall(ballPath.getEndpoint().getSpace()));
+    }
+
+    @Test
+    public void testRollIntoPositiveGoal() {
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+        BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(new Vector3(0, ArenaModel.BACK_WALL * .7, ArenaModel.BALL_RADIUS), GameTime.ZERO, new Vector3(0, 30, 0)), Duration.ofSeconds(3));
+        Assert.assertFalse(ArenaModel.isInBoundsBall(ballPath.getEndpoint().getSpace()));
+    }
+
+    @Test
+    public void testStaysInsideArena() {
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+        BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(new Vector3(10, -20, 5), GameTime.ZERO, new Vector3(70, 45, 35)), Duration.ofSeconds(8));
+        for (SpaceTimeVelocity slice : ballPath.getSlices()) {
+            Vector3 space = slice.getSpace();
+            Assert.assertTrue(space.z > ArenaModel.BALL_RADIUS - .01);
+            Assert.assertTrue(space.z < ArenaModel.CEILING - ArenaModel.BALL_RADIUS + .01);
+            Assert.assertTrue(Math.abs(space.x) < ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS + .01);
+        }
+    }
+
+    @Test
+    public void testMatchesArenaModelInFlight() {
+        GameTime now = GameTime.ZERO;
+        SpaceTimeVelocity start = new SpaceTimeVelocity(new Vector3(-20, 10, 5), now, new Vector3(15, 25, 20));
+        BallPath analyticPath = new AnalyticBallSimulator().simulateBall(start, Duration.ofSeconds(3));
+        BallPath bulletPath = new ArenaModel(ArenaModel.Stepping.FIXED).simulateBall(start, Duration.ofSeconds(3));
+
+        List<SpaceTimeVelocity> analyticSlices = analyticPath.getSlices();
+        List<SpaceTimeVelocity> bulletSlices = bulletPath.getSlices();
+        Assert.assertEquals(bulletSlices.size(), analyticSlices.size());
+        for (int i = 0; i < analyticSlices.size(); i++) {
+            Assert.assertEquals(bulletSlices.get(i).getTime(), analyticSlices.get(i).getTime());
+            double error = analyticSlices.get(i).getSpace().distance(bulletSlices.get(i).getSpace());
+            Assert.assertTrue(String.format("Diverged to %.2f at slice %s", error, i), error < 1);
+        }
+    }
+
+}
@@ -4,11 +4,12 @@ package tarehart.rlbot.physics;
 import tarehart.rlbot.math.vector.Vector3;
 import org.junit.Assert;
 import org.junit.Test;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.planning.Goal;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public class ArenaModelTest {
@@ -22,15 +23,52 @@ public class ArenaModelTest {
     @Test
     public void testSimulate() {
         ArenaModel model = new ArenaModel();
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, 0, 20), LocalDateTime.now(), new Vector3(5, 60, -10)), Duration.ofSeconds(3));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, 0, 20), GameTime.ZERO, new Vector3(5, 60, -10)), Duration.ofSeconds(3));
         System.out.println(ballPath.getEndpoint());
     }
 
+    @Test
+    public void testAdaptiveStepsShrinkNearBounce() {
+        ArenaModel model = new ArenaModel(ArenaModel.Stepping.ADAPTIVE);
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, 0, 20), GameTime.ZERO, new Vector3()), Duration.ofSeconds(3));
+        List<SpaceTimeVelocity> slices = ballPath.getSlices();
+
+        // High in open air, so big steps.
+        Assert.assertEquals(.1, slices.get(1).getTime().toSeconds(), 1e-9);
+
+        Optional<SpaceTimeVelocity> landing = ballPath.getLanding(GameTime.ZERO);
+        Assert.assertTrue(landing.isPresent());
+        for (int i = 1; i < slices.size(); i++) {
+            GameTime time = slices.get(i).getTime();
+            if (Math.abs(time.secondsSince(landing.get().getTime())) < .05) {
+                Assert.assertEquals(.02, time.secondsSince(slices.get(i - 1).getTime()), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testSpinKicksBallSidewaysOnBounce() {
+        ArenaModel model = new ArenaModel();
+        Vector3 spin = new Vector3(ArenaModel.MAX_BALL_SPIN, 0, 0);
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, 0, 10), GameTime.ZERO, new Vector3(0, 0, -20), spin), Duration.ofSeconds(1));
+
+        // Spin is kept in open air.
+        Optional<SpaceTimeVelocity> beforeBounce = ballPath.getMotionAt(GameTime.ZERO.plusSeconds(.1));
+        Assert.assertTrue(beforeBounce.isPresent());
+        Assert.assertEquals(ArenaModel.MAX_BALL_SPIN, beforeBounce.get().getSpin().x, .01);
+
+        // The bottom of the ball is moving toward positive y as it hits the floor, so friction pushes it the other way
+        // and takes some of the spin with it.
+        SpaceTimeVelocity end = ballPath.getEndpoint();
+        Assert.assertTrue(end.getVelocity().y < -1);
+        Assert.assertTrue(end.getSpin().x < ArenaModel.MAX_BALL_SPIN);
+    }
+
     @Test
     public void testFallNextToBackWall() {
         ArenaModel model = new ArenaModel();
         float nextToBackWall = ArenaModel.BACK_WALL - ArenaModel.BALL_RADIUS;
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, nextToBackWall, 30), LocalDateTime.now(), new Vector3()), Duration.ofSeconds(1));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, nextToBackWall, 30), GameTime.ZERO, new Vector3()), Duration.ofSeconds(1));
         System.out.println(ballPath.getEndpoint());
         Assert.assertEquals(nextToBackWall, ballPath.getEndpoint().getSpace().y, .001);
     }
@@ -39,7 +77,7 @@ public class ArenaModelTest {
     public void testFallToRailNextToBackWall() {
         ArenaModel model = new ArenaModel();
         float nextToBackWall = ArenaModel.BACK_WALL - ArenaModel.BALL_RADIUS;
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(Goal.EXTENT + 5, nextToBackWall, 30), LocalDateTime.now(), new Vector3()), Duration.ofSeconds(4));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(Goal.EXTENT + 5, nextToBackWall, 30), GameTime.ZERO, new Vector3()), Duration.ofSeconds(4));
         System.out.println(nextToBackWall - ballPath.getEndpoint().getSpace().y);
         Assert.assertTrue(nextToBackWall - ballPath.getEndpoint().getSpace().y > 10);
     }
@@ -48,7 +86,7 @@ public class ArenaModelTest {
     public void testFallToGroundInFrontOfGoal() {
         ArenaModel model = new ArenaModel();
         float nextToBackWall = ArenaModel.BACK_WALL - ArenaModel.BALL_RADIUS;
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, nextToBackWall, 30), LocalDateTime.now(), new Vector3()), Duration.ofSeconds(4));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, nextToBackWall, 30), GameTime.ZERO, new Vector3()), Duration.ofSeconds(4));
         System.out.println(ballPath.getEndpoint().getSpace());
         Assert.assertEquals(0, ballPath.getEndpoint().space.x, .001);
         Assert.assertEquals(nextToBackWall, ballPath.getEndpoint().space.y, .001);
@@ -58,7 +96,7 @@ public class ArenaModelTest {
     public void testFallToRailNextToSideWall() {
         ArenaModel model = new ArenaModel();
         float nextToSideWall = ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS;
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall, 0, 30), LocalDateTime.now(), new Vector3()), Duration.ofSeconds(4));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall, 0, 30), GameTime.ZERO, new Vector3()), Duration.ofSeconds(4));
         System.out.println(nextToSideWall - ballPath.getEndpoint().getSpace().x);
         Assert.assertTrue(nextToSideWall - ballPath.getEndpoint().getSpace().x > 10);
     }
@@ -67,7 +105,7 @@ public class ArenaModelTest {
     public void testFallNextToSideWall() {
         ArenaModel model = new ArenaModel();
         float nextToSideWall = ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS;
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall, 0, 30), LocalDateTime.now(), new Vector3()), Duration.ofSeconds(1));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall, 0, 30), GameTime.ZERO, new Vector3()), Duration.ofSeconds(1));
         System.out.println(ballPath.getEndpoint());
         Assert.assertEquals(nextToSideWall, ballPath.getEndpoint().getSpace().x, .001);
     }
@@ -76,7 +114,7 @@ public class ArenaModelTest {
     public void testBounceOffSideWall() {
         ArenaModel model = new ArenaModel();
         float nextToSideWall = ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS;
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall - 10, 0, 30), LocalDateTime.now(), new Vector3(20, 0, 0)), Duration.ofSeconds(1));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall - 10, 0, 30), GameTime.ZERO, new Vector3(20, 0, 0)), Duration.ofSeconds(1));
         System.out.println(ballPath.getEndpoint());
         Assert.assertEquals(0, ballPath.getEndpoint().getSpace().y, .001);
         Assert.assertTrue(ballPath.getEndpoint().getVelocity().x < -10);
@@ -90,7 +128,7 @@ public class ArenaModelTest {
     @Test
     public void testOpenAirFlight() {
         ArenaModel model = new ArenaModel();
-        LocalDateTime now = LocalDateTime.of(2017, 1, 1, 0, 0);
+        GameTime now = GameTime.ZERO;
         BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, 0, 30), now, new Vector3(0, 10, 0)), Duration.ofSeconds(3));
         System.out.println(ballPath.getEndpoint());
 
@@ -102,7 +140,7 @@ public class ArenaModelTest {
     public void testBounceOffSideWallFromCenter() {
         ArenaModel model = new ArenaModel();
         float nextToSideWall = ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS;
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, 0, 30), LocalDateTime.now(), new Vector3(60, 0, 5)), Duration.ofSeconds(2));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, 0, 30), GameTime.ZERO, new Vector3(60, 0, 5)), Duration.ofSeconds(2));
         System.out.println(ballPath.getEndpoint());
         Assert.assertEquals(0, ballPath.getEndpoint().getSpace().y, .6); // This is a bit weird to be honest
         Assert.assertTrue(ballPath.getEndpoint().getVelocity().x < -10);
@@ -118,7 +156,7 @@ public class ArenaModelTest {
     public void testBounceOffCornerAngle() {
         ArenaModel model = new ArenaModel();
         float nextToSideWall = ArenaModel.SIDE_WALL - ArenaModel.BALL_RADIUS;
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall, ArenaModel.BACK_WALL * .7, 30), LocalDateTime.now(), new Vector3(0, 30, 0)), Duration.ofSeconds(3));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(nextToSideWall, ArenaModel.BACK_WALL * .7, 30), GameTime.ZERO, new Vector3(0, 30, 0)), Duration.ofSeconds(3));
         System.out.println(ballPath.getEndpoint());
         Assert.assertTrue(nextToSideWall - ballPath.getEndpoint().getSpace().x > 10);
     }
@@ -126,7 +164,7 @@ public class ArenaModelTest {
     @Test
     public void testBounceIntoPositiveGoal() {
         ArenaModel model = new ArenaModel();
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, ArenaModel.BACK_WALL * .7, 10), LocalDateTime.now(), new Vector3(0, 30, 0)), Duration.ofSeconds(3));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, ArenaModel.BACK_WALL * .7, 10), GameTime.ZERO, new Vector3(0, 30, 0)), Duration.ofSeconds(3));
         System.out.println(ballPath.getEndpoint());
         Assert.assertFalse(ArenaModel.isInBoundsBall(ballPath.getEndpoint().getSpace())); // went into the goal, outside the basic square
     }
@@ -134,7 +172,7 @@ public class ArenaModelTest {
     @Test
     public void testRollIntoPositiveGoal() {
         ArenaModel model = new ArenaModel();
-        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, ArenaModel.BACK_WALL * .7, ArenaModel.BALL_RADIUS), LocalDateTime.now(), new Vector3(0, 30, 0)), Duration.ofSeconds(3));
+        BallPath ballPath = model.simulateBall(new SpaceTimeVelocity(new Vector3(0, ArenaModel.BACK_WALL * .7, ArenaModel.BALL_RADIUS), GameTime.ZERO, new Vector3(0, 30, 0)), Duration.ofSeconds(3));
         System.out.println(ballPath.getEndpoint());
         Assert.assertFalse(ArenaModel.isInBoundsBall(ballPath.getEndpoint().getSpace())); // went into the goal, outside the basic square
     }
@@ -0,0 +1,112 @@
+package tarehart.rlbot.physics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.MutableVector3;
+import tarehart.rlbot.math.vector.Vector3;
+
+import java.util.Optional;
+
+public class BallPathTest {
+
+    private static final GameTime START = GameTime.ZERO;
+
+    private BallPath makeMixedStepPath() {
+        // Ball moves at 10 units per second along x, sampled at 20ms for a second, then 100ms, then irregularly.
+        BallPath ballPath = new BallPath(slice(0));
+        int millis = 0;
+        while (millis < 1000) {
+            millis += 20;
+            ballPath.addSlice(slice(millis));
+        }
+        while (millis < 3000) {
+            millis += 100;
+            ballPath.addSlice(slice(millis));
+        }
+        for (int step : new int[] {13, 57, 8, 211}) {
+            millis += step;
+            ballPath.addSlice(slice(millis));
+        }
+        return ballPath;
+    }
+
+    private SpaceTimeVelocity slice(int millis) {
+        return new SpaceTimeVelocity(new Vector3(millis / 100.0, 0, 5), START.plusSeconds(millis / 1000.0), new Vector3(10, 0, 0));
+    }
+
+    @Test
+    public void testMotionAtInterpolates() {
+        BallPath ballPath = makeMixedStepPath();
+        for (int millis = 0; millis <= 3289; millis += 7) {
+            Optional<SpaceTimeVelocity> motion = ballPath.getMotionAt(START.plusSeconds(millis / 1000.0));
+            Assert.assertTrue(motion.isPresent());
+            Assert.assertEquals(millis / 100.0, motion.get().getSpace().x, .0001);
+        }
+    }
+
+    @Test
+    public void testSpinIsCarriedAndInterpolated() {
+        BallPath ballPath = new BallPath(new SpaceTimeVelocity(new Vector3(), START, new Vector3(), new Vector3(0, 0, 2)));
+        ballPath.addSlice(0, 0, 0, 0, 0, 0, 0, 0, 4, START.plusSeconds(.1));
+        ballPath.addSlice(0, 0, 0, 0, 0, 0, START.plusSeconds(.2));
+
+        Assert.assertEquals(3, ballPath.getMotionAt(START.plusSeconds(.05)).get().getSpin().z, .0001);
+        Assert.assertEquals(0, ballPath.getEndpoint().getSpin().z, .0001);
+
+        BallPath trimmed = ballPath.startingFrom(new SpaceTimeVelocity(new Vector3(), START.plusSeconds(.05), new Vector3(), new Vector3(0, 0, 3)));
+        Assert.assertEquals(3, trimmed.getStartPoint().getSpin().z, .0001);
+        Assert.assertEquals(4, trimmed.getSlices().get(1).getSpin().z, .0001);
+    }
+
+    @Test
+    public void testCopyUntilStopsAndStaysPut() {
+        BallPath ballPath = makeMixedStepPath();
+        BallPath copy = ballPath.copyUntil(START.plusSeconds(1.55));
+
+        // The first slice at or after 1.55 seconds is the one at 1.6.
+        Assert.assertEquals(1.6, copy.getEndpoint().getTime().toSeconds(), 1e-9);
+        Assert.assertEquals(ballPath.getMotionAt(START.plusSeconds(1.23)).get().getSpace().x,
+                copy.getMotionAt(START.plusSeconds(1.23)).get().getSpace().x, 1e-9);
+
+        ballPath.addSlice(slice(5000));
+        Assert.assertEquals(1.6, copy.getEndpoint().getTime().toSeconds(), 1e-9);
+    }
+
+    @Test
+    public void testIndexGettersMatchSlices() {
+        BallPath ballPath = makeMixedStepPath();
+        MutableVector3 scratch = new MutableVector3();
+        for (int i = 0; i < ballPath.size(); i++) {
+            SpaceTimeVelocity slice = ballPath.getSlices().get(i);
+            Assert.assertEquals(slice.getSpace().x, ballPath.getPosition(i, scratch).x, 1e-9);
+            Assert.assertEquals(slice.getVelocity().x, ballPath.getVelocity(i, scratch).x, 1e-9);
+            Assert.assertEquals(slice.getTime(), ballPath.getTime(i));
+            Assert.assertEquals(slice.getTime().secondsSince(START), ballPath.getSecondsAfterStart(i), 1e-9);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexGettersStopAtSize() {
+        BallPath ballPath = makeMixedStepPath();
+        ballPath.getPosition(ballPath.size(), new MutableVector3());
+    }
+
+    @Test
+    public void testMotionOutsidePath() {
+        BallPath ballPath = makeMixedStepPath();
+        Assert.assertFalse(ballPath.getMotionAt(START.plusSeconds(-.001)).isPresent());
+        Assert.assertFalse(ballPath.getMotionAt(START.plusSeconds(4)).isPresent());
+        Assert.assertEquals(START.plusSeconds(3.289), ballPath.getEndpoint().getTime());
+    }
+
+    @Test
+    public void testFindSliceRespectsTimeLimit() {
+        BallPath ballPath = makeMixedStepPath();
+        Assert.assertFalse(ballPath.findSlice(s -> s.getSpace().x > 20, START.plusSeconds(2)).isPresent());
+        Optional<SpaceTimeVelocity> slice = ballPath.findSlice(s -> s.getSpace().x > 20, START.plusSeconds(3));
+        Assert.assertTrue(slice.isPresent());
+        Assert.assertEquals(START.plusSeconds(2.1), slice.get().getTime());
+    }
+}
@@ -0,0 +1,36 @@
+package tarehart.rlbot.physics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+
+public class CarBallContactTest {
+
+    private static final SpaceTimeVelocity RESTING_BALL = new SpaceTimeVelocity(new Vector3(0, 0, 2), GameTime.ZERO, new Vector3());
+
+    @Test
+    public void testHeadOnHitIsFasterThanCar() {
+        Vector3 forward = new Vector3(0, 1, 0);
+        SpaceTimeVelocity afterHit = CarBallContact.getBallAfterHit(new Vector3(0, -3, 2), forward.scaled(20), forward, RESTING_BALL);
+
+        // The collision alone would give 20 * 180 / 210, and the game's extra push adds most of the car's speed again.
+        Assert.assertEquals(0, afterHit.getVelocity().x, 1e-9);
+        Assert.assertEquals(0, afterHit.getVelocity().z, 1e-9);
+        Assert.assertEquals(29.59, afterHit.getVelocity().y, .01);
+        Assert.assertEquals(RESTING_BALL.getSpace(), afterHit.getSpace());
+    }
+
+    @Test
+    public void testOffCenterHitGoesSideways() {
+        Vector3 forward = new Vector3(0, 1, 0);
+        SpaceTimeVelocity afterHit = CarBallContact.getBallAfterHit(new Vector3(1, -3, .35), forward.scaled(30), forward, RESTING_BALL);
+
+        Assert.assertTrue(afterHit.getVelocity().x < -3);
+        Assert.assertTrue(afterHit.getVelocity().y > 30);
+        // Hit from below, so the ball goes up, but the game keeps it lower than the collision alone would.
+        Assert.assertTrue(afterHit.getVelocity().z > 0);
+        Assert.assertTrue(afterHit.getVelocity().z < afterHit.getVelocity().y / 2);
+    }
+}
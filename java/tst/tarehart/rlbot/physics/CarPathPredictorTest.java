@@ -0,0 +1,82 @@
+package tarehart.rlbot.physics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import tarehart.rlbot.Bot;
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.input.CarOrientation;
+import tarehart.rlbot.input.CarSpin;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.planning.AirTouchPlanner;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+public class CarPathPredictorTest {
+
+    private static final Vector3 UP = new Vector3(0, 0, 1);
+    private static final Vector3 NORTH = new Vector3(0, 1, 0);
+
+    private static CarData makeCar(Vector3 position, Vector3 velocity, double yawRate, Vector3 acceleration, int playerIndex) {
+        return new CarData(position, velocity, new CarOrientation(NORTH, UP), new CarSpin(0, yawRate, 0), acceleration,
+                50, false, Bot.Team.BLUE, playerIndex, GameTime.ZERO, 0);
+    }
+
+    @Test
+    public void testStraightAndSteady() {
+        CarData car = makeCar(new Vector3(0, 0, AirTouchPlanner.CAR_BASE_HEIGHT), new Vector3(0, 20, 0), 0, new Vector3(), 0);
+        CarPath path = CarPathPredictor.predictCarPath(car, Duration.ofSeconds(2));
+
+        SpaceTimeVelocity afterOneSecond = path.getMotionAt(GameTime.ofSeconds(1)).get();
+        Assert.assertEquals(0, afterOneSecond.getSpace().x, 1e-9);
+        Assert.assertEquals(20, afterOneSecond.getSpace().y, 1e-6);
+        Assert.assertFalse(path.getMotionAt(GameTime.ofSeconds(3)).isPresent());
+    }
+
+    @Test
+    public void testTurnsRightAndSpeedsUpThenStraightens() {
+        CarData car = makeCar(new Vector3(0, 0, AirTouchPlanner.CAR_BASE_HEIGHT), new Vector3(0, 20, 0), 1, new Vector3(0, 10, 0), 0);
+        CarPath path = CarPathPredictor.predictCarPath(car, Duration.ofSeconds(3));
+
+        // The right vector of a car facing north with its roof up is +x.
+        SpaceTimeVelocity end = path.getEndpoint();
+        Assert.assertTrue(end.getSpace().x > 5);
+        Assert.assertTrue(end.getVelocity().magnitude() > 20);
+
+        // The turn fades, so the car ends up heading somewhere between north and east rather than circling back.
+        Assert.assertTrue(end.getVelocity().y > 0);
+        Assert.assertTrue(end.getVelocity().x > 0);
+    }
+
+    @Test
+    public void testFallsAndStopsAtWall() {
+        CarData car = makeCar(new Vector3(0, 95, 10), new Vector3(0, 20, 0), 0, new Vector3(), 0);
+        CarPath path = CarPathPredictor.predictCarPath(car, Duration.ofSeconds(2));
+
+        SpaceTimeVelocity end = path.getEndpoint();
+        Assert.assertEquals(AirTouchPlanner.CAR_BASE_HEIGHT, end.getSpace().z, 1e-9);
+        Assert.assertEquals(ArenaModel.BACK_WALL, end.getSpace().y, 1e-6);
+    }
+
+    @Test
+    public void testPredictsEveryCarAndFindsContact() {
+        CarData first = makeCar(new Vector3(0, -20, AirTouchPlanner.CAR_BASE_HEIGHT), new Vector3(0, 20, 0), 0, new Vector3(), 0);
+        CarData second = makeCar(new Vector3(30, 0, AirTouchPlanner.CAR_BASE_HEIGHT), new Vector3(), 0, new Vector3(), 3);
+        Map<Integer, CarPath> paths = CarPathPredictor.predictAll(Arrays.asList(first, second), Duration.ofSeconds(2));
+
+        Assert.assertEquals(2, paths.size());
+        Assert.assertEquals(3, paths.get(3).getPlayerIndex());
+
+        BallPath ballPath = new AnalyticBallSimulator().simulateBall(
+                new SpaceTimeVelocity(new Vector3(0, 0, ArenaModel.BALL_RADIUS), GameTime.ZERO, new Vector3()), Duration.ofSeconds(2));
+        Optional<SpaceTime> contact = paths.get(0).getFirstContact(ballPath, 4);
+        Assert.assertTrue(contact.isPresent());
+        Assert.assertEquals(.85, contact.get().time.toSeconds(), .05);
+        Assert.assertFalse(paths.get(3).getFirstContact(ballPath, 4).isPresent());
+    }
+}
@@ -0,0 +1,69 @@
+package tarehart.rlbot.physics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.planning.GoalUtil;
+
+import java.time.Duration;
+import java.util.List;
+
+public class EnsemblePredictorTest {
+
+    private static final Duration PLENTY_OF_TIME = Duration.ofSeconds(10);
+
+    private final EnsemblePredictor predictor = new EnsemblePredictor(8);
+
+    @Test
+    public void testGoalProbability() {
+        SpaceTimeVelocity straightIn = new SpaceTimeVelocity(new Vector3(0, -60, 2), GameTime.ZERO, new Vector3(0, -40, 0));
+        BallEnsemble ensemble = predictor.predict(straightIn, Duration.ofSeconds(3), PLENTY_OF_TIME);
+        Assert.assertEquals(8, ensemble.getMemberCount());
+        Assert.assertEquals(1, GoalUtil.predictGoalProbability(GoalUtil.BLUE_GOAL, ensemble), 1e-9);
+
+        SpaceTimeVelocity wide = new SpaceTimeVelocity(new Vector3(60, -60, 2), GameTime.ZERO, new Vector3(0, -40, 0));
+        ensemble = predictor.predict(wide, Duration.ofSeconds(3), PLENTY_OF_TIME);
+        Assert.assertEquals(0, GoalUtil.predictGoalProbability(GoalUtil.BLUE_GOAL, ensemble), 1e-9);
+    }
+
+    @Test
+    public void testSpreadGrowsAndRepeats() {
+        SpaceTimeVelocity start = new SpaceTimeVelocity(new Vector3(10, 20, 15), GameTime.ZERO, new Vector3(20, 30, 10));
+        List<PositionSpread> spreads = predictor.predict(start, Duration.ofSeconds(3), PLENTY_OF_TIME).getSpreads();
+
+        Assert.assertEquals(0, spreads.get(0).getRadius(), 1e-9);
+        Assert.assertTrue(spreads.get(spreads.size() - 1).getRadius() > spreads.get(10).getRadius());
+        Assert.assertTrue(spreads.get(10).getRadius() > 0);
+
+        // Same start, same noise. A reused physics world remembers a little about its last contacts, so the answers
+        // can differ in the last few digits.
+        List<PositionSpread> again = predictor.predict(start, Duration.ofSeconds(3), PLENTY_OF_TIME).getSpreads();
+        Assert.assertEquals(spreads.size(), again.size());
+        for (int i = 0; i < spreads.size(); i++) {
+            Assert.assertEquals(spreads.get(i).mean.x, again.get(i).mean.x, 1e-3);
+            Assert.assertEquals(spreads.get(i).yy, again.get(i).yy, 1e-3);
+        }
+    }
+
+    @Test
+    public void testNoBudgetStillGivesUnperturbedPath() {
+        SpaceTimeVelocity start = new SpaceTimeVelocity(new Vector3(0, 0, 20), GameTime.ZERO, new Vector3(5, 5, 0));
+        BallEnsemble ensemble = predictor.predict(start, Duration.ofSeconds(3), Duration.ZERO);
+        Assert.assertTrue(ensemble.getMemberCount() >= 1);
+        Assert.assertEquals(5, ensemble.getNominalPath().getStartPoint().getVelocity().x, 1e-9);
+        Assert.assertFalse(ensemble.getNominalPath().getEndpoint().getTime().isBefore(GameTime.ZERO.plusSeconds(3)));
+    }
+
+    @Test
+    public void testAnalyticEnsembleFollowsAnalyticPath() {
+        SpaceTimeVelocity start = new SpaceTimeVelocity(new Vector3(10, 20, 15), GameTime.ZERO, new Vector3(20, 30, 10));
+        BallEnsemble ensemble = EnsemblePredictor.matching(new AnalyticBallSimulator())
+                .predict(start, Duration.ofSeconds(3), PLENTY_OF_TIME);
+        BallPath analyticPath = new AnalyticBallSimulator().simulateBall(start, Duration.ofSeconds(3));
+
+        Vector3 nominalEnd = ensemble.getNominalPath().getEndpoint().getSpace();
+        Assert.assertEquals(0, nominalEnd.distance(analyticPath.getEndpoint().getSpace()), 1e-9);
+    }
+}
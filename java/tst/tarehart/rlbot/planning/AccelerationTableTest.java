@@ -0,0 +1,66 @@
+package tarehart.rlbot.planning;
+
+import org.junit.Assert;
+import org.junit.Test;
+import tarehart.rlbot.math.DistanceTimeSpeed;
+import tarehart.rlbot.physics.DistancePlot;
+
+import java.util.Optional;
+import java.util.Random;
+
+public class AccelerationTableTest {
+
+    // The model jumps at medium speed and when a flip starts, so a speed in between two grid
+    // cells can be a few units off. On average it should be very close.
+    private static final double MEAN_DISTANCE_TOLERANCE = .25;
+
+    @Test
+    public void testGridSpeedsMatchExactly() {
+        AccelerationTable withFlips = new AccelerationTable(true);
+        for (double speed = 0; speed < AccelerationModel.SUPERSONIC_SPEED; speed += 5) {
+            DistancePlot live = AccelerationModel.simulateGroundAcceleration(speed, 4, 30, Double.MAX_VALUE);
+            Assert.assertEquals(0, compare(withFlips.lookup(speed, 4, 30), live, 4) / samples(4), 1e-6);
+        }
+    }
+
+    @Test
+    public void testTablesMatchLiveSimulation() {
+        AccelerationTable noFlips = new AccelerationTable(false);
+        AccelerationTable withFlips = new AccelerationTable(true);
+        Random random = new Random(4);
+
+        double totalError = 0;
+        int sampleCount = 0;
+        for (int i = 0; i < 500; i++) {
+            double speed = random.nextDouble() * AccelerationModel.SUPERSONIC_SPEED;
+            double boost = random.nextDouble() * 100;
+            double seconds = 1 + random.nextDouble() * 4;
+
+            totalError += compare(noFlips.lookup(speed, seconds, boost), AccelerationModel.simulateGroundAcceleration(speed, seconds, boost, 0), seconds);
+            totalError += compare(withFlips.lookup(speed, seconds, boost), AccelerationModel.simulateGroundAcceleration(speed, seconds, boost, Double.MAX_VALUE), seconds);
+            sampleCount += 2 * samples(seconds);
+        }
+
+        Assert.assertEquals(0, totalError / sampleCount, MEAN_DISTANCE_TOLERANCE);
+    }
+
+    private int samples(double seconds) {
+        int count = 0;
+        for (double t = 0; t < seconds; t += .05) {
+            count++;
+        }
+        return count;
+    }
+
+    private double compare(DistancePlot table, DistancePlot live, double seconds) {
+        double error = 0;
+        for (double t = 0; t < seconds; t += .05) {
+            Optional<DistanceTimeSpeed> fromTable = table.getMotionAfterSeconds(t);
+            Optional<DistanceTimeSpeed> fromLive = live.getMotionAfterSeconds(t);
+            Assert.assertTrue(fromTable.isPresent());
+            Assert.assertTrue(fromLive.isPresent());
+            error += Math.abs(fromLive.get().distance - fromTable.get().distance);
+        }
+        return error;
+    }
+}
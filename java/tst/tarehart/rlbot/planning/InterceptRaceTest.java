@@ -0,0 +1,116 @@
+package tarehart.rlbot.planning;
+
+import org.junit.Assert;
+import org.junit.Test;
+import tarehart.rlbot.math.GameTime;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class InterceptRaceTest {
+
+    @Test
+    public void testSoonestWins() {
+        Optional<GameTime> winner = new InterceptRace<GameTime>(time -> time)
+                .withCandidate(beaten -> Optional.of(GameTime.ofSeconds(3)))
+                .withCandidate(beaten -> Optional.empty())
+                .withCandidate(beaten -> Optional.of(GameTime.ofSeconds(1)))
+                .run(Duration.ofSeconds(5));
+
+        Assert.assertEquals(GameTime.ofSeconds(1), winner.get());
+    }
+
+    @Test
+    public void testTieGoesToFirstCandidate() {
+        GameTime first = GameTime.ofSeconds(2);
+        GameTime second = GameTime.ofSeconds(2);
+        Optional<GameTime> winner = new InterceptRace<GameTime>(time -> time)
+                .withCandidate(beaten -> Optional.of(first))
+                .withCandidate(beaten -> Optional.of(second))
+                .run(Duration.ofSeconds(5));
+
+        Assert.assertSame(first, winner.get());
+    }
+
+    @Test
+    public void testSlowCandidateIsToldToStop() {
+        AtomicBoolean gaveUp = new AtomicBoolean();
+        Optional<GameTime> winner = new InterceptRace<GameTime>(time -> time)
+                .withCandidate(beaten -> Optional.of(GameTime.ofSeconds(1)))
+                .withCandidate(beaten -> {
+                    // Pretend to search forward through time until we're told it's pointless.
+                    for (double seconds = 0; seconds < 10; seconds += .01) {
+                        if (beaten.test(GameTime.ofSeconds(seconds))) {
+                            gaveUp.set(true);
+                            return Optional.empty();
+                        }
+                        sleepBriefly();
+                    }
+                    return Optional.of(GameTime.ofSeconds(10));
+                })
+                .run(Duration.ofSeconds(5));
+
+        Assert.assertEquals(GameTime.ofSeconds(1), winner.get());
+        Assert.assertTrue(gaveUp.get());
+    }
+
+    @Test
+    public void testSerialRaceRunsEveryCandidatePastTheDeadline() {
+        AtomicBoolean gaveUp = new AtomicBoolean();
+        Optional<GameTime> winner = new InterceptRace<GameTime>(time -> time)
+                .withCandidate(beaten -> {
+                    sleepBriefly();
+                    return Optional.of(GameTime.ofSeconds(3));
+                })
+                .withCandidate(beaten -> Optional.of(GameTime.ofSeconds(1)))
+                .withCandidate(beaten -> {
+                    gaveUp.set(beaten.test(GameTime.ofSeconds(2)));
+                    return Optional.empty();
+                })
+                .run(Duration.ZERO, false);
+
+        Assert.assertEquals(GameTime.ofSeconds(1), winner.get());
+        Assert.assertTrue(gaveUp.get());
+    }
+
+    @Test
+    public void testParallelRaceSettlesAtTheDeadline() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch lateFinished = new CountDownLatch(1);
+        AtomicBoolean toldToStop = new AtomicBoolean();
+        InterceptRace<GameTime> race = new InterceptRace<GameTime>(time -> time)
+                .withCandidate(beaten -> Optional.of(GameTime.ofSeconds(2)))
+                .withCandidate(beaten -> {
+                    awaitQuietly(release);
+                    toldToStop.set(beaten.test(GameTime.ofSeconds(0)));
+                    lateFinished.countDown();
+                    return Optional.of(GameTime.ofSeconds(1));
+                });
+
+        Optional<GameTime> winner = race.run(Duration.ofMillis(20), true);
+        release.countDown();
+        lateFinished.await();
+
+        // The late candidate would have won, but the race was already over.
+        Assert.assertEquals(GameTime.ofSeconds(2), winner.get());
+        Assert.assertTrue(toldToStop.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepBriefly() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
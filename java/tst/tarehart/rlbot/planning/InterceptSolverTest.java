@@ -0,0 +1,66 @@
+package tarehart.rlbot.planning;
+
+import org.junit.Assert;
+import org.junit.Test;
+import tarehart.rlbot.Bot;
+import tarehart.rlbot.input.CarData;
+import tarehart.rlbot.input.CarOrientation;
+import tarehart.rlbot.input.CarSpin;
+import tarehart.rlbot.math.GameTime;
+import tarehart.rlbot.math.SpaceTime;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.physics.AnalyticBallSimulator;
+import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.physics.DistancePlot;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+
+public class InterceptSolverTest {
+
+    private static final Vector3 UP = new Vector3(0, 0, 1);
+
+    @Test
+    public void testAgreesWithLinearScan() {
+        Random random = new Random(7);
+        AnalyticBallSimulator simulator = new AnalyticBallSimulator();
+
+        int mismatches = 0;
+        int trials = 500;
+        for (int i = 0; i < trials; i++) {
+            Vector3 ballPosition = new Vector3(random.nextGaussian() * 30, random.nextGaussian() * 40, 2 + random.nextDouble() * 15);
+            Vector3 ballVelocity = new Vector3(random.nextGaussian() * 20, random.nextGaussian() * 20, random.nextGaussian() * 10);
+            BallPath ballPath = simulator.simulateBall(new SpaceTimeVelocity(ballPosition, GameTime.ZERO, ballVelocity), Duration.ofSeconds(4));
+
+            double heading = random.nextDouble() * Math.PI * 2;
+            Vector3 nose = new Vector3(Math.cos(heading), Math.sin(heading), 0);
+            CarData car = new CarData(new Vector3(random.nextGaussian() * 30, random.nextGaussian() * 40, AirTouchPlanner.CAR_BASE_HEIGHT),
+                    nose.scaled(random.nextDouble() * 40), new CarOrientation(nose, UP), new CarSpin(0, 0, 0),
+                    random.nextDouble() * 100, false, Bot.Team.BLUE, 0, GameTime.ZERO, 0);
+            DistancePlot plot = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), car.boost, 0);
+
+            Optional<SpaceTime> bracketed = InterceptSolver.findEarliest(car, ballPath, plot, new Vector3(), AirTouchPlanner::isJumpHitAccessible, null, UP);
+            Optional<SpaceTime> linear = InterceptSolver.scanLinearly(car, ballPath, plot, new Vector3(), AirTouchPlanner::isJumpHitAccessible, null, UP);
+
+            if (bracketed.isPresent() != linear.isPresent() || bracketed.isPresent() && !bracketed.get().time.equals(linear.get().time)) {
+                mismatches++;
+            }
+        }
+
+        // A brief window of reachability can hide between strides, but it should be rare.
+        Assert.assertTrue("Mismatches: " + mismatches, mismatches <= trials / 100);
+    }
+
+    @Test
+    public void testBallAlreadyInReach() {
+        CarData car = new CarData(new Vector3(0, 0, AirTouchPlanner.CAR_BASE_HEIGHT), new Vector3(0, 10, 0),
+                new CarOrientation(new Vector3(0, 1, 0), UP), new CarSpin(0, 0, 0), 50, false, Bot.Team.BLUE, 0, GameTime.ZERO, 0);
+        BallPath ballPath = new AnalyticBallSimulator().simulateBall(new SpaceTimeVelocity(new Vector3(0, 1, 1), GameTime.ZERO, new Vector3()), Duration.ofSeconds(2));
+        DistancePlot plot = AccelerationModel.simulateAcceleration(car, Duration.ofSeconds(4), car.boost, 0);
+
+        Optional<SpaceTime> intercept = InterceptSolver.findEarliest(car, ballPath, plot, new Vector3(), (c, st) -> true, null, UP);
+        Assert.assertEquals(InterceptSolver.scanLinearly(car, ballPath, plot, new Vector3(), (c, st) -> true, null, UP).get().time, intercept.get().time);
+    }
+}
@@ -0,0 +1,45 @@
+package tarehart.rlbot.planning;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rlbot.api.GameData;
+import tarehart.rlbot.AgentInput;
+import tarehart.rlbot.input.AccelerationTracker;
+import tarehart.rlbot.input.Chronometer;
+import tarehart.rlbot.input.SpinTracker;
+import tarehart.rlbot.physics.AnalyticBallSimulator;
+import tarehart.rlbot.physics.ArenaModel;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class TickContextTest {
+
+    private static GameData.PlayerInfo makeCar(int team, float x, float y) {
+        return GameData.PlayerInfo.newBuilder()
+                .setTeam(team)
+                .setBoost(50)
+                .setLocation(GameData.Vector3.newBuilder().setX(x * 50).setY(y * 50).setZ((float) (.34 * 50)))
+                .build();
+    }
+
+    @Test
+    public void testEnemyInterceptComesWithTheCarThatMakesIt() {
+        // The first enemy is far from the ball, the second is right next to it.
+        GameData.GameTickPacket packet = GameData.GameTickPacket.newBuilder()
+                .addPlayers(makeCar(0, 0, -60))
+                .addPlayers(makeCar(1, 60, 90))
+                .addPlayers(makeCar(1, 0, 10))
+                .setBall(GameData.BallInfo.newBuilder().setLocation(
+                        GameData.Vector3.newBuilder().setZ((float) (ArenaModel.BALL_RADIUS * 50))))
+                .setGameInfo(GameData.GameInfo.newBuilder().setSecondsElapsed(10))
+                .build();
+        AgentInput input = new AgentInput(packet, 0, new Chronometer(), new SpinTracker(), new AccelerationTracker(), 0);
+        TickContext context = new TickContext(input, new AnalyticBallSimulator());
+
+        Optional<CarIntercept> intercept = context.getEnemyIntercept(context.getBallPath(Duration.ofSeconds(4)));
+
+        Assert.assertTrue(intercept.isPresent());
+        Assert.assertEquals(2, intercept.get().car.playerIndex);
+    }
+}
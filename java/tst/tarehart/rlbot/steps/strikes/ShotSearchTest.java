@@ -0,0 +1,104 @@
+package tarehart.rlbot.steps.strikes;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rlbot.api.GameData;
+import tarehart.rlbot.AgentInput;
+import tarehart.rlbot.input.AccelerationTracker;
+import tarehart.rlbot.input.Chronometer;
+import tarehart.rlbot.input.SpinTracker;
+import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.vector.Vector3;
+import tarehart.rlbot.physics.AnalyticBallSimulator;
+import tarehart.rlbot.physics.ArenaModel;
+import tarehart.rlbot.physics.BallPath;
+import tarehart.rlbot.planning.GoalUtil;
+import tarehart.rlbot.planning.StrikeProfile;
+import tarehart.rlbot.planning.TickContext;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class ShotSearchTest {
+
+    private static final KickStrategy KICK_AT_GOAL = new KickAtEnemyGoal();
+
+    /**
+     * A blue car in the middle of the field facing the orange goal, with the ball sitting a little way ahead of it.
+     */
+    private static AgentInput makeInput(float ballY) {
+        GameData.PlayerInfo car = GameData.PlayerInfo.newBuilder()
+                .setTeam(0)
+                .setBoost(50)
+                .setLocation(GameData.Vector3.newBuilder().setZ((float) (.34 * 50)))
+                .setRotation(GameData.Rotator.newBuilder().setYaw((float) (Math.PI / 2)))
+                .build();
+        GameData.GameTickPacket packet = GameData.GameTickPacket.newBuilder()
+                .addPlayers(car)
+                .setBall(GameData.BallInfo.newBuilder().setLocation(
+                        GameData.Vector3.newBuilder().setY(ballY * 50).setZ((float) (ArenaModel.BALL_RADIUS * 50))))
+                .setGameInfo(GameData.GameInfo.newBuilder().setSecondsElapsed(10))
+                .build();
+        return new AgentInput(packet, 0, new Chronometer(), new SpinTracker(), new AccelerationTracker(), 0);
+    }
+
+    private static BallPath pathFrom(AgentInput input, Vector3 position, Vector3 velocity) {
+        return new AnalyticBallSimulator().simulateBall(new SpaceTimeVelocity(position, input.time, velocity), Duration.ofSeconds(3));
+    }
+
+    private static double score(AgentInput input, BallPath pathAfterHit, double turn) {
+        return ShotSearch.score(input, KICK_AT_GOAL, pathAfterHit,
+                GoalUtil.predictGoalEvent(GoalUtil.getEnemyGoal(input.team), pathAfterHit), turn);
+    }
+
+    @Test
+    public void testGoalsBeatMissesAndCentralGoalsBeatWideOnes() {
+        AgentInput input = makeInput(30);
+        double central = score(input, pathFrom(input, new Vector3(0, 80, 2), new Vector3(0, 40, 0)), 0);
+        double wide = score(input, pathFrom(input, new Vector3(12, 80, 2), new Vector3(0, 40, 0)), 0);
+        double miss = score(input, pathFrom(input, new Vector3(0, 80, 2), new Vector3(40, 0, 0)), 0);
+
+        Assert.assertTrue(central > wide);
+        Assert.assertTrue(wide > miss);
+        Assert.assertTrue(miss <= 0);
+    }
+
+    @Test
+    public void testTurningCostsScore() {
+        AgentInput input = makeInput(30);
+        BallPath path = pathFrom(input, new Vector3(0, 80, 2), new Vector3(0, 40, 0));
+        Assert.assertTrue(score(input, path, 0) > score(input, path, .5));
+        Assert.assertEquals(score(input, path, .5), score(input, path, -.5), 1e-9);
+    }
+
+    @Test
+    public void testOwnGoalIsRecognised() {
+        AgentInput input = makeInput(30);
+        Assert.assertTrue(ShotSearch.isOwnGoal(input, pathFrom(input, new Vector3(0, -80, 2), new Vector3(0, -40, 0))));
+        Assert.assertFalse(ShotSearch.isOwnGoal(input, pathFrom(input, new Vector3(0, 80, 2), new Vector3(0, 40, 0))));
+    }
+
+    @Test
+    public void testProfilesWithinToleranceAreTheSame() {
+        Assert.assertTrue(ShotSearch.isSameProfile(new StrikeProfile(.2, 0, 0), new StrikeProfile(.21, 0, 0)));
+        Assert.assertFalse(ShotSearch.isSameProfile(new StrikeProfile(.2, 0, 0), new StrikeProfile(.4, 0, 0)));
+        Assert.assertFalse(ShotSearch.isSameProfile(new StrikeProfile(.2, 10, .1), new StrikeProfile(.2, 0, .1)));
+    }
+
+    @Test
+    public void testCachedShotIsReusedUntilTheProfileReallyChanges() {
+        AgentInput input = makeInput(30);
+        TickContext context = new TickContext(input, new AnalyticBallSimulator());
+        ShotSearch search = new ShotSearch(KICK_AT_GOAL, Duration.ofSeconds(5));
+
+        Optional<ShotSearch.Shot> first = search.getBestShot(input, context, new StrikeProfile(.2, 0, 0));
+        Assert.assertTrue(first.isPresent());
+        Assert.assertTrue(ShotSearch.isStillGood(first.get(), input));
+
+        // A maneuver estimate that wobbles a little, like the nose hit's does while it circles, uses the same shot.
+        Assert.assertSame(first.get(), search.getBestShot(input, context, new StrikeProfile(.2, 0, 0)).get());
+        Assert.assertSame(first.get(), search.getBestShot(input, context, new StrikeProfile(.22, 0, 0)).get());
+
+        Assert.assertNotSame(first.get(), search.getBestShot(input, context, new StrikeProfile(.6, 0, 0)).get());
+    }
+}
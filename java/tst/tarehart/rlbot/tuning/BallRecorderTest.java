@@ -6,6 +6,7 @@ import tarehart.rlbot.math.vector.Vector3;
 import org.junit.Assert;
 import org.junit.Test;
 import tarehart.rlbot.math.SpaceTime;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
 import tarehart.rlbot.physics.BallPath;
 
@@ -13,7 +14,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
 import java.util.stream.Stream;
 
 public class BallRecorderTest {
@@ -21,7 +21,7 @@ public class BallRecorderTest {
     @Test
     public void testFileOutput() throws IOException {
 
-        LocalDateTime now = LocalDateTime.now();
+        GameTime now = GameTime.ZERO;
         BallRecorder.startRecording(new SpaceTimeVelocity(new Vector3(0, 0, 0), now, new Vector3(1, 0, 1)), now.plusSeconds(1));
         BallRecorder.recordPosition(new SpaceTimeVelocity(new Vector3(1, 1, 2), now.plusSeconds(1), new Vector3(1, 0, 1)));
         BallRecorder.recordPosition(new SpaceTimeVelocity(new Vector3(2, 2, 5), now.plusSeconds(2), new Vector3(1, 0, 1)));
@@ -0,0 +1,41 @@
+package tarehart.rlbot.tuning;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverTheirValues() {
+        for (long nanos = 0; nanos < 1_000_000; nanos += 7) {
+            int bucket = LatencyHistogram.bucketOf(nanos);
+            Assert.assertTrue(LatencyHistogram.upperBoundOf(bucket) >= nanos);
+            Assert.assertTrue(bucket == 0 || LatencyHistogram.upperBoundOf(bucket - 1) < nanos);
+        }
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(16);
+        long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            // Roughly what a tick looks like: mostly around a millisecond with a long tail.
+            values[i] = (long) (Math.exp(random.nextGaussian()) * 1_000_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = histogram.getPercentileNanos(percentile);
+            Assert.assertTrue(actual >= expected);
+            Assert.assertEquals(1, actual / (double) expected, .04);
+        }
+        Assert.assertEquals(values[values.length - 1], histogram.getMaxNanos());
+        Assert.assertEquals(values.length, histogram.getCount());
+    }
+}
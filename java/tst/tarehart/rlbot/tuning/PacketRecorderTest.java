@@ -0,0 +1,36 @@
+package tarehart.rlbot.tuning;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rlbot.api.GameData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PacketRecorderTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path file = Files.createTempFile("recorder", ".packets");
+        try {
+            List<GameData.GameTickPacket> written = new ArrayList<>();
+            try (PacketRecorder recorder = new PacketRecorder(file)) {
+                for (int i = 0; i < 50; i++) {
+                    GameData.GameTickPacket packet = GameData.GameTickPacket.newBuilder()
+                            .setPlayerIndex(i % 2)
+                            .setGameInfo(GameData.GameInfo.newBuilder().setSecondsElapsed(i / 60f))
+                            .build();
+                    written.add(packet);
+                    recorder.record(packet);
+                }
+            }
+
+            Assert.assertEquals(written, PacketRecorder.read(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -5,7 +5,9 @@ import tarehart.rlbot.math.vector.Vector2;
 import tarehart.rlbot.math.vector.Vector3;
 import org.junit.Assert;
 import org.junit.Test;
+import tarehart.rlbot.math.GameTime;
 import tarehart.rlbot.math.SpaceTimeVelocity;
+import tarehart.rlbot.math.TimeUtil;
 import tarehart.rlbot.physics.ArenaModel;
 import tarehart.rlbot.physics.BallPath;
 
@@ -89,8 +91,7 @@ public class PredictedVsActualTest {
             Vector3 actualToPredicted = predicted.get(i).getSpace().minus(actualSlice);
             double error = new Vector2(actualToPredicted.x, actualToPredicted.y).magnitude();
             if (error > THRESHOLD) {
-                Duration duration = Duration.between(actualTrimmed.get(0).getTime(), actualTrimmed.get(i).getTime());
-                double seconds = duration.toMillis() / 1000.0;
+                double seconds = TimeUtil.secondsBetween(actualTrimmed.get(0).getTime(), actualTrimmed.get(i).getTime());
                 Assert.fail(String.format("Diverged to %.2f after %.2f seconds!", error, seconds));
             }
         }